@@ -0,0 +1,53 @@
+package org.william.cex.loadgen;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Builds up {@link #STORM_SIZE} deep resting orders at one per tick, then cancels all of them back
+ * to back, as a maker pulling its book on a price move would
+ */
+class CancelStormFlow implements OrderFlow {
+
+    static final String NAME = "cancel-storm";
+
+    private static final int STORM_SIZE = 20;
+
+    private final BigDecimal mid;
+    private final Deque<Long> resting = new ArrayDeque<>();
+    private int placed;
+    private boolean storming;
+
+    CancelStormFlow(BigDecimal mid) {
+        this.mid = mid;
+    }
+
+    @Override
+    public Action next(SplittableRandom random) {
+        if (!storming && placed >= STORM_SIZE) {
+            storming = true;
+        }
+        if (storming && !resting.isEmpty()) {
+            // One tick after the last cancellation before building up again
+            return Action.cancel(resting.pollFirst(), resting.isEmpty() ? 1 : 0);
+        }
+        if (storming) {
+            storming = false;
+            placed = 0;
+        }
+        placed++;
+        Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+        double bps = 100 + random.nextDouble() * 200;
+        return Action.place(side, OrderFlow.offset(mid, side == Side.BUY ? -bps : bps),
+                OrderFlow.amount(random, 0.01, 0.05), 1);
+    }
+
+    @Override
+    public void completed(Action action, boolean succeeded, long orderId) {
+        if (action.operation() == Operation.PLACE && succeeded) {
+            resting.addLast(orderId);
+        }
+    }
+}
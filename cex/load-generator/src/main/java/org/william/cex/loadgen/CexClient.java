@@ -0,0 +1,106 @@
+package org.william.cex.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * The slice of the REST API the load generator drives, over one shared HTTP client
+ */
+class CexClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Response status and, for a created order, its id
+     */
+    record Response(int status, long orderId) {
+
+        boolean succeeded() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+
+    CexClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * @return the new user's bearer token
+     */
+    String register(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/v1/auth/register", null,
+                Map.of("email", email, "password", password)));
+        if (response.statusCode() != 201) {
+            throw new IOException("Registering " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    void fund(String token, String currency, BigDecimal amount) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/v1/balance/add", token,
+                Map.of("currency", currency, "amount", amount)));
+        if (response.statusCode() != 200) {
+            throw new IOException("Funding " + currency + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    Response placeOrder(String token, String side, String baseCurrency, String quoteCurrency,
+                        BigDecimal amount, BigDecimal price) throws IOException, InterruptedException {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderType", side);
+        order.put("baseCurrency", baseCurrency);
+        order.put("quoteCurrency", quoteCurrency);
+        order.put("amount", amount);
+        order.put("price", price);
+        HttpResponse<String> response = send(post("/v1/orders", token, order));
+        if (response.statusCode() != 201) {
+            return new Response(response.statusCode(), 0);
+        }
+        JsonNode created = objectMapper.readTree(response.body());
+        return new Response(response.statusCode(), created.get("id").asLong());
+    }
+
+    Response cancelOrder(String token, long orderId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(baseUrl.getPath() + "/v1/orders/" + orderId))
+                .header("Authorization", "Bearer " + token)
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build();
+        return new Response(send(request).statusCode(), orderId);
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(baseUrl.getPath() + path))
+                .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
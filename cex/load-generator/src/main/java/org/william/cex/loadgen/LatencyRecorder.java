@@ -0,0 +1,146 @@
+package org.william.cex.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.william.cex.loadgen.OrderFlow.Operation;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency per operation in two HdrHistograms:
+ * <ul>
+ *   <li>response time, from when the request was <em>due</em> on the user's schedule to its
+ *       response. A stall delays every request queued behind it, and those delays are counted, so
+ *       the percentiles are free of coordinated omission.</li>
+ *   <li>service time, from when the request was actually sent; the gap to response time is the
+ *       time requests spent waiting for the generator to get to them</li>
+ * </ul>
+ * Response times are also written every second to an HdrHistogram interval log for plotting.
+ */
+class LatencyRecorder {
+
+    enum Outcome {
+        OK, REJECTED, THROTTLED, ERROR;
+
+        static Outcome of(int status) {
+            if (status >= 200 && status < 300) {
+                return OK;
+            }
+            if (status == 429) {
+                return THROTTLED;
+            }
+            return status >= 400 && status < 500 ? REJECTED : ERROR;
+        }
+    }
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Operation, Recorder> responseRecorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceRecorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> responseTotals = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTotals = new EnumMap<>(Operation.class);
+    private final Map<Operation, HistogramLogWriter> logWriters = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Outcome, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    private final Path outputDir;
+
+    LatencyRecorder(Path outputDir) throws IOException {
+        this.outputDir = Files.createDirectories(outputDir);
+        for (Operation operation : Operation.values()) {
+            responseRecorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            serviceRecorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            responseTotals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+            serviceTotals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+            Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, new LongAdder());
+            }
+            outcomes.put(operation, counts);
+        }
+    }
+
+    void record(Operation operation, int status, long responseNanos, long serviceNanos) {
+        responseRecorders.get(operation).recordValue(responseNanos);
+        serviceRecorders.get(operation).recordValue(serviceNanos);
+        outcomes.get(operation).get(Outcome.of(status)).increment();
+    }
+
+    /**
+     * Drop everything recorded so far, at the end of the warmup, and open the interval logs
+     */
+    synchronized void startMeasuring(long startTimeMillis) throws FileNotFoundException {
+        for (Operation operation : Operation.values()) {
+            responseRecorders.get(operation).getIntervalHistogram();
+            serviceRecorders.get(operation).getIntervalHistogram();
+            outcomes.get(operation).values().forEach(LongAdder::reset);
+
+            HistogramLogWriter writer = new HistogramLogWriter(
+                    outputDir.resolve(name(operation) + "-response.hlog").toFile());
+            writer.outputLogFormatVersion();
+            writer.outputComment("cex load generator, " + name(operation) + " response time in nanoseconds");
+            writer.setBaseTime(startTimeMillis);
+            writer.outputBaseTime(startTimeMillis);
+            writer.outputLegend();
+            logWriters.put(operation, writer);
+        }
+    }
+
+    /**
+     * Close the current interval: log it and add it to the run totals
+     */
+    synchronized void flushInterval() {
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseRecorders.get(operation).getIntervalHistogram();
+            responseTotals.get(operation).add(response);
+            serviceTotals.get(operation).add(serviceRecorders.get(operation).getIntervalHistogram());
+            HistogramLogWriter writer = logWriters.get(operation);
+            if (writer != null) {
+                writer.outputIntervalHistogram(response);
+            }
+        }
+    }
+
+    /**
+     * Write the run's percentile distributions ({@code .hgrm}, milliseconds) and print a summary
+     */
+    synchronized void finish(PrintStream out, double measuredSeconds) throws IOException {
+        flushInterval();
+        logWriters.values().forEach(HistogramLogWriter::close);
+
+        out.printf("%n%-8s %-9s %9s %9s %9s %9s %9s %9s %9s %10s %9s %9s%n", "op", "latency", "count", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "throttled", "errors");
+        for (Operation operation : Operation.values()) {
+            Map<Outcome, LongAdder> counts = outcomes.get(operation);
+            for (String kind : new String[]{"response", "service"}) {
+                Histogram histogram = (kind.equals("response") ? responseTotals : serviceTotals).get(operation);
+                try (PrintStream file = new PrintStream(
+                        outputDir.resolve(name(operation) + "-" + kind + ".hgrm").toFile())) {
+                    histogram.outputPercentileDistribution(file, NANOS_PER_MILLI);
+                }
+                out.printf("%-8s %-9s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %10d %9d %9d%n",
+                        name(operation), kind, histogram.getTotalCount(), histogram.getTotalCount() / measuredSeconds,
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                        histogram.getMaxValue() / NANOS_PER_MILLI,
+                        counts.get(Outcome.REJECTED).sum(), counts.get(Outcome.THROTTLED).sum(),
+                        counts.get(Outcome.ERROR).sum());
+            }
+        }
+        out.printf("%nHistograms written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static String name(Operation operation) {
+        return operation.name().toLowerCase();
+    }
+}
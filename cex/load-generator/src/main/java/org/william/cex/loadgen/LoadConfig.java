@@ -0,0 +1,137 @@
+package org.william.cex.loadgen;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Run settings, parsed from {@code --name=value} arguments; every setting has a default that
+ * targets the application started locally with {@code docker-compose up postgres redis}
+ *
+ * @param profiles      order-flow profile weights: users are split between profiles in proportion
+ * @param ratePerUser   requests per second each user intends to send; the schedule latency is measured against
+ * @param seed          random seed, so the same settings replay the same order flow
+ */
+record LoadConfig(URI baseUrl,
+                  int users,
+                  Map<String, Double> profiles,
+                  double ratePerUser,
+                  Duration warmup,
+                  Duration duration,
+                  String baseCurrency,
+                  String quoteCurrency,
+                  BigDecimal midPrice,
+                  BigDecimal fundBase,
+                  BigDecimal fundQuote,
+                  long seed,
+                  Path outputDir,
+                  String runId) {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8080/api");
+        DEFAULTS.put("users", "50");
+        DEFAULTS.put("profile", "market-maker:0.6,taker-burst:0.3,cancel-storm:0.1");
+        DEFAULTS.put("rate-per-user", "5");
+        DEFAULTS.put("warmup", "15s");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("pair", "BTC/USDT");
+        DEFAULTS.put("mid-price", "43000");
+        DEFAULTS.put("fund-base", "1000");
+        DEFAULTS.put("fund-quote", "100000000");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("output", "target/loadgen");
+        DEFAULTS.put("run-id", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    }
+
+    static LoadConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown argument --" + name + ", expected one of " + DEFAULTS.keySet());
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+
+        String[] pair = values.get("pair").split("/");
+        if (pair.length != 2) {
+            throw new IllegalArgumentException("--pair must look like BASE/QUOTE: " + values.get("pair"));
+        }
+        LoadConfig config = new LoadConfig(
+                URI.create(values.get("base-url").replaceAll("/+$", "")),
+                Integer.parseInt(values.get("users")),
+                parseProfiles(values.get("profile")),
+                Double.parseDouble(values.get("rate-per-user")),
+                parseDuration(values.get("warmup")),
+                parseDuration(values.get("duration")),
+                pair[0].toUpperCase(),
+                pair[1].toUpperCase(),
+                new BigDecimal(values.get("mid-price")),
+                new BigDecimal(values.get("fund-base")),
+                new BigDecimal(values.get("fund-quote")),
+                Long.parseLong(values.get("seed")),
+                Path.of(values.get("output")),
+                values.get("run-id"));
+        if (config.users <= 0 || config.ratePerUser <= 0) {
+            throw new IllegalArgumentException("--users and --rate-per-user must be positive");
+        }
+        return config;
+    }
+
+    static Set<String> argumentNames() {
+        return DEFAULTS.keySet();
+    }
+
+    /**
+     * {@code market-maker:0.6,taker-burst:0.4}; a profile without a weight counts as 1
+     */
+    private static Map<String, Double> parseProfiles(String value) {
+        Map<String, Double> profiles = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            String name = nameAndWeight[0].trim();
+            if (!OrderFlow.PROFILES.contains(name)) {
+                throw new IllegalArgumentException("Unknown profile " + name + ", expected one of " + OrderFlow.PROFILES);
+            }
+            double weight = nameAndWeight.length > 1 ? Double.parseDouble(nameAndWeight[1]) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Profile weight must be positive: " + entry);
+            }
+            profiles.merge(name, weight, Double::sum);
+        }
+        return profiles;
+    }
+
+    /**
+     * {@code 90s}, {@code 5m} or an ISO-8601 duration
+     */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    String pair() {
+        return baseCurrency + "/" + quoteCurrency;
+    }
+}
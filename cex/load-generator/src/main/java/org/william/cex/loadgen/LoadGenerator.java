@@ -0,0 +1,134 @@
+package org.william.cex.loadgen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order-flow load generator for the REST API. Registers {@code --users} users, funds both
+ * currencies of {@code --pair} through {@code /v1/balance/add}, and has each replay one of the
+ * {@link OrderFlow} profiles at {@code --rate-per-user} for {@code --warmup} plus {@code --duration}.
+ * Latency of the measured part is written as HdrHistogram files under {@code --output}/{@code --run-id}.
+ * <p>
+ * Runs against a local application, e.g. {@code mvn spring-boot:run} on the docker-compose Postgres and
+ * Redis; per-user order rate limits apply, so raise or disable {@code rate-limit.*} there to measure
+ * capacity rather than throttling.
+ */
+public class LoadGenerator {
+
+    private static final String PASSWORD = "LoadGen123!";
+    private static final int SETUP_CONCURRENCY = 16;
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Arguments (--name=value): " + LoadConfig.argumentNames());
+            System.exit(2);
+            return;
+        }
+
+        Path outputDir = config.outputDir().resolve(config.runId());
+        LatencyRecorder recorder = new LatencyRecorder(outputDir);
+        Files.writeString(outputDir.resolve("config.txt"), config + System.lineSeparator());
+        CexClient client = new CexClient(config.baseUrl());
+
+        System.out.printf("Registering and funding %d users against %s%n", config.users(), config.baseUrl());
+        List<String> tokens = setUpUsers(client, config);
+        List<String> profiles = assignProfiles(config.profiles(), config.users());
+
+        long tickNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.ratePerUser());
+        long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        SplittableRandom seeds = new SplittableRandom(config.seed());
+
+        System.out.printf("Running %s on %s at %.1f req/s per user: %ds warmup, %ds measured%n",
+                config.profiles().keySet(), config.pair(), config.ratePerUser(),
+                config.warmup().toSeconds(), config.duration().toSeconds());
+        ScheduledExecutorService intervals = Executors.newSingleThreadScheduledExecutor();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                // Spread the users' schedules over one tick instead of starting them in lockstep
+                long firstStart = start + tickNanos * i / config.users();
+                users.submit(new VirtualUser(client, config, recorder, tokens.get(i),
+                        OrderFlow.create(profiles.get(i), config), seeds.split(), firstStart, measureFrom, end));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+            recorder.startMeasuring(System.currentTimeMillis());
+            intervals.scheduleAtFixedRate(recorder::flushInterval, 1, 1, TimeUnit.SECONDS);
+        } finally {
+            intervals.shutdownNow();
+        }
+        recorder.finish(System.out, config.duration().toNanos() / 1e9);
+    }
+
+    /**
+     * @return the users' tokens, in user order
+     */
+    private static List<String> setUpUsers(CexClient client, LoadConfig config) throws Exception {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<Future<String>> futures = new ArrayList<>();
+        try (ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                String email = "loadgen-" + config.runId() + "-" + i + "@example.com";
+                futures.add(setup.submit(() -> {
+                    permits.acquire();
+                    try {
+                        String token = client.register(email, PASSWORD);
+                        client.fund(token, config.baseCurrency(), config.fundBase());
+                        client.fund(token, config.quoteCurrency(), config.fundQuote());
+                        return token;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<String> tokens = new ArrayList<>();
+        for (Future<String> future : futures) {
+            try {
+                tokens.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : e;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Profile of each user, split in proportion to the weights; deterministic for a given config
+     */
+    static List<String> assignProfiles(Map<String, Double> weights, int users) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        List<String> profiles = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            double position = (i + 0.5) / users * total;
+            double cumulative = 0;
+            String chosen = null;
+            for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                chosen = weight.getKey();
+                cumulative += weight.getValue();
+                if (position < cumulative) {
+                    break;
+                }
+            }
+            profiles.add(chosen);
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,50 @@
+package org.william.cex.loadgen;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Market maker quoting {@link #LEVELS} levels each side of the mid: fills the ladder, then keeps
+ * requoting by cancelling its oldest quote and placing a fresh one, so steady state is an even mix
+ * of placements and cancellations at one request per tick
+ */
+class MarketMakerFlow implements OrderFlow {
+
+    static final String NAME = "market-maker";
+
+    private static final int LEVELS = 5;
+    private static final double LEVEL_SPACING_BPS = 5;
+
+    private final BigDecimal mid;
+    private final Deque<Long> bids = new ArrayDeque<>();
+    private final Deque<Long> asks = new ArrayDeque<>();
+    private boolean cancelBidNext;
+
+    MarketMakerFlow(BigDecimal mid) {
+        this.mid = mid;
+    }
+
+    @Override
+    public Action next(SplittableRandom random) {
+        if (bids.size() < LEVELS || asks.size() < LEVELS) {
+            Side side = bids.size() <= asks.size() ? Side.BUY : Side.SELL;
+            int level = (side == Side.BUY ? bids.size() : asks.size()) + 1;
+            double bps = level * LEVEL_SPACING_BPS + random.nextDouble() * LEVEL_SPACING_BPS / 2;
+            return Action.place(side, OrderFlow.offset(mid, side == Side.BUY ? -bps : bps),
+                    OrderFlow.amount(random, 0.01, 0.1), 1);
+        }
+        // Requote alternating sides, oldest quote first
+        cancelBidNext = !cancelBidNext;
+        Deque<Long> quotes = cancelBidNext ? bids : asks;
+        return Action.cancel(quotes.pollFirst(), 1);
+    }
+
+    @Override
+    public void completed(Action action, boolean succeeded, long orderId) {
+        if (action.operation() == Operation.PLACE && succeeded) {
+            (action.side() == Side.BUY ? bids : asks).addLast(orderId);
+        }
+    }
+}
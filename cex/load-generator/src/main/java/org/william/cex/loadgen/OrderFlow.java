@@ -0,0 +1,65 @@
+package org.william.cex.loadgen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.Set;
+
+/**
+ * Order-flow profile of one simulated user: decides each request and how long to wait, in ticks
+ * of the user's intended request interval, before the next. One instance per user, so a flow may
+ * keep the user's resting orders.
+ */
+interface OrderFlow {
+
+    Set<String> PROFILES = Set.of(MarketMakerFlow.NAME, TakerBurstFlow.NAME, CancelStormFlow.NAME);
+
+    enum Operation {
+        PLACE, CANCEL
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    /**
+     * One request and the ticks to wait after it; zero sends the next request back to back
+     */
+    record Action(Operation operation, Side side, BigDecimal price, BigDecimal amount, long orderId, double ticksAfter) {
+
+        static Action place(Side side, BigDecimal price, BigDecimal amount, double ticksAfter) {
+            return new Action(Operation.PLACE, side, price, amount, 0, ticksAfter);
+        }
+
+        static Action cancel(long orderId, double ticksAfter) {
+            return new Action(Operation.CANCEL, null, null, null, orderId, ticksAfter);
+        }
+    }
+
+    Action next(SplittableRandom random);
+
+    /**
+     * Result of {@link #next}'s action; {@code orderId} is the created order's id for a successful placement
+     */
+    void completed(Action action, boolean succeeded, long orderId);
+
+    static OrderFlow create(String profile, LoadConfig config) {
+        return switch (profile) {
+            case MarketMakerFlow.NAME -> new MarketMakerFlow(config.midPrice());
+            case TakerBurstFlow.NAME -> new TakerBurstFlow(config.midPrice());
+            case CancelStormFlow.NAME -> new CancelStormFlow(config.midPrice());
+            default -> throw new IllegalArgumentException("Unknown profile " + profile + ", expected one of " + PROFILES);
+        };
+    }
+
+    /**
+     * Price {@code bps} basis points away from the mid, rounded to the cent
+     */
+    static BigDecimal offset(BigDecimal mid, double bps) {
+        return mid.multiply(BigDecimal.valueOf(1 + bps / 10_000)).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    static BigDecimal amount(SplittableRandom random, double min, double max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(4, RoundingMode.DOWN);
+    }
+}
@@ -0,0 +1,43 @@
+package org.william.cex.loadgen;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Taker sending bursts of marketable orders priced through the mid back to back, then going quiet
+ * for as many ticks as the burst had orders, so the average rate matches the other profiles while
+ * the instantaneous rate spikes. The exchange does not match orders, so they stay resting.
+ */
+class TakerBurstFlow implements OrderFlow {
+
+    static final String NAME = "taker-burst";
+
+    private static final int MIN_BURST = 5;
+    private static final int MAX_BURST = 15;
+
+    private final BigDecimal mid;
+    private int remainingInBurst;
+    private int burstSize;
+
+    TakerBurstFlow(BigDecimal mid) {
+        this.mid = mid;
+    }
+
+    @Override
+    public Action next(SplittableRandom random) {
+        if (remainingInBurst == 0) {
+            burstSize = random.nextInt(MIN_BURST, MAX_BURST + 1);
+            remainingInBurst = burstSize;
+        }
+        remainingInBurst--;
+        Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+        // Cross the mid by 20-50 bps, as a taker lifting offers or hitting bids would
+        double bps = 20 + random.nextDouble() * 30;
+        return Action.place(side, OrderFlow.offset(mid, side == Side.BUY ? bps : -bps),
+                OrderFlow.amount(random, 0.001, 0.01), remainingInBurst == 0 ? burstSize : 0);
+    }
+
+    @Override
+    public void completed(Action action, boolean succeeded, long orderId) {
+    }
+}
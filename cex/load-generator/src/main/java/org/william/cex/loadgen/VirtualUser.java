@@ -0,0 +1,81 @@
+package org.william.cex.loadgen;
+
+import org.william.cex.loadgen.OrderFlow.Action;
+import org.william.cex.loadgen.OrderFlow.Operation;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One registered, funded user replaying its order flow in a closed loop: a request is sent only
+ * after the previous one returned, on a schedule of intended start times one tick apart. When a
+ * response comes back late the schedule is not moved; the next requests go out immediately and
+ * their latency is still measured from when they were due.
+ */
+class VirtualUser implements Runnable {
+
+    private final CexClient client;
+    private final LoadConfig config;
+    private final LatencyRecorder recorder;
+    private final String token;
+    private final OrderFlow flow;
+    private final SplittableRandom random;
+    private final long tickNanos;
+    private final long firstStartNanos;
+    private final long measureFromNanos;
+    private final long endNanos;
+
+    VirtualUser(CexClient client, LoadConfig config, LatencyRecorder recorder, String token, OrderFlow flow,
+                SplittableRandom random, long firstStartNanos, long measureFromNanos, long endNanos) {
+        this.client = client;
+        this.config = config;
+        this.recorder = recorder;
+        this.token = token;
+        this.flow = flow;
+        this.random = random;
+        this.tickNanos = (long) (1_000_000_000L / config.ratePerUser());
+        this.firstStartNanos = firstStartNanos;
+        this.measureFromNanos = measureFromNanos;
+        this.endNanos = endNanos;
+    }
+
+    @Override
+    public void run() {
+        long intendedStart = firstStartNanos;
+        while (intendedStart < endNanos && !Thread.currentThread().isInterrupted()) {
+            Action action = flow.next(random);
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            long sent = System.nanoTime();
+            CexClient.Response response = execute(action);
+            long received = System.nanoTime();
+            if (intendedStart >= measureFromNanos) {
+                recorder.record(action.operation(), response.status(), received - intendedStart, received - sent);
+            }
+            flow.completed(action, response.succeeded(), response.orderId());
+            intendedStart += (long) (action.ticksAfter() * tickNanos);
+        }
+    }
+
+    /**
+     * @return the response, with status 0 when the request failed without one
+     */
+    private CexClient.Response execute(Action action) {
+        try {
+            if (action.operation() == Operation.PLACE) {
+                return client.placeOrder(token, action.side().name(), config.baseCurrency(), config.quoteCurrency(),
+                        action.amount(), action.price());
+            }
+            return client.cancelOrder(token, action.orderId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CexClient.Response(0, 0);
+        } catch (IOException e) {
+            return new CexClient.Response(0, 0);
+        }
+    }
+}
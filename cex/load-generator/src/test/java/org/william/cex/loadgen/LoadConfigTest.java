@@ -0,0 +1,82 @@
+package org.william.cex.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadConfigTest {
+
+    @Test
+    @DisplayName("Test 1: Defaults target the local application")
+    void testDefaults() {
+        LoadConfig config = LoadConfig.parse(new String[0]);
+
+        assertEquals(URI.create("http://localhost:8080/api"), config.baseUrl());
+        assertEquals(50, config.users());
+        assertEquals(List.of(MarketMakerFlow.NAME, TakerBurstFlow.NAME, CancelStormFlow.NAME),
+                List.copyOf(config.profiles().keySet()));
+        assertEquals(5, config.ratePerUser());
+        assertEquals(Duration.ofSeconds(15), config.warmup());
+        assertEquals(Duration.ofSeconds(60), config.duration());
+        assertEquals("BTC/USDT", config.pair());
+        assertEquals(42, config.seed());
+    }
+
+    @Test
+    @DisplayName("Test 2: Arguments override the defaults")
+    void testOverrides() {
+        LoadConfig config = LoadConfig.parse(new String[]{
+                "--base-url=http://cex:9090/api/", "--users=10", "--rate-per-user=2.5", "--warmup=500ms",
+                "--duration=5m", "--pair=eth/usd", "--mid-price=2500.50", "--seed=7", "--run-id=smoke"});
+
+        assertEquals(URI.create("http://cex:9090/api"), config.baseUrl());
+        assertEquals(10, config.users());
+        assertEquals(2.5, config.ratePerUser());
+        assertEquals(Duration.ofMillis(500), config.warmup());
+        assertEquals(Duration.ofMinutes(5), config.duration());
+        assertEquals("ETH", config.baseCurrency());
+        assertEquals("USD", config.quoteCurrency());
+        assertEquals(new BigDecimal("2500.50"), config.midPrice());
+        assertEquals(7, config.seed());
+        assertEquals("smoke", config.runId());
+    }
+
+    @Test
+    @DisplayName("Test 3: ISO-8601 durations are accepted")
+    void testIsoDuration() {
+        assertEquals(Duration.ofMinutes(90), LoadConfig.parse(new String[]{"--duration=PT1H30M"}).duration());
+    }
+
+    @Test
+    @DisplayName("Test 4: Profile weights default to 1 and repeated profiles add up")
+    void testProfileWeights() {
+        LoadConfig config = LoadConfig.parse(new String[]{"--profile=market-maker, cancel-storm:0.5,market-maker:2"});
+
+        assertEquals(Map.of(MarketMakerFlow.NAME, 3.0, CancelStormFlow.NAME, 0.5), config.profiles());
+    }
+
+    @Test
+    @DisplayName("Test 5: Malformed arguments are rejected")
+    void testRejectsMalformedArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"-users=50"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--users"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--threads=8"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--pair=BTC"}));
+    }
+
+    @Test
+    @DisplayName("Test 6: Invalid values are rejected")
+    void testRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--users=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--rate-per-user=-1"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--profile=spoofer"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[]{"--profile=market-maker:0"}));
+    }
+}
@@ -0,0 +1,64 @@
+package org.william.cex.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private static Map<String, Double> weights(Object... nameAndWeight) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndWeight.length; i += 2) {
+            weights.put((String) nameAndWeight[i], (Double) nameAndWeight[i + 1]);
+        }
+        return weights;
+    }
+
+    @Test
+    @DisplayName("Test 1: Users are split between profiles in proportion to the weights")
+    void testProportionalAssignment() {
+        List<String> profiles = LoadGenerator.assignProfiles(
+                weights(MarketMakerFlow.NAME, 0.6, TakerBurstFlow.NAME, 0.3, CancelStormFlow.NAME, 0.1), 10);
+
+        assertEquals(10, profiles.size());
+        assertEquals(6, Collections.frequency(profiles, MarketMakerFlow.NAME));
+        assertEquals(3, Collections.frequency(profiles, TakerBurstFlow.NAME));
+        assertEquals(1, Collections.frequency(profiles, CancelStormFlow.NAME));
+    }
+
+    @Test
+    @DisplayName("Test 2: Weights need not sum to 1")
+    void testUnnormalizedWeights() {
+        List<String> profiles = LoadGenerator.assignProfiles(
+                weights(MarketMakerFlow.NAME, 3.0, CancelStormFlow.NAME, 1.0), 8);
+
+        assertEquals(6, Collections.frequency(profiles, MarketMakerFlow.NAME));
+        assertEquals(2, Collections.frequency(profiles, CancelStormFlow.NAME));
+    }
+
+    @Test
+    @DisplayName("Test 3: Small shares round to the nearest user")
+    void testSmallShares() {
+        List<String> profiles = LoadGenerator.assignProfiles(
+                weights(MarketMakerFlow.NAME, 0.6, TakerBurstFlow.NAME, 0.3, CancelStormFlow.NAME, 0.1), 1);
+
+        assertEquals(List.of(MarketMakerFlow.NAME), profiles);
+        assertTrue(LoadGenerator.assignProfiles(
+                weights(MarketMakerFlow.NAME, 0.6, TakerBurstFlow.NAME, 0.3, CancelStormFlow.NAME, 0.1), 20)
+                .contains(CancelStormFlow.NAME));
+    }
+
+    @Test
+    @DisplayName("Test 4: Assignment is deterministic")
+    void testDeterministic() {
+        Map<String, Double> weights = weights(TakerBurstFlow.NAME, 1.0, MarketMakerFlow.NAME, 2.0);
+
+        assertEquals(LoadGenerator.assignProfiles(weights, 50), LoadGenerator.assignProfiles(weights, 50));
+    }
+}
@@ -0,0 +1,153 @@
+package org.william.cex.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.william.cex.loadgen.OrderFlow.Action;
+import org.william.cex.loadgen.OrderFlow.Operation;
+import org.william.cex.loadgen.OrderFlow.Side;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderFlowTest {
+
+    private static final BigDecimal MID = new BigDecimal("43000");
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long nextOrderId = 1;
+
+    /**
+     * Takes the flow's next action and completes it, handing out ids to placements that succeed
+     */
+    private Action step(OrderFlow flow, boolean succeeded) {
+        Action action = flow.next(random);
+        long orderId = action.operation() == Operation.PLACE && succeeded ? nextOrderId++ : action.orderId();
+        flow.completed(action, succeeded, orderId);
+        return action;
+    }
+
+    private static void assertPricedAgainstMid(Action action, boolean crossing) {
+        int direction = action.price().compareTo(MID);
+        boolean buy = action.side() == Side.BUY;
+        assertEquals(buy == crossing ? 1 : -1, direction, action.toString());
+        assertTrue(action.amount().signum() > 0, action.toString());
+    }
+
+    @Test
+    @DisplayName("Test 1: Cancel storm builds up resting orders, then cancels all of them back to back")
+    void testCancelStormDrainsRestingOrders() {
+        CancelStormFlow flow = new CancelStormFlow(MID);
+
+        for (int i = 0; i < 20; i++) {
+            Action action = step(flow, true);
+            assertEquals(Operation.PLACE, action.operation());
+            assertEquals(1, action.ticksAfter());
+            assertPricedAgainstMid(action, false);
+        }
+
+        List<Long> cancelled = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Action action = step(flow, true);
+            assertEquals(Operation.CANCEL, action.operation());
+            assertEquals(i == 19 ? 1 : 0, action.ticksAfter());
+            cancelled.add(action.orderId());
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L),
+                cancelled);
+
+        assertEquals(Operation.PLACE, step(flow, true).operation());
+    }
+
+    @Test
+    @DisplayName("Test 2: Cancel storm only cancels orders that were placed")
+    void testCancelStormSkipsFailedPlacements() {
+        CancelStormFlow flow = new CancelStormFlow(MID);
+
+        for (int i = 0; i < 20; i++) {
+            step(flow, i % 4 != 0);
+        }
+
+        int cancels = 0;
+        Action action;
+        while ((action = step(flow, true)).operation() == Operation.CANCEL) {
+            cancels++;
+        }
+        assertEquals(15, cancels);
+        assertEquals(Operation.PLACE, action.operation());
+    }
+
+    @Test
+    @DisplayName("Test 3: Cancel storm with no resting orders goes back to placing")
+    void testCancelStormWithNothingResting() {
+        CancelStormFlow flow = new CancelStormFlow(MID);
+
+        for (int i = 0; i < 25; i++) {
+            assertEquals(Operation.PLACE, step(flow, false).operation());
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: Market maker fills its ladder on both sides, then requotes oldest first")
+    void testMarketMakerLadder() {
+        MarketMakerFlow flow = new MarketMakerFlow(MID);
+
+        List<Long> bids = new ArrayList<>();
+        List<Long> asks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Action action = step(flow, true);
+            assertEquals(Operation.PLACE, action.operation());
+            assertEquals(i % 2 == 0 ? Side.BUY : Side.SELL, action.side());
+            assertPricedAgainstMid(action, false);
+            (action.side() == Side.BUY ? bids : asks).add(nextOrderId - 1);
+        }
+
+        Action cancelBid = step(flow, true);
+        assertEquals(Operation.CANCEL, cancelBid.operation());
+        assertEquals(bids.get(0).longValue(), cancelBid.orderId());
+        Action requoteBid = step(flow, true);
+        assertEquals(Operation.PLACE, requoteBid.operation());
+        assertEquals(Side.BUY, requoteBid.side());
+
+        Action cancelAsk = step(flow, true);
+        assertEquals(Operation.CANCEL, cancelAsk.operation());
+        assertEquals(asks.get(0).longValue(), cancelAsk.orderId());
+        Action requoteAsk = step(flow, true);
+        assertEquals(Operation.PLACE, requoteAsk.operation());
+        assertEquals(Side.SELL, requoteAsk.side());
+    }
+
+    @Test
+    @DisplayName("Test 5: Taker sends marketable bursts back to back, then waits one tick per order")
+    void testTakerBursts() {
+        TakerBurstFlow flow = new TakerBurstFlow(MID);
+
+        for (int burst = 0; burst < 3; burst++) {
+            int size = 0;
+            Action action;
+            do {
+                action = step(flow, true);
+                assertEquals(Operation.PLACE, action.operation());
+                assertPricedAgainstMid(action, true);
+                size++;
+            } while (action.ticksAfter() == 0);
+
+            assertTrue(size >= 5 && size <= 15, "burst of " + size);
+            assertEquals(size, action.ticksAfter());
+        }
+    }
+
+    @Test
+    @DisplayName("Test 6: Flows are created by profile name")
+    void testCreate() {
+        LoadConfig config = LoadConfig.parse(new String[0]);
+
+        assertInstanceOf(MarketMakerFlow.class, OrderFlow.create(MarketMakerFlow.NAME, config));
+        assertInstanceOf(TakerBurstFlow.class, OrderFlow.create(TakerBurstFlow.NAME, config));
+        assertInstanceOf(CancelStormFlow.class, OrderFlow.create(CancelStormFlow.NAME, config));
+        assertThrows(IllegalArgumentException.class, () -> OrderFlow.create("spoofer", config));
+    }
+}
@@ -1,30 +1,52 @@
 package org.william.cex.api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.william.cex.api.dto.request.AdminRegisterRequest;
+import org.william.cex.api.dto.request.BulkDepositEntry;
 import org.william.cex.api.dto.request.LoginRequest;
 import org.william.cex.api.dto.request.UpdateFeeRateRequest;
 import org.william.cex.api.dto.response.AccountBalanceResponse;
 import org.william.cex.api.dto.response.AuthResponse;
+import org.william.cex.api.dto.response.BulkDepositResponse;
 import org.william.cex.api.dto.response.FeeRateResponse;
+import org.william.cex.api.dto.response.WithdrawalResponse;
+import org.william.cex.api.exception.TooManyRequestsException;
 import org.william.cex.domain.admin.service.AdminService;
 import org.william.cex.domain.fee.entity.FeeRate;
 import org.william.cex.domain.fee.service.FeeService;
+import org.william.cex.domain.user.entity.Deposit;
 import org.william.cex.domain.user.entity.User;
 import org.william.cex.domain.user.entity.UserAccount;
 import org.william.cex.domain.user.repository.UserAccountRepository;
-import org.william.cex.domain.user.service.UserService;
+import org.william.cex.domain.user.service.DepositImportResult;
+import org.william.cex.domain.user.service.DepositService;
+import org.william.cex.domain.withdrawal.entity.Withdrawal;
+import org.william.cex.domain.withdrawal.service.WithdrawalService;
+import org.william.cex.infrastructure.ratelimit.LoginThrottle;
 import org.william.cex.infrastructure.security.AuthenticationUtils;
 import org.william.cex.infrastructure.security.JwtTokenProvider;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -38,9 +60,6 @@ public class AdminController {
     @Autowired
     private UserAccountRepository userAccountRepository;
 
-    @Autowired
-    private UserService userService;
-
     @Autowired
     private AuthenticationUtils authenticationUtils;
 
@@ -50,9 +69,23 @@ public class AdminController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private WithdrawalService withdrawalService;
+
+    @Autowired
+    private DepositService depositService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> registerAdmin(@Valid @RequestBody AdminRegisterRequest request) {
+    public ResponseEntity<AuthResponse> registerAdmin(@Valid @RequestBody AdminRegisterRequest request,
+                                                      HttpServletRequest httpRequest) {
         try {
+            loginThrottle.acquireRegistration(httpRequest.getRemoteAddr());
             User admin = adminService.registerAdmin(request.getEmail(), request.getPassword(), request.getAdminKey());
             String token = jwtTokenProvider.generateToken(admin.getId(), admin.getEmail(), admin.getRole().toString());
 
@@ -65,6 +98,10 @@ public class AdminController {
 
             log.info("Admin registered successfully: {}", request.getEmail());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (IllegalArgumentException e) {
             log.warn("Admin registration failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -75,8 +112,10 @@ public class AdminController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> loginAdmin(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> loginAdmin(@Valid @RequestBody LoginRequest request,
+                                                   HttpServletRequest httpRequest) {
         try {
+            loginThrottle.acquireLogin(httpRequest.getRemoteAddr(), request.getEmail());
             User admin = adminService.loginAdmin(request.getEmail(), request.getPassword());
             String token = jwtTokenProvider.generateToken(admin.getId(), admin.getEmail(), admin.getRole().toString());
 
@@ -89,6 +128,10 @@ public class AdminController {
 
             log.info("Admin login successful: {}", request.getEmail());
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             log.warn("Admin login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -140,7 +183,7 @@ public class AdminController {
 
         try {
             String adminEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long adminId = userService.getUserByEmail(adminEmail).getId();
+            Long adminId = authenticationUtils.getAuthenticatedUserId();
 
             log.info("Admin {} is updating fee rate for pair: {}", adminEmail, request.getCurrencyPair());
 
@@ -185,5 +228,160 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    @PostMapping("/withdrawals/{withdrawalId}/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WithdrawalResponse> approveWithdrawal(@PathVariable Long withdrawalId) {
+        try {
+            String adminEmail = authenticationUtils.getAuthenticatedUserEmail();
+            log.info("Admin {} is approving withdrawal {}", adminEmail, withdrawalId);
+
+            Withdrawal withdrawal = withdrawalService.approveWithdrawal(withdrawalId);
+
+            log.info("Withdrawal {} approved by admin: {}", withdrawalId, adminEmail);
+            return ResponseEntity.ok(WithdrawalController.mapToResponse(withdrawal));
+        } catch (Exception e) {
+            log.error("Error approving withdrawal {}", withdrawalId, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @PostMapping("/withdrawals/{withdrawalId}/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WithdrawalResponse> rejectWithdrawal(@PathVariable Long withdrawalId) {
+        try {
+            String adminEmail = authenticationUtils.getAuthenticatedUserEmail();
+            log.info("Admin {} is rejecting withdrawal {}", adminEmail, withdrawalId);
+
+            Withdrawal withdrawal = withdrawalService.rejectWithdrawal(withdrawalId);
+
+            log.info("Withdrawal {} rejected by admin: {}", withdrawalId, adminEmail);
+            return ResponseEntity.ok(WithdrawalController.mapToResponse(withdrawal));
+        } catch (Exception e) {
+            log.error("Error rejecting withdrawal {}", withdrawalId, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Credit deposits from a back-office import. Accepts newline-delimited JSON (or a JSON array)
+     * of {userId, currency, amount, externalRef} entries and reads it as a stream, so imports of
+     * any size are applied in bounded chunks. Each externalRef is credited at most once.
+     * NDJSON is parsed line by line: a malformed line is counted as rejected and the rest of the
+     * import still applies. A malformed JSON array cannot be resynchronised and fails the request.
+     */
+    @PostMapping(value = "/deposits/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkDepositResponse> bulkCreditDeposits(HttpServletRequest request) {
+        try {
+            String adminEmail = authenticationUtils.getAuthenticatedUserEmail();
+            log.info("Admin {} started a bulk deposit import", adminEmail);
+
+            DepositImportResult result;
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))) {
+                try (MappingIterator<BulkDepositEntry> entries = objectMapper
+                        .readerFor(BulkDepositEntry.class)
+                        .readValues(request.getInputStream())) {
+                    Iterator<Deposit> deposits = new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Deposit next() {
+                            return toDeposit(entries.next());
+                        }
+                    };
+                    result = depositService.importDeposits(deposits);
+                }
+            } else {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                    NdjsonDeposits deposits = new NdjsonDeposits(reader);
+                    result = depositService.importDeposits(deposits)
+                            .plus(new DepositImportResult(deposits.malformed, 0, 0, deposits.malformed));
+                }
+            }
+
+            BulkDepositResponse response = BulkDepositResponse.builder()
+                    .received(result.received())
+                    .applied(result.applied())
+                    .duplicates(result.duplicates())
+                    .rejected(result.rejected())
+                    .build();
+
+            log.info("Bulk deposit import by admin {} applied {} of {} entries",
+                    adminEmail, result.applied(), result.received());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error during bulk deposit import", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    private static Deposit toDeposit(BulkDepositEntry entry) {
+        return Deposit.builder()
+                .userId(entry.getUserId())
+                .currency(entry.getCurrency())
+                .amount(entry.getAmount())
+                .externalRef(entry.getExternalRef())
+                .build();
+    }
+
+    /**
+     * Deposits read one NDJSON line at a time, skipping blank lines and counting lines that are not
+     * a JSON object of the entry's shape
+     */
+    private class NdjsonDeposits implements Iterator<Deposit> {
+
+        private final BufferedReader reader;
+        private Deposit next;
+        private int malformed;
+        private long lineNumber;
+
+        NdjsonDeposits(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    BulkDepositEntry entry = objectMapper.readValue(line, BulkDepositEntry.class);
+                    if (entry != null) {
+                        next = toDeposit(entry);
+                        continue;
+                    }
+                } catch (JsonProcessingException e) {
+                    log.debug("Malformed bulk deposit line {}: {}", lineNumber, e.getOriginalMessage());
+                }
+                malformed++;
+            }
+            return true;
+        }
+
+        @Override
+        public Deposit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Deposit deposit = next;
+            next = null;
+            return deposit;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.william.cex.api.controller;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.william.cex.api.dto.request.CreateApiKeyRequest;
+import org.william.cex.api.dto.response.ApiKeyResponse;
+import org.william.cex.domain.user.entity.ApiKey;
+import org.william.cex.domain.user.service.ApiKeyService;
+import org.william.cex.infrastructure.security.AuthenticationUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * API key management. Keys can only be created and revoked with a JWT, so a leaked
+ * key cannot be used to mint more keys.
+ */
+@RestController
+@RequestMapping("/v1/api-keys")
+@Slf4j
+public class ApiKeyController {
+
+    @Autowired
+    private ApiKeyService apiKeyService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    @PostMapping
+    public ResponseEntity<ApiKeyResponse> createKey(@Valid @RequestBody(required = false) CreateApiKeyRequest request) {
+        Long userId;
+        try {
+            userId = authenticationUtils.getAuthenticatedUser().userId();
+        } catch (IllegalArgumentException e) {
+            log.warn("API key creation refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        try {
+            ApiKeyService.IssuedApiKey issued = apiKeyService.createKey(userId, request != null ? request.getLabel() : null);
+            ApiKeyResponse response = mapToResponse(issued.apiKey());
+            response.setSecret(issued.secret());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("API key creation failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ApiKeyResponse>> getKeys() {
+        try {
+            Long userId = authenticationUtils.getAuthenticatedUserId();
+            List<ApiKeyResponse> responses = apiKeyService.getActiveKeys(userId).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            log.error("Error listing API keys", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @DeleteMapping("/{keyId}")
+    public ResponseEntity<Void> revokeKey(@PathVariable String keyId) {
+        Long userId;
+        try {
+            userId = authenticationUtils.getAuthenticatedUser().userId();
+        } catch (IllegalArgumentException e) {
+            log.warn("API key revocation refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        try {
+            apiKeyService.revokeKey(userId, keyId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("API key revocation failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    private ApiKeyResponse mapToResponse(ApiKey apiKey) {
+        return ApiKeyResponse.builder()
+                .keyId(apiKey.getKeyId())
+                .label(apiKey.getLabel())
+                .createdAt(apiKey.getCreatedAt())
+                .build();
+    }
+}
@@ -1,17 +1,23 @@
 package org.william.cex.api.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.william.cex.api.dto.request.LoginRequest;
 import org.william.cex.api.dto.request.RegisterUserRequest;
 import org.william.cex.api.dto.response.AuthResponse;
+import org.william.cex.api.exception.TooManyRequestsException;
 import org.william.cex.domain.user.entity.User;
 import org.william.cex.domain.user.service.UserService;
+import org.william.cex.infrastructure.ratelimit.LoginThrottle;
+import org.william.cex.infrastructure.security.AuthenticationUtils;
 import org.william.cex.infrastructure.security.JwtTokenProvider;
+import org.william.cex.infrastructure.security.TokenRevocationService;
 
 @RestController
 @RequestMapping("/v1/auth")
@@ -24,9 +30,20 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterUserRequest request) {
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterUserRequest request,
+                                                 HttpServletRequest httpRequest) {
         try {
+            loginThrottle.acquireRegistration(httpRequest.getRemoteAddr());
             User user = userService.registerUser(request.getEmail(), request.getPassword());
             String token = jwtTokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole().toString());
 
@@ -38,6 +55,10 @@ public class AuthController {
                     .build();
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (IllegalArgumentException e) {
             log.warn("Registration failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -45,8 +66,10 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
         try {
+            loginThrottle.acquireLogin(httpRequest.getRemoteAddr(), request.getEmail());
             User user = userService.authenticateUser(request.getEmail(), request.getPassword());
             String token = jwtTokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole().toString());
 
@@ -58,10 +81,30 @@ public class AuthController {
                     .build();
 
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             log.warn("Login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
-}
 
+    /**
+     * Revoke the token used for this request so it is rejected until it expires
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        try {
+            tokenRevocationService.revoke(authenticationUtils.getAuthenticatedUser());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Logout failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Logout failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
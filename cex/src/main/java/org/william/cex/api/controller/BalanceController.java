@@ -29,9 +29,9 @@ public class BalanceController {
 
         try {
             String userEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long userId = userService.getUserByEmail(userEmail).getId();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
 
-            log.info("User {} is adding {} {} to their balance", userEmail, request.getAmount(), request.getCurrency());
+            log.debug("User {} is adding {} {} to their balance", userEmail, request.getAmount(), request.getCurrency());
 
             userService.addBalance(userId, request.getCurrency(), request.getAmount());
             UserWallet wallet = userService.getWallet(userId, request.getCurrency());
@@ -44,7 +44,7 @@ public class BalanceController {
                     .availableBalance(wallet.getAvailableBalance())
                     .build();
 
-            log.info("Balance added successfully for user {}: {} {} now has balance of {}",
+            log.debug("Balance added successfully for user {}: {} {} now has balance of {}",
                     userEmail, request.getAmount(), request.getCurrency(), wallet.getBalance());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -59,9 +59,9 @@ public class BalanceController {
 
         try {
             String userEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long userId = userService.getUserByEmail(userEmail).getId();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
 
-            log.info("User {} requested balance for {}", userEmail, currency);
+            log.debug("User {} requested balance for {}", userEmail, currency);
 
             UserWallet wallet = userService.getWallet(userId, currency);
 
@@ -73,7 +73,7 @@ public class BalanceController {
                     .availableBalance(wallet.getAvailableBalance())
                     .build();
 
-            log.info("Balance retrieved for user {}: {} balance = {}, locked = {}, available = {}",
+            log.debug("Balance retrieved for user {}: {} balance = {}, locked = {}, available = {}",
                     userEmail, currency, wallet.getBalance(), wallet.getLockedAmount(), wallet.getAvailableBalance());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
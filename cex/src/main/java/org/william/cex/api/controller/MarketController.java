@@ -1,11 +1,13 @@
 package org.william.cex.api.controller;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.william.cex.domain.market.service.MarketPriceService;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -16,14 +18,16 @@ import java.util.Map;
 @Slf4j
 public class MarketController {
 
+    @Autowired
+    private MarketPriceService marketPriceService;
+
     @GetMapping("/price/{base}/{quote}")
     public ResponseEntity<Map<String, Object>> getMarketPrice(@PathVariable String base, @PathVariable String quote) {
         String pair = base.toUpperCase() + "/" + quote.toUpperCase();
         try {
             log.info("Requested market price for pair: {}", pair);
 
-            // For demo/imitation environment, return simulated prices
-            BigDecimal price = simulateMarketPrice(pair);
+            BigDecimal price = marketPriceService.getPrice(pair);
 
             Map<String, Object> response = new HashMap<>();
             response.put("pair", pair);
@@ -37,16 +41,4 @@ public class MarketController {
             return ResponseEntity.notFound().build();
         }
     }
-
-    private BigDecimal simulateMarketPrice(String pair) {
-        // Simulated prices for demo
-        return switch (pair.toUpperCase()) {
-            case "BTC/USD" -> new BigDecimal("43500.50");
-            case "ETH/USD" -> new BigDecimal("2450.75");
-            case "XRP/USD" -> new BigDecimal("2.85");
-            case "USDT/USD" -> new BigDecimal("1.00");
-            default -> new BigDecimal("1000.00");
-        };
-    }
 }
-
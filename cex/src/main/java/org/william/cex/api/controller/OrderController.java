@@ -10,7 +10,6 @@ import org.william.cex.api.dto.request.CreateOrderRequest;
 import org.william.cex.api.dto.response.OrderResponse;
 import org.william.cex.domain.order.entity.Order;
 import org.william.cex.domain.order.service.OrderService;
-import org.william.cex.domain.user.service.UserService;
 import org.william.cex.infrastructure.security.AuthenticationUtils;
 
 @RestController
@@ -21,9 +20,6 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
-    @Autowired
-    private UserService userService;
-
     @Autowired
     private AuthenticationUtils authenticationUtils;
 
@@ -33,10 +29,10 @@ public class OrderController {
 
         try {
             String userEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long userId = userService.getUserByEmail(userEmail).getId();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
             Order.OrderType orderType = Order.OrderType.valueOf(request.getOrderType().toUpperCase());
 
-            log.info("User {} is creating {} order: {} {} -> {} at price {}",
+            log.debug("User {} is creating {} order: {} {} -> {} at price {}",
                     userEmail, orderType, request.getAmount(), request.getBaseCurrency(),
                     request.getQuoteCurrency(), request.getPrice());
 
@@ -51,7 +47,7 @@ public class OrderController {
 
             OrderResponse response = mapToResponse(order);
 
-            log.info("Order created successfully for user {}: Order ID {} - {} {} at {}",
+            log.debug("Order created successfully for user {}: Order ID {} - {} {} at {}",
                     userEmail, order.getId(), request.getAmount(), request.getBaseCurrency(), request.getPrice());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
@@ -66,9 +62,9 @@ public class OrderController {
 
         try {
             String userEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long userId = userService.getUserByEmail(userEmail).getId();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
 
-            log.info("User {} requested details for order {}", userEmail, orderId);
+            log.debug("User {} requested details for order {}", userEmail, orderId);
 
             Order order = orderService.getOrder(orderId);
 
@@ -81,7 +77,7 @@ public class OrderController {
 
             OrderResponse response = mapToResponse(order);
 
-            log.info("Order details retrieved for user {}: Order ID {} - {} {} {}",
+            log.debug("Order details retrieved for user {}: Order ID {} - {} {} {}",
                     userEmail, orderId, order.getOrderType(), order.getAmount(), order.getStatus());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -96,9 +92,9 @@ public class OrderController {
 
         try {
             String userEmail = authenticationUtils.getAuthenticatedUserEmail();
-            Long userId = userService.getUserByEmail(userEmail).getId();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
 
-            log.info("User {} is cancelling order {}", userEmail, orderId);
+            log.debug("User {} is cancelling order {}", userEmail, orderId);
 
             Order order = orderService.getOrder(orderId);
 
@@ -111,7 +107,7 @@ public class OrderController {
 
             orderService.cancelOrder(orderId);
 
-            log.info("Order cancelled successfully for user {}: Order ID {}", userEmail, orderId);
+            log.debug("Order cancelled successfully for user {}: Order ID {}", userEmail, orderId);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             log.error("Error cancelling order", e);
@@ -119,7 +115,7 @@ public class OrderController {
         }
     }
 
-    private OrderResponse mapToResponse(Order order) {
+    public static OrderResponse mapToResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .userId(order.getUserId())
@@ -0,0 +1,137 @@
+package org.william.cex.api.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.william.cex.api.dto.response.BalanceResponse;
+import org.william.cex.api.dto.response.FeeRateResponse;
+import org.william.cex.api.dto.response.OrderResponse;
+import org.william.cex.domain.fee.entity.FeeRate;
+import org.william.cex.domain.fee.service.FeeService;
+import org.william.cex.domain.market.service.MarketPriceService;
+import org.william.cex.domain.order.entity.Order;
+import org.william.cex.domain.order.service.OrderService;
+import org.william.cex.domain.user.entity.UserWallet;
+import org.william.cex.domain.user.service.UserService;
+import org.william.cex.infrastructure.cache.CacheManager;
+import org.william.cex.infrastructure.security.AuthenticationUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking variants of the highest-traffic reads for pollers. Handlers return {@link Mono}, so
+ * the servlet request turns asynchronous and no request thread waits on I/O: near-cache hits complete
+ * immediately, Redis hits complete on the reactive connection's event loop, and only cache misses
+ * run the blocking services, on the bounded {@code jdbcScheduler}. When that scheduler is saturated
+ * the read fails fast with 503 instead of queueing behind the connection pool.
+ */
+@RestController
+@RequestMapping("/v1/read")
+@Slf4j
+public class ReactiveReadController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private MarketPriceService marketPriceService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    @Autowired
+    private Scheduler jdbcScheduler;
+
+    @GetMapping("/market/price/{base}/{quote}")
+    public Mono<ResponseEntity<Map<String, Object>>> getMarketPrice(@PathVariable String base, @PathVariable String quote) {
+        String pair = base.toUpperCase() + "/" + quote.toUpperCase();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("pair", pair);
+        response.put("price", marketPriceService.getPrice(pair));
+        response.put("timestamp", System.currentTimeMillis());
+        return Mono.just(ResponseEntity.ok(response));
+    }
+
+    @GetMapping("/fees/{pair}")
+    public Mono<ResponseEntity<FeeRateResponse>> getFeeRate(@PathVariable String pair) {
+        return cacheManager.getFeeRateReactive(pair)
+                .cast(FeeRate.class)
+                .switchIfEmpty(offload(() -> feeService.getFeeRate(pair)))
+                .map(feeRate -> ResponseEntity.ok(FeeRateResponse.builder()
+                        .id(feeRate.getId())
+                        .currencyPair(feeRate.getCurrencyPair())
+                        .feePercentage(feeRate.getFeePercentage())
+                        .build()))
+                .onErrorResume(e -> failure("fee rate for " + pair, e, HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/balance/{currency}")
+    public Mono<ResponseEntity<BalanceResponse>> getBalance(@PathVariable String currency) {
+        // Resolved on the request thread, where the security context is bound
+        Long userId = authenticationUtils.getAuthenticatedUserId();
+
+        return cacheManager.getBalanceReactive(userId, currency)
+                .cast(UserWallet.class)
+                .switchIfEmpty(offload(() -> userService.getWallet(userId, currency)))
+                .map(wallet -> ResponseEntity.ok(BalanceResponse.builder()
+                        .userId(userId)
+                        .currency(currency)
+                        .balance(wallet.getBalance())
+                        .lockedAmount(wallet.getLockedAmount())
+                        .availableBalance(wallet.getAvailableBalance())
+                        .build()))
+                .onErrorResume(e -> failure("balance " + currency + " of user " + userId, e, HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/orders/{orderId}")
+    public Mono<ResponseEntity<OrderResponse>> getOrder(@PathVariable Long orderId) {
+        Long userId = authenticationUtils.getAuthenticatedUserId();
+
+        return cacheManager.getOrderReactive(orderId)
+                .cast(Order.class)
+                .switchIfEmpty(offload(() -> orderService.getOrder(orderId)))
+                .map(order -> {
+                    // Verify ownership
+                    if (!order.getUserId().equals(userId)) {
+                        log.warn("User {} attempted to read order {} which belongs to user {}",
+                                userId, orderId, order.getUserId());
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).<OrderResponse>build();
+                    }
+                    return ResponseEntity.ok(OrderController.mapToResponse(order));
+                })
+                .onErrorResume(e -> failure("order " + orderId, e, HttpStatus.NOT_FOUND));
+    }
+
+    private <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    private static <T> Mono<ResponseEntity<T>> failure(String read, Throwable e, HttpStatus status) {
+        if (e instanceof RejectedExecutionException) {
+            log.warn("JDBC offload saturated, rejecting read of {}", read);
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        log.warn("Error reading {}: {}", read, e.getMessage());
+        return Mono.just(ResponseEntity.status(status).build());
+    }
+}
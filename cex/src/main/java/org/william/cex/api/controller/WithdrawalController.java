@@ -0,0 +1,108 @@
+package org.william.cex.api.controller;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.william.cex.api.dto.request.CreateWithdrawalRequest;
+import org.william.cex.api.dto.response.WithdrawalResponse;
+import org.william.cex.domain.withdrawal.entity.Withdrawal;
+import org.william.cex.domain.withdrawal.service.WithdrawalService;
+import org.william.cex.infrastructure.security.AuthenticationUtils;
+
+@RestController
+@RequestMapping("/v1/withdrawals")
+@Slf4j
+public class WithdrawalController {
+
+    @Autowired
+    private WithdrawalService withdrawalService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    @PostMapping
+    public ResponseEntity<WithdrawalResponse> requestWithdrawal(
+            @Valid @RequestBody CreateWithdrawalRequest request) {
+
+        try {
+            String userEmail = authenticationUtils.getAuthenticatedUserEmail();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
+
+            log.debug("User {} is requesting withdrawal of {} {} to {}",
+                    userEmail, request.getAmount(), request.getCurrency(), request.getDestinationAddress());
+
+            Withdrawal withdrawal = withdrawalService.requestWithdrawal(
+                    userId,
+                    request.getCurrency(),
+                    request.getAmount(),
+                    request.getDestinationAddress()
+            );
+
+            log.debug("Withdrawal requested successfully for user {}: Withdrawal ID {}", userEmail, withdrawal.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(withdrawal));
+        } catch (Exception e) {
+            log.error("Error requesting withdrawal", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/{withdrawalId}")
+    public ResponseEntity<WithdrawalResponse> getWithdrawal(
+            @PathVariable Long withdrawalId) {
+
+        try {
+            String userEmail = authenticationUtils.getAuthenticatedUserEmail();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
+
+            Withdrawal withdrawal = withdrawalService.getWithdrawal(withdrawalId);
+
+            // Verify ownership
+            if (!withdrawal.getUserId().equals(userId)) {
+                log.warn("User {} attempted to access withdrawal {} which belongs to user {}",
+                        userEmail, withdrawalId, withdrawal.getUserId());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            return ResponseEntity.ok(mapToResponse(withdrawal));
+        } catch (Exception e) {
+            log.error("Error getting withdrawal", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @DeleteMapping("/{withdrawalId}")
+    public ResponseEntity<Void> cancelWithdrawal(
+            @PathVariable Long withdrawalId) {
+
+        try {
+            String userEmail = authenticationUtils.getAuthenticatedUserEmail();
+            Long userId = authenticationUtils.getAuthenticatedUserId();
+
+            withdrawalService.cancelWithdrawal(withdrawalId, userId);
+
+            log.debug("Withdrawal cancelled for user {}: Withdrawal ID {}", userEmail, withdrawalId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            log.error("Error cancelling withdrawal", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    static WithdrawalResponse mapToResponse(Withdrawal withdrawal) {
+        return WithdrawalResponse.builder()
+                .id(withdrawal.getId())
+                .userId(withdrawal.getUserId())
+                .currency(withdrawal.getCurrency())
+                .amount(withdrawal.getAmount())
+                .fee(withdrawal.getFee())
+                .destinationAddress(withdrawal.getDestinationAddress())
+                .status(withdrawal.getStatus().toString())
+                .txHash(withdrawal.getTxHash())
+                .processedAt(withdrawal.getProcessedAt())
+                .createdAt(withdrawal.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package org.william.cex.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a bulk deposit import. Entries are validated while the stream is applied,
+ * so a bad line is counted as rejected instead of failing the whole import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDepositEntry {
+    private Long userId;
+    private String currency;
+    private BigDecimal amount;
+    private String externalRef;
+}
@@ -0,0 +1,17 @@
+package org.william.cex.api.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateApiKeyRequest {
+
+    @Size(max = 100, message = "Label must be at most 100 characters")
+    private String label;
+}
@@ -0,0 +1,26 @@
+package org.william.cex.api.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateWithdrawalRequest {
+
+    @NotBlank(message = "Currency is required")
+    private String currency;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Destination address is required")
+    private String destinationAddress;
+}
@@ -0,0 +1,22 @@
+package org.william.cex.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiKeyResponse {
+    private String keyId;
+    // Only present in the response that creates the key
+    private String secret;
+    private String label;
+    private LocalDateTime createdAt;
+}
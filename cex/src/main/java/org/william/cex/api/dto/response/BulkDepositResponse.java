@@ -0,0 +1,17 @@
+package org.william.cex.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDepositResponse {
+    private long received;
+    private long applied;
+    private long duplicates;
+    private long rejected;
+}
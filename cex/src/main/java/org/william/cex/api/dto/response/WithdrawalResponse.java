@@ -0,0 +1,26 @@
+package org.william.cex.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WithdrawalResponse {
+    private Long id;
+    private Long userId;
+    private String currency;
+    private BigDecimal amount;
+    private BigDecimal fee;
+    private String destinationAddress;
+    private String status;
+    private String txHash;
+    private LocalDateTime processedAt;
+    private LocalDateTime createdAt;
+}
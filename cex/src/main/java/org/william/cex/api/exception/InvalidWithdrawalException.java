@@ -0,0 +1,7 @@
+package org.william.cex.api.exception;
+
+public class InvalidWithdrawalException extends RuntimeException {
+    public InvalidWithdrawalException(String message) {
+        super(message);
+    }
+}
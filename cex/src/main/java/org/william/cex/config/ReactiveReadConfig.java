@@ -0,0 +1,31 @@
+package org.william.cex.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Slf4j
+public class ReactiveReadConfig {
+
+    @Value("${reactive-read.jdbc.threads:10}")
+    private int jdbcThreads;
+
+    @Value("${reactive-read.jdbc.queue-capacity:1000}")
+    private int jdbcQueueCapacity;
+
+    /**
+     * Runs cache misses of the reactive read tier through the blocking JPA services. Sized to the
+     * JDBC pool, since more threads would only wait for connections; once the queue is full,
+     * offloaded reads fail with {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        log.info("Configuring reactive read JDBC offload on {} threads, queue capacity {}",
+                jdbcThreads, jdbcQueueCapacity);
+        return Schedulers.newBoundedElastic(jdbcThreads, jdbcQueueCapacity, "jdbc-offload");
+    }
+}
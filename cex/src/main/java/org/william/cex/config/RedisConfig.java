@@ -6,22 +6,28 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.william.cex.infrastructure.cache.serialization.CompactRedisSerializer;
+import org.william.cex.infrastructure.cache.serialization.FeeRateCodec;
+import org.william.cex.infrastructure.cache.serialization.OrderCodec;
+import org.william.cex.infrastructure.cache.serialization.UserWalletCodec;
+
+import java.util.List;
 
 @Configuration
 @Slf4j
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
-
-        StringRedisSerializer stringSerializer = new StringRedisSerializer();
-
+    public GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
         // Configure ObjectMapper with JavaTimeModule for LocalDateTime support
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
@@ -29,19 +35,60 @@ public class RedisConfig {
             LaissezFaireSubTypeValidator.instance,
             ObjectMapper.DefaultTyping.NON_FINAL
         );
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    /**
+     * Compact binary serializer for the hot cached entities, falling back to JSON for everything else
+     */
+    @Bean
+    public CompactRedisSerializer compactRedisSerializer(GenericJackson2JsonRedisSerializer jsonRedisSerializer) {
+        return new CompactRedisSerializer(jsonRedisSerializer,
+                List.of(new UserWalletCodec(), new OrderCodec(), new FeeRateCodec()));
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       GenericJackson2JsonRedisSerializer jsonRedisSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
 
         // Key serializers
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
         // Value serializers
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        template.setValueSerializer(jsonRedisSerializer);
+        template.setHashValueSerializer(jsonRedisSerializer);
 
         template.afterPropertiesSet();
         log.info("Redis template configured successfully");
         return template;
     }
-}
 
+    /**
+     * Listener container for Redis pub/sub, used to propagate near-cache invalidations and token revocations between nodes
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Reactive template for the non-blocking read tier, on the same Lettuce connection factory.
+     * Values stay raw bytes so cache entries are decoded by the cache's own format detection.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> reactiveBytesRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.byteArray())
+                .key(RedisSerializer.string())
+                .hashKey(RedisSerializer.string())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
@@ -0,0 +1,15 @@
+package org.william.cex.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} and {@code @Async}. Both run on Spring Boot's auto-configured
+ * executors, which switch to virtual threads with {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
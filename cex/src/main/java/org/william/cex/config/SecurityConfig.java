@@ -1,7 +1,9 @@
 package org.william.cex.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +18,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.william.cex.infrastructure.idempotency.IdempotencyFilter;
+import org.william.cex.infrastructure.ratelimit.RateLimitFilter;
+import org.william.cex.infrastructure.security.ApiKeyAuthFilter;
+import org.william.cex.infrastructure.security.BoundedPasswordEncoder;
 import org.william.cex.infrastructure.security.CustomAccessDeniedHandler;
 import org.william.cex.infrastructure.security.CustomAuthenticationEntryPoint;
 import org.william.cex.infrastructure.security.JwtAuthFilter;
@@ -31,16 +37,39 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    @Autowired
+    private ApiKeyAuthFilter apiKeyAuthFilter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
     @Autowired
     private CustomAuthenticationEntryPoint authenticationEntryPoint;
 
     @Autowired
     private CustomAccessDeniedHandler accessDeniedHandler;
 
-    @Bean
+    @Value("${auth.password.threads:2}")
+    private int passwordThreads;
+
+    @Value("${auth.password.queue-capacity:32}")
+    private int passwordQueueCapacity;
+
+    @Value("${auth.password.wait-millis:2000}")
+    private long passwordWaitMillis;
+
+    /**
+     * BCrypt on a dedicated bounded pool, so login bursts cannot occupy every request thread's CPU
+     */
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        log.info("Configuring BCrypt password encoder");
-        return new BCryptPasswordEncoder();
+        log.info("Configuring BCrypt password encoder on {} threads, queue capacity {}",
+                passwordThreads, passwordQueueCapacity);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                passwordThreads, passwordQueueCapacity, passwordWaitMillis);
     }
 
 
@@ -66,19 +95,36 @@ public class SecurityConfig {
 
             // Configure endpoint authorization
             .authorizeHttpRequests(authz -> authz
+                // Reactive handlers complete on an async dispatch, which carries no token of its own;
+                // the request was authorized on its original dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints - no authentication required
                 // Permit both with and without servlet context-path prefix so matching works regardless
                 .requestMatchers(HttpMethod.POST, "/v1/auth/register", "/v1/auth/login", "/api/v1/auth/register", "/api/v1/auth/login").permitAll()
                 .requestMatchers(HttpMethod.POST, "/v1/admin/register", "/v1/admin/login", "/api/v1/admin/register", "/api/v1/admin/login").permitAll()
                 .requestMatchers(HttpMethod.GET, "/v1/admin/fees", "/api/v1/admin/fees").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/actuator/health", "/actuator/health").permitAll()
+                // Scraped with an admin token; stage latencies reveal traffic per pair
+                .requestMatchers(HttpMethod.GET, "/api/actuator/prometheus", "/actuator/prometheus").hasRole("ADMIN")
+                // Recordings expose per-user operations and can be large
+                .requestMatchers("/api/actuator/flightrecorder", "/actuator/flightrecorder").hasRole("ADMIN")
 
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
 
             // Add JWT filter before UsernamePasswordAuthenticationFilter
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // HMAC-signed API key requests authenticate ahead of the JWT filter
+            .addFilterBefore(apiKeyAuthFilter, JwtAuthFilter.class)
+
+            // Throttle per caller once it is known, before any work is done for the request
+            .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
+
+            // Deduplicate retried POSTs once the caller is known, so keys are scoped per user
+            .addFilterAfter(idempotencyFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "fee_transactions", indexes = {
         @Index(name = "idx_fee_transactions_order_id", columnList = "order_id"),
-        @Index(name = "idx_fee_transactions_created_at", columnList = "created_at DESC")
+        @Index(name = "idx_fee_transactions_created_at", columnList = "created_at DESC"),
+        @Index(name = "idx_fee_transactions_withdrawal_id", columnList = "withdrawal_id")
 })
 @Data
 @NoArgsConstructor
@@ -26,6 +27,8 @@ public class FeeTransaction {
 
     private Long orderId;
 
+    private Long withdrawalId;
+
     @Column(nullable = false)
     private BigDecimal amount;
 
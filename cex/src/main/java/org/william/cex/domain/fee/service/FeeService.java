@@ -2,17 +2,23 @@ package org.william.cex.domain.fee.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.william.cex.domain.fee.entity.FeeRate;
 import org.william.cex.domain.fee.entity.FeeTransaction;
 import org.william.cex.domain.fee.repository.FeeRateRepository;
 import org.william.cex.domain.fee.repository.FeeTransactionRepository;
 import org.william.cex.infrastructure.cache.CacheManager;
+import org.william.cex.infrastructure.diagnostics.FeeRateLookupEvent;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -27,27 +33,56 @@ public class FeeService {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static final String FEE_RATE_LOCK_PREFIX = "fee-rate:";
+
     public FeeRate getFeeRate(String currencyPair) {
-        // Try cache first
-        Object cached = cacheManager.getFeeRate(currencyPair);
-        if (cached instanceof FeeRate) {
-            return (FeeRate) cached;
+        FeeRateLookupEvent event = FeeRateLookupEvent.begin(currencyPair);
+        try {
+            // Cache for 1 hour
+            return (FeeRate) cacheManager.getOrLoadFeeRate(currencyPair, () -> loadFeeRate(currencyPair), 60);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
         }
+    }
 
-        FeeRate feeRate = feeRateRepository.findLatestByCurrencyPair(currencyPair, LocalDateTime.now())
-                .orElseGet(() -> {
-                    // Default fee rate if not found
-                    FeeRate defaultRate = FeeRate.builder()
-                            .currencyPair(currencyPair)
-                            .feePercentage(new BigDecimal("0.001")) // 0.1%
-                            .effectiveFrom(LocalDateTime.now())
-                            .build();
-                    return feeRateRepository.save(defaultRate);
-                });
-
-        // Cache for 1 hour
-        cacheManager.setFeeRate(currencyPair, feeRate, 60);
-        return feeRate;
+    private FeeRate loadFeeRate(String currencyPair) {
+        return feeRateRepository.findLatestByCurrencyPair(currencyPair, LocalDateTime.now())
+                .orElseGet(() -> createDefaultFeeRate(currencyPair));
+    }
+
+    /**
+     * Insert the default rate for a pair that has none. A transaction-scoped advisory lock per pair
+     * serializes concurrent first lookups across nodes, and the re-check under the lock makes
+     * every caller after the first one reuse the row it inserted. Goes straight to the database;
+     * {@link #getFeeRate} calls it on a cache miss.
+     *
+     * @return the pair's current rate, inserted by this call or an earlier one
+     */
+    public FeeRate createDefaultFeeRate(String currencyPair) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))",
+                    (ResultSetExtractor<Void>) rs -> null, FEE_RATE_LOCK_PREFIX + currencyPair);
+
+            return feeRateRepository.findLatestByCurrencyPair(currencyPair, LocalDateTime.now())
+                    .orElseGet(() -> {
+                        // Default fee rate if not found
+                        FeeRate defaultRate = FeeRate.builder()
+                                .currencyPair(currencyPair)
+                                .feePercentage(new BigDecimal("0.001")) // 0.1%
+                                .effectiveFrom(LocalDateTime.now())
+                                .build();
+                        return feeRateRepository.save(defaultRate);
+                    });
+        });
     }
 
     @Transactional
@@ -65,8 +100,8 @@ public class FeeService {
 
         feeRate = feeRateRepository.save(feeRate);
 
-        // Invalidate cache
-        cacheManager.clearFeeRates();
+        // Invalidate cache (only the updated pair is affected)
+        cacheManager.clearFeeRate(currencyPair);
 
         log.info("Fee rate updated for pair {}: {}", currencyPair, feePercentage);
         return feeRate;
@@ -84,6 +119,29 @@ public class FeeService {
         log.info("Fee transaction recorded for order {}: {} {}", orderId, feeAmount, feeType);
     }
 
+    /**
+     * Record the fees of a processed withdrawal batch as one JDBC batch insert
+     * @param feesByWithdrawalId fee amount keyed by withdrawal id
+     */
+    @Transactional
+    public void recordWithdrawalFees(Map<Long, BigDecimal> feesByWithdrawalId) {
+        List<Object[]> rows = new ArrayList<>(feesByWithdrawalId.size());
+        feesByWithdrawalId.forEach((withdrawalId, fee) -> {
+            if (fee.signum() > 0) {
+                rows.add(new Object[]{withdrawalId, fee, FeeTransaction.FeeType.WITHDRAWAL_FEE.name()});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO fee_transactions (withdrawal_id, amount, fee_type, created_at) " +
+                        "VALUES (?, ?, ?, CURRENT_TIMESTAMP)",
+                rows);
+        log.info("Recorded {} withdrawal fee transactions", rows.size());
+    }
+
     public BigDecimal getTotalFees() {
         BigDecimal total = feeTransactionRepository.getTotalFees();
         return total != null ? total : BigDecimal.ZERO;
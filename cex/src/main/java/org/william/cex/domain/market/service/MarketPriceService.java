@@ -0,0 +1,23 @@
+package org.william.cex.domain.market.service;
+
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+public class MarketPriceService {
+
+    /**
+     * @param pair currency pair as {@code BASE/QUOTE}
+     */
+    public BigDecimal getPrice(String pair) {
+        // For demo/imitation environment, return simulated prices
+        return switch (pair.toUpperCase()) {
+            case "BTC/USD" -> new BigDecimal("43500.50");
+            case "ETH/USD" -> new BigDecimal("2450.75");
+            case "XRP/USD" -> new BigDecimal("2.85");
+            case "USDT/USD" -> new BigDecimal("1.00");
+            default -> new BigDecimal("1000.00");
+        };
+    }
+}
@@ -14,7 +14,12 @@ import org.william.cex.domain.order.entity.OrderEvent;
 import org.william.cex.domain.order.repository.OrderEventRepository;
 import org.william.cex.domain.order.repository.OrderRepository;
 import org.william.cex.domain.user.service.UserService;
+import org.william.cex.infrastructure.archive.OrderArchive;
 import org.william.cex.infrastructure.cache.CacheManager;
+import org.william.cex.infrastructure.diagnostics.OrderOperationEvent;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Operation;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Stage;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -38,12 +43,20 @@ public class OrderService {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private OrderArchive orderArchive;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private OrderStageMetrics stageMetrics;
+
     @Transactional
     public Order createOrder(Long userId, Order.OrderType orderType, String baseCurrency,
                             String quoteCurrency, BigDecimal amount, BigDecimal price) {
+        String pair = OrderStageMetrics.pair(baseCurrency, quoteCurrency);
+        OrderOperationEvent event = stageMetrics.timeCommit(Operation.CREATE, userId, 0, pair);
 
         // Validate order
         if (amount.compareTo(BigDecimal.ZERO) <= 0 || price.compareTo(BigDecimal.ZERO) <= 0) {
@@ -55,10 +68,11 @@ public class OrderService {
         BigDecimal lockAmount = orderType == Order.OrderType.BUY ?
                 amount.multiply(price) : amount;
 
-        userService.lockBalance(userId, lockCurrency, lockAmount);
+        stageMetrics.time(Operation.CREATE, Stage.BALANCE_LOCK, pair,
+                () -> userService.lockBalance(userId, lockCurrency, lockAmount));
 
         // Create order
-        Order order = Order.builder()
+        Order newOrder = Order.builder()
                 .userId(userId)
                 .orderType(orderType)
                 .baseCurrency(baseCurrency)
@@ -69,34 +83,41 @@ public class OrderService {
                 .status(Order.OrderStatus.PENDING)
                 .build();
 
-        order = orderRepository.save(order);
+        Order order = stageMetrics.time(Operation.CREATE, Stage.ORDER_INSERT, pair,
+                () -> orderRepository.save(newOrder));
+        event.orderId(order.getId());
 
         // Record event
-        recordOrderEvent(order.getId(), OrderEvent.EventType.CREATED,
-                "Order created: " + orderType + " " + amount + " " + baseCurrency);
+        stageMetrics.time(Operation.CREATE, Stage.EVENT_INSERT, pair,
+                () -> recordOrderEvent(order.getId(), OrderEvent.EventType.CREATED,
+                        "Order created: " + orderType + " " + amount + " " + baseCurrency));
 
-        log.info("Order created: {} for user {}", order.getId(), userId);
+        log.debug("Order created: {} for user {}", order.getId(), userId);
         return order;
     }
 
     public Order getOrder(Long orderId) {
-        // Try cache first
-        Object cached = cacheManager.getOrder(orderId);
-        if (cached instanceof Order) {
-            return (Order) cached;
+        // Cache for 1 hour; unknown ids are negatively cached briefly. Closed orders moved to the
+        // archive are served from there.
+        Object order = cacheManager.getOrLoadOrder(orderId,
+                () -> orderRepository.findById(orderId).or(() -> orderArchive.findOrder(orderId)).orElse(null), 60);
+        if (!(order instanceof Order)) {
+            throw new InvalidOrderException("Order not found: " + orderId);
         }
+        return (Order) order;
+    }
 
-        Order order = orderRepository.findById(orderId)
+    /**
+     * Load an order for modification straight from the database, never from the shared cache
+     */
+    private Order getOrderForUpdate(Long orderId) {
+        return orderRepository.findById(orderId)
                 .orElseThrow(() -> new InvalidOrderException("Order not found: " + orderId));
-
-        // Cache for 1 hour
-        cacheManager.setOrder(orderId, order, 60);
-        return order;
     }
 
     @Transactional
     public void cancelOrder(Long orderId) {
-        Order order = getOrder(orderId);
+        Order order = getOrderForUpdate(orderId);
 
         if (order.getStatus() == Order.OrderStatus.CANCELLED) {
             throw new InvalidOrderException("Order already cancelled");
@@ -106,6 +127,9 @@ public class OrderService {
             throw new InvalidOrderException("Cannot cancel filled order");
         }
 
+        String pair = OrderStageMetrics.pair(order.getBaseCurrency(), order.getQuoteCurrency());
+        stageMetrics.timeCommit(Operation.CANCEL, order.getUserId(), orderId, pair);
+
         // Unlock balance
         String unlockCurrency = order.getOrderType() == Order.OrderType.BUY ?
                 order.getQuoteCurrency() : order.getBaseCurrency();
@@ -113,39 +137,46 @@ public class OrderService {
         BigDecimal unlockAmount = order.getOrderType() == Order.OrderType.BUY ?
                 remainingAmount.multiply(order.getPrice()) : remainingAmount;
 
-        userService.unlockBalance(order.getUserId(), unlockCurrency, unlockAmount);
+        stageMetrics.time(Operation.CANCEL, Stage.BALANCE_UNLOCK, pair,
+                () -> userService.unlockBalance(order.getUserId(), unlockCurrency, unlockAmount));
 
         order.setStatus(Order.OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        stageMetrics.time(Operation.CANCEL, Stage.ORDER_UPDATE, pair, () -> orderRepository.save(order));
 
-        recordOrderEvent(orderId, OrderEvent.EventType.CANCELLED, "Order cancelled by user");
+        stageMetrics.time(Operation.CANCEL, Stage.EVENT_INSERT, pair,
+                () -> recordOrderEvent(orderId, OrderEvent.EventType.CANCELLED, "Order cancelled by user"));
 
-        cacheManager.clearOrder(orderId);
-        log.info("Order cancelled: {}", orderId);
+        stageMetrics.time(Operation.CANCEL, Stage.CACHE, pair, () -> cacheManager.clearOrder(orderId));
+        log.debug("Order cancelled: {}", orderId);
     }
 
     @Transactional
     public void fillOrder(Long orderId, BigDecimal filledAmount) {
-        Order order = getOrder(orderId);
+        Order order = getOrderForUpdate(orderId);
 
         if (order.getStatus() == Order.OrderStatus.CANCELLED) {
             throw new InvalidOrderException("Cannot fill cancelled order");
         }
 
+        String pair = OrderStageMetrics.pair(order.getBaseCurrency(), order.getQuoteCurrency());
+        stageMetrics.timeCommit(Operation.FILL, order.getUserId(), orderId, pair);
+
         order.setFilledAmount(order.getFilledAmount().add(filledAmount));
 
         if (order.isFullyFilled()) {
             order.setStatus(Order.OrderStatus.FILLED);
-            recordOrderEvent(orderId, OrderEvent.EventType.FILLED, "Order fully filled");
+            stageMetrics.time(Operation.FILL, Stage.EVENT_INSERT, pair,
+                    () -> recordOrderEvent(orderId, OrderEvent.EventType.FILLED, "Order fully filled"));
         } else {
             order.setStatus(Order.OrderStatus.PARTIALLY_FILLED);
-            recordOrderEvent(orderId, OrderEvent.EventType.PARTIALLY_FILLED,
-                    "Order partially filled: " + filledAmount);
+            stageMetrics.time(Operation.FILL, Stage.EVENT_INSERT, pair,
+                    () -> recordOrderEvent(orderId, OrderEvent.EventType.PARTIALLY_FILLED,
+                            "Order partially filled: " + filledAmount));
         }
 
-        orderRepository.save(order);
-        cacheManager.clearOrder(orderId);
-        log.info("Order filled: {} amount: {}", orderId, filledAmount);
+        stageMetrics.time(Operation.FILL, Stage.ORDER_UPDATE, pair, () -> orderRepository.save(order));
+        stageMetrics.time(Operation.FILL, Stage.CACHE, pair, () -> cacheManager.clearOrder(orderId));
+        log.debug("Order filled: {} amount: {}", orderId, filledAmount);
     }
 
     private void recordOrderEvent(Long orderId, OrderEvent.EventType eventType, String details) {
@@ -0,0 +1,58 @@
+package org.william.cex.domain.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * API key for HMAC-signed requests. The secret is kept retrievable because the server must
+ * recompute each signature, so it is stored encrypted by {@code ApiKeySecretCipher} rather than
+ * hashed; it is returned to the owner only when the key is created.
+ */
+@Entity
+@Table(name = "api_keys", indexes = {
+        @Index(name = "idx_api_keys_user_id", columnList = "user_id"),
+        @Index(name = "api_keys_key_id_unique", columnList = "key_id", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String keyId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // Sealed by ApiKeySecretCipher
+    @Column(nullable = false, length = 128)
+    private String secret;
+
+    @Column(length = 100)
+    private String label;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public boolean isActive() {
+        return revokedAt == null;
+    }
+}
@@ -0,0 +1,17 @@
+package org.william.cex.domain.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.william.cex.domain.user.entity.ApiKey;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+    Optional<ApiKey> findByKeyId(String keyId);
+
+    List<ApiKey> findByUserIdAndRevokedAtIsNullOrderByCreatedAtAsc(Long userId);
+
+    long countByUserIdAndRevokedAtIsNull(Long userId);
+}
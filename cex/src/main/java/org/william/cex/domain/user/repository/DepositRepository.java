@@ -0,0 +1,12 @@
+package org.william.cex.domain.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.william.cex.domain.user.entity.Deposit;
+
+import java.util.Optional;
+
+@Repository
+public interface DepositRepository extends JpaRepository<Deposit, Long> {
+    Optional<Deposit> findByExternalRef(String externalRef);
+}
@@ -0,0 +1,114 @@
+package org.william.cex.domain.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.william.cex.domain.user.entity.ApiKey;
+import org.william.cex.domain.user.repository.ApiKeyRepository;
+import org.william.cex.infrastructure.security.ApiKeySecretCache;
+import org.william.cex.infrastructure.security.ApiKeySecretCipher;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ApiKeyService {
+
+    private static final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private ApiKeySecretCache apiKeySecretCache;
+
+    @Autowired
+    private ApiKeySecretCipher apiKeySecretCipher;
+
+    @Value("${auth.api-key.max-per-user:10}")
+    private long maxKeysPerUser;
+
+    /**
+     * A newly created key with its plaintext secret, which is not stored
+     */
+    public record IssuedApiKey(ApiKey apiKey, String secret) {
+    }
+
+    /**
+     * Create an API key; the returned secret is the only time it leaves the server
+     * @throws IllegalArgumentException if the user already has the maximum number of active keys
+     */
+    @Transactional
+    public IssuedApiKey createKey(Long userId, String label) {
+        if (apiKeyRepository.countByUserIdAndRevokedAtIsNull(userId) >= maxKeysPerUser) {
+            throw new IllegalArgumentException("API key limit reached: " + maxKeysPerUser);
+        }
+
+        String keyId = HexFormat.of().formatHex(randomBytes(12));
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes(32));
+        ApiKey apiKey = ApiKey.builder()
+                .keyId(keyId)
+                .userId(userId)
+                .secret(apiKeySecretCipher.seal(keyId, secret))
+                .label(label)
+                .build();
+        apiKey = apiKeyRepository.save(apiKey);
+
+        log.info("API key {} created for user {}", apiKey.getKeyId(), userId);
+        return new IssuedApiKey(apiKey, secret);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ApiKey> getActiveKeys(Long userId) {
+        return apiKeyRepository.findByUserIdAndRevokedAtIsNullOrderByCreatedAtAsc(userId);
+    }
+
+    /**
+     * Revoke one of the user's keys
+     * @throws IllegalArgumentException if the user has no active key with this id
+     */
+    @Transactional
+    public void revokeKey(Long userId, String keyId) {
+        ApiKey apiKey = apiKeyRepository.findByKeyId(keyId)
+                .filter(key -> key.getUserId().equals(userId) && key.isActive())
+                .orElseThrow(() -> new IllegalArgumentException("API key not found: " + keyId));
+
+        apiKey.setRevokedAt(LocalDateTime.now());
+        apiKeyRepository.save(apiKey);
+        apiKeySecretCache.evict(keyId);
+        log.info("API key {} revoked for user {}", keyId, userId);
+    }
+
+    /**
+     * Encrypts secrets stored in plaintext before encryption at rest was introduced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void sealPlaintextSecrets() {
+        int sealed = 0;
+        for (ApiKey apiKey : apiKeyRepository.findAll()) {
+            if (!apiKeySecretCipher.isSealed(apiKey.getSecret())) {
+                apiKey.setSecret(apiKeySecretCipher.seal(apiKey.getKeyId(), apiKey.getSecret()));
+                apiKeyRepository.save(apiKey);
+                sealed++;
+            }
+        }
+        if (sealed > 0) {
+            log.info("Encrypted {} plaintext API key secrets", sealed);
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,21 @@
+package org.william.cex.domain.user.service;
+
+/**
+ * Outcome of a bulk deposit import
+ * @param received entries read from the stream
+ * @param applied entries credited to a wallet
+ * @param duplicates entries skipped because their external reference was already applied
+ * @param rejected entries skipped because they were invalid or referenced an unknown user
+ */
+public record DepositImportResult(long received, long applied, long duplicates, long rejected) {
+
+    public static final DepositImportResult EMPTY = new DepositImportResult(0, 0, 0, 0);
+
+    public DepositImportResult plus(DepositImportResult other) {
+        return new DepositImportResult(
+                received + other.received,
+                applied + other.applied,
+                duplicates + other.duplicates,
+                rejected + other.rejected);
+    }
+}
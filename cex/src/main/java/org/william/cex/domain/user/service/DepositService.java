@@ -0,0 +1,212 @@
+package org.william.cex.domain.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.william.cex.domain.user.entity.Deposit;
+import org.william.cex.domain.user.entity.User;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk crediting of back-office deposits. Entries are applied in chunks, each chunk in one
+ * transaction: the deposit rows are inserted with ON CONFLICT on the external reference so
+ * each reference is credited at most once, wallets are upserted per (user, currency) and
+ * account totals are aggregated per user before being written.
+ */
+@Service
+@Slf4j
+public class DepositService {
+
+    private static final String INSERT_DEPOSITS =
+            "INSERT INTO deposits (external_ref, user_id, currency, amount, created_at) " +
+            "SELECT ref, user_id, currency, amount, CURRENT_TIMESTAMP " +
+            "FROM unnest(?::varchar[], ?::int8[], ?::varchar[], ?::numeric[]) AS t(ref, user_id, currency, amount) " +
+            "ON CONFLICT (external_ref) DO NOTHING RETURNING external_ref";
+
+    private static final String UPSERT_WALLET =
+            "INSERT INTO user_wallets (user_id, currency, balance, locked_amount, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, currency) DO UPDATE SET balance = user_wallets.balance + EXCLUDED.balance, " +
+            "version = user_wallets.version + 1, updated_at = CURRENT_TIMESTAMP";
+
+    private static final String SELECT_WALLET_VERSIONS =
+            "SELECT w.user_id, w.currency, w.version FROM user_wallets w " +
+            "JOIN unnest(?::int8[], ?::varchar[]) AS t(user_id, currency) " +
+            "ON w.user_id = t.user_id AND w.currency = t.currency";
+
+    private static final String UPDATE_ACCOUNT =
+            "UPDATE user_accounts SET total_deposits = total_deposits + ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ?";
+
+    private static final long BALANCE_CACHE_TTL_MINUTES = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${deposit.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Credit a stream of deposits. The stream is consumed lazily and applied chunk by chunk,
+     * so memory use is bounded by the chunk size rather than by the size of the import.
+     * @param deposits unsaved deposits carrying external reference, user, currency and amount
+     * @return aggregated outcome across all chunks
+     */
+    public DepositImportResult importDeposits(Iterator<Deposit> deposits) {
+        DepositImportResult result = DepositImportResult.EMPTY;
+        List<Deposit> chunk = new ArrayList<>(chunkSize);
+
+        while (deposits.hasNext()) {
+            chunk.add(deposits.next());
+            if (chunk.size() == chunkSize) {
+                result = result.plus(creditChunk(chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result = result.plus(creditChunk(chunk));
+        }
+
+        log.info("Bulk deposit import finished: received {}, applied {}, duplicates {}, rejected {}",
+                result.received(), result.applied(), result.duplicates(), result.rejected());
+        return result;
+    }
+
+    private DepositImportResult creditChunk(List<Deposit> chunk) {
+        Map<Long, Map<String, Long>> versionsByUser = new HashMap<>();
+        DepositImportResult result = transactionTemplate.execute(status -> applyChunk(chunk, versionsByUser));
+
+        // Invalidate after commit, keeping the new versions so a concurrent load cannot re-cache the pre-deposit balance
+        if (!versionsByUser.isEmpty()) {
+            cacheManager.tombstoneBalances(versionsByUser, BALANCE_CACHE_TTL_MINUTES);
+        }
+        return result != null ? result : DepositImportResult.EMPTY;
+    }
+
+    /**
+     * @param versionsByUser filled with the version of each wallet credited by this chunk
+     */
+    private DepositImportResult applyChunk(List<Deposit> chunk, Map<Long, Map<String, Long>> versionsByUser) {
+        Set<Long> knownUsers = userRepository.findAllById(chunk.stream()
+                        .map(Deposit::getUserId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        // Drop invalid entries and repeated references within the chunk itself
+        Map<String, Deposit> candidates = new LinkedHashMap<>();
+        long rejected = 0;
+        long duplicates = 0;
+        for (Deposit deposit : chunk) {
+            if (!isValid(deposit) || !knownUsers.contains(deposit.getUserId())) {
+                rejected++;
+            } else if (candidates.putIfAbsent(deposit.getExternalRef(), deposit) != null) {
+                duplicates++;
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new DepositImportResult(chunk.size(), 0, duplicates, rejected);
+        }
+
+        Set<String> inserted = new HashSet<>(insertDeposits(candidates.values()));
+        duplicates += candidates.size() - inserted.size();
+
+        // Aggregate per wallet and per account; sorted so concurrent imports lock rows in the same order
+        Map<Long, Map<String, BigDecimal>> creditsByWallet = new TreeMap<>();
+        Map<Long, BigDecimal> creditsByAccount = new TreeMap<>();
+        for (Deposit deposit : candidates.values()) {
+            if (!inserted.contains(deposit.getExternalRef())) {
+                continue;
+            }
+            creditsByWallet.computeIfAbsent(deposit.getUserId(), id -> new TreeMap<>())
+                    .merge(deposit.getCurrency(), deposit.getAmount(), BigDecimal::add);
+            creditsByAccount.merge(deposit.getUserId(), deposit.getAmount(), BigDecimal::add);
+        }
+
+        if (!creditsByWallet.isEmpty()) {
+            List<Object[]> walletRows = new ArrayList<>();
+            creditsByWallet.forEach((userId, credits) ->
+                    credits.forEach((currency, amount) -> walletRows.add(new Object[]{userId, currency, amount})));
+            jdbcTemplate.batchUpdate(UPSERT_WALLET, walletRows);
+
+            List<Object[]> accountRows = new ArrayList<>(creditsByAccount.size());
+            creditsByAccount.forEach((userId, amount) -> accountRows.add(new Object[]{amount, userId}));
+            jdbcTemplate.batchUpdate(UPDATE_ACCOUNT, accountRows);
+
+            readWalletVersions(walletRows, versionsByUser);
+        }
+
+        return new DepositImportResult(chunk.size(), inserted.size(), duplicates, rejected);
+    }
+
+    /**
+     * Reads the versions the upsert wrote; the rows stay locked until commit
+     * @param walletRows upserted (user id, currency, amount) rows
+     */
+    private void readWalletVersions(List<Object[]> walletRows, Map<Long, Map<String, Long>> versionsByUser) {
+        Long[] userIds = walletRows.stream().map(row -> (Long) row[0]).toArray(Long[]::new);
+        String[] currencies = walletRows.stream().map(row -> (String) row[1]).toArray(String[]::new);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_WALLET_VERSIONS);
+            ps.setArray(1, con.createArrayOf("int8", userIds));
+            ps.setArray(2, con.createArrayOf("varchar", currencies));
+            return ps;
+        }, rs -> {
+            versionsByUser.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).put(rs.getString(2), rs.getLong(3));
+        });
+    }
+
+    private List<String> insertDeposits(Collection<Deposit> deposits) {
+        String[] refs = new String[deposits.size()];
+        Long[] userIds = new Long[deposits.size()];
+        String[] currencies = new String[deposits.size()];
+        BigDecimal[] amounts = new BigDecimal[deposits.size()];
+
+        int i = 0;
+        for (Deposit deposit : deposits) {
+            refs[i] = deposit.getExternalRef();
+            userIds[i] = deposit.getUserId();
+            currencies[i] = deposit.getCurrency();
+            amounts[i] = deposit.getAmount();
+            i++;
+        }
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_DEPOSITS);
+            ps.setArray(1, con.createArrayOf("varchar", refs));
+            ps.setArray(2, con.createArrayOf("int8", userIds));
+            ps.setArray(3, con.createArrayOf("varchar", currencies));
+            ps.setArray(4, con.createArrayOf("numeric", amounts));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    private boolean isValid(Deposit deposit) {
+        return deposit.getUserId() != null
+                && deposit.getExternalRef() != null && !deposit.getExternalRef().isBlank()
+                && deposit.getExternalRef().length() <= 255
+                && deposit.getCurrency() != null && !deposit.getCurrency().isBlank()
+                && deposit.getCurrency().length() <= 10
+                && deposit.getAmount() != null && deposit.getAmount().signum() > 0;
+    }
+}
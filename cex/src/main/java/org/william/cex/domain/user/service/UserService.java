@@ -2,9 +2,12 @@ package org.william.cex.domain.user.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.william.cex.api.exception.InsufficientBalanceException;
 import org.william.cex.api.exception.UserNotFoundException;
 import org.william.cex.domain.user.entity.User;
@@ -14,8 +17,14 @@ import org.william.cex.domain.user.repository.UserAccountRepository;
 import org.william.cex.domain.user.repository.UserRepository;
 import org.william.cex.domain.user.repository.UserWalletRepository;
 import org.william.cex.infrastructure.cache.CacheManager;
+import org.william.cex.infrastructure.diagnostics.WalletOperationEvent;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -36,6 +45,11 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final long BALANCE_CACHE_TTL_MINUTES = 5;
+
     @Transactional
     public User registerUser(String email, String password) {
         if (userRepository.existsByEmail(email)) {
@@ -115,50 +129,153 @@ public class UserService {
         account.setTotalDeposits(account.getTotalDeposits().add(amount));
         accountRepository.save(account);
 
-        // Invalidate cache
-        cacheManager.clearBalance(userId, currency);
+        cacheWalletAfterCommit(wallet);
 
-        log.info("Balance added for user {} currency {}: {}", userId, currency, amount);
+        log.debug("Balance added for user {} currency {}: {}", userId, currency, amount);
     }
 
     public UserWallet getWallet(Long userId, String currency) {
-        // Try cache first
-        Object cached = cacheManager.getBalance(userId, currency);
-        if (cached instanceof UserWallet) {
-            return (UserWallet) cached;
+        // Missing wallets are negatively cached briefly
+        Object wallet = cacheManager.getOrLoadBalance(userId, currency,
+                () -> walletRepository.findByUserIdAndCurrency(userId, currency).orElse(null),
+                UserWallet::getVersion, BALANCE_CACHE_TTL_MINUTES);
+        if (!(wallet instanceof UserWallet)) {
+            throw new UserNotFoundException("Wallet not found for currency: " + currency);
         }
+        return (UserWallet) wallet;
+    }
 
-        UserWallet wallet = walletRepository.findByUserIdAndCurrency(userId, currency)
+    /**
+     * Load a wallet for modification. Writes always start from the database row so they never
+     * mutate a shared near-cache instance and the optimistic lock sees the current version.
+     */
+    private UserWallet getWalletForUpdate(Long userId, String currency) {
+        return walletRepository.findByUserIdAndCurrency(userId, currency)
                 .orElseThrow(() -> new UserNotFoundException("Wallet not found for currency: " + currency));
-
-        // Cache for 5 minutes
-        cacheManager.setBalance(userId, currency, wallet, 5);
-        return wallet;
     }
 
     @Transactional
     public void lockBalance(Long userId, String currency, BigDecimal amount) {
-        UserWallet wallet = getWallet(userId, currency);
+        WalletOperationEvent event = WalletOperationEvent.begin("lock", userId, currency, amount);
+        try {
+            UserWallet wallet = getWalletForUpdate(userId, currency);
+
+            if (wallet.getAvailableBalance().compareTo(amount) < 0) {
+                throw new InsufficientBalanceException("Insufficient balance. Available: " + wallet.getAvailableBalance());
+            }
+
+            wallet.lock(amount);
+            walletRepository.save(wallet);
+            cacheWalletAfterCommit(wallet);
+
+            log.debug("Balance locked for user {} currency {}: {}", userId, currency, amount);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
 
-        if (wallet.getAvailableBalance().compareTo(amount) < 0) {
-            throw new InsufficientBalanceException("Insufficient balance. Available: " + wallet.getAvailableBalance());
+    @Transactional
+    public void unlockBalance(Long userId, String currency, BigDecimal amount) {
+        WalletOperationEvent event = WalletOperationEvent.begin("unlock", userId, currency, amount);
+        try {
+            UserWallet wallet = getWalletForUpdate(userId, currency);
+            wallet.unlock(amount);
+            walletRepository.save(wallet);
+            cacheWalletAfterCommit(wallet);
+
+            log.debug("Balance unlocked for user {} currency {}: {}", userId, currency, amount);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
         }
+    }
 
-        wallet.lock(amount);
-        walletRepository.save(wallet);
-        cacheManager.clearBalance(userId, currency);
+    /**
+     * Settle withdrawals in bulk: debit previously locked funds from each wallet and add the
+     * paid-out amounts to the account totals, using one JDBC batch per table.
+     * @param currency currency of every wallet in the batch
+     * @param debitsByUser locked amount (payout plus fee) to debit, keyed by user id
+     * @param withdrawalsByUser paid-out amount to add to total withdrawals, keyed by user id
+     */
+    @Transactional
+    public void debitLockedBalances(String currency, Map<Long, BigDecimal> debitsByUser,
+                                    Map<Long, BigDecimal> withdrawalsByUser) {
+        List<Object[]> walletRows = new ArrayList<>(debitsByUser.size());
+        debitsByUser.forEach((userId, debit) -> walletRows.add(new Object[]{debit, debit, userId, currency}));
+
+        int[] walletCounts = jdbcTemplate.batchUpdate(
+                "UPDATE user_wallets SET balance = balance - ?, locked_amount = locked_amount - ?, " +
+                        "version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE user_id = ? AND currency = ?",
+                walletRows);
+        for (int count : walletCounts) {
+            if (count == 0) {
+                throw new IllegalStateException("Wallet missing while settling " + currency + " withdrawals");
+            }
+        }
 
-        log.info("Balance locked for user {} currency {}: {}", userId, currency, amount);
+        List<Object[]> accountRows = new ArrayList<>(withdrawalsByUser.size());
+        withdrawalsByUser.forEach((userId, amount) -> accountRows.add(new Object[]{amount, userId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE user_accounts SET total_withdrawals = total_withdrawals + ?, " +
+                        "updated_at = CURRENT_TIMESTAMP WHERE user_id = ?",
+                accountRows);
+
+        // The rows are locked until commit, so these are the versions this update wrote
+        Map<Long, Map<String, Long>> versionsByUser = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT user_id, version FROM user_wallets WHERE currency = ? AND user_id = ANY(?)");
+            ps.setString(1, currency);
+            ps.setArray(2, con.createArrayOf("int8", debitsByUser.keySet().toArray(Long[]::new)));
+            return ps;
+        }, rs -> {
+            versionsByUser.put(rs.getLong(1), Map.of(currency, rs.getLong(2)));
+        });
+        afterCommit(() -> cacheManager.tombstoneBalances(versionsByUser, BALANCE_CACHE_TTL_MINUTES));
+
+        log.info("Debited locked {} balances for {} users", currency, debitsByUser.size());
     }
 
-    @Transactional
-    public void unlockBalance(Long userId, String currency, BigDecimal amount) {
-        UserWallet wallet = getWallet(userId, currency);
-        wallet.unlock(amount);
-        walletRepository.save(wallet);
-        cacheManager.clearBalance(userId, currency);
+    /**
+     * Write the wallet through to the cache once the transaction commits. The flush at commit has
+     * bumped the wallet's {@code @Version} by then, and the cache only accepts it if no newer
+     * version is stored, so out-of-order commits cannot leave an older balance cached.
+     */
+    private void cacheWalletAfterCommit(UserWallet wallet) {
+        afterCommit(() -> {
+            try {
+                cacheManager.setBalance(wallet.getUserId(), wallet.getCurrency(), wallet,
+                        wallet.getVersion(), BALANCE_CACHE_TTL_MINUTES);
+            } catch (Exception e) {
+                // The commit succeeded; fall back to invalidation, and to the TTL if Redis is unreachable
+                log.warn("Balance write-through failed for user {} currency {}: {}",
+                        wallet.getUserId(), wallet.getCurrency(), e.getMessage());
+                try {
+                    cacheManager.tombstoneBalance(wallet.getUserId(), wallet.getCurrency(),
+                            wallet.getVersion(), BALANCE_CACHE_TTL_MINUTES);
+                } catch (Exception clearFailure) {
+                    log.warn("Balance invalidation failed for user {} currency {}: {}",
+                            wallet.getUserId(), wallet.getCurrency(), clearFailure.getMessage());
+                }
+            }
+        });
+    }
 
-        log.info("Balance unlocked for user {} currency {}: {}", userId, currency, amount);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
-
@@ -0,0 +1,97 @@
+package org.william.cex.domain.withdrawal.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "withdrawals", indexes = {
+        @Index(name = "idx_withdrawals_user_id", columnList = "user_id"),
+        @Index(name = "idx_withdrawals_status_currency", columnList = "status,currency,id"),
+        @Index(name = "idx_withdrawals_batch_id", columnList = "batch_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Withdrawal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private BigDecimal fee;
+
+    @Column(nullable = false)
+    private String destinationAddress;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WithdrawalStatus status;
+
+    /**
+     * Batch the withdrawal was claimed into; the broadcaster's idempotency key
+     */
+    @Column(length = 64)
+    private String batchId;
+
+    private String txHash;
+
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (fee == null) {
+            fee = BigDecimal.ZERO;
+        }
+        if (status == null) {
+            status = WithdrawalStatus.PENDING;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum WithdrawalStatus {
+        PENDING, APPROVED, PROCESSING, COMPLETED, REJECTED, CANCELLED
+    }
+
+    /**
+     * Whether the withdrawal can still be rejected or cancelled, releasing its locked funds
+     */
+    public boolean isReleasable() {
+        return status == WithdrawalStatus.PENDING || status == WithdrawalStatus.APPROVED;
+    }
+
+    /**
+     * Amount debited from the wallet: the payout plus the withdrawal fee
+     */
+    public BigDecimal getTotalDebit() {
+        return amount.add(fee);
+    }
+}
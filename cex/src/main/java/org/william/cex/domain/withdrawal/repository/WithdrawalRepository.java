@@ -0,0 +1,51 @@
+package org.william.cex.domain.withdrawal.repository;
+
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.william.cex.domain.withdrawal.entity.Withdrawal;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WithdrawalRepository extends JpaRepository<Withdrawal, Long> {
+    List<Withdrawal> findByUserId(Long userId, Pageable pageable);
+
+    List<Withdrawal> findByBatchIdOrderById(String batchId);
+
+    @Query("SELECT DISTINCT w.currency FROM Withdrawal w WHERE w.status IN :statuses")
+    List<String> findCurrenciesByStatusIn(Collection<Withdrawal.WithdrawalStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Withdrawal w WHERE w.id = :id")
+    Optional<Withdrawal> findByIdForUpdate(Long id);
+
+    /**
+     * Claim the next batch of approved withdrawals for a currency. SKIP LOCKED lets
+     * several processor nodes drain the queue without handing out the same rows twice.
+     */
+    @Query(value = "SELECT * FROM withdrawals WHERE status = 'APPROVED' AND currency = :currency " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Withdrawal> lockApprovedBatch(String currency, int limit);
+
+    /**
+     * Lock the withdrawals of a claimed batch that are still waiting for their payout to be recorded
+     */
+    @Query(value = "SELECT * FROM withdrawals WHERE batch_id = :batchId AND status = 'PROCESSING' " +
+            "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Withdrawal> lockProcessingBatch(String batchId);
+
+    /**
+     * Batches claimed before the given time and never completed, e.g. because the processor died
+     * between the broadcast and recording it
+     */
+    @Query(value = "SELECT DISTINCT batch_id FROM withdrawals WHERE status = 'PROCESSING' AND currency = :currency " +
+            "AND updated_at < :claimedBefore", nativeQuery = true)
+    List<String> findStaleBatchIds(String currency, LocalDateTime claimedBefore);
+}
@@ -0,0 +1,45 @@
+package org.william.cex.domain.withdrawal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the queue of approved withdrawals, one batch per currency at a time.
+ * Throughput is tuned with {@code withdrawal.processor.batch-size}: every batch
+ * costs one broadcast and one JDBC batch per table regardless of its size. Batches left
+ * PROCESSING by a failed run are finished first, after {@code withdrawal.processor.resume-after-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "withdrawal.processor.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WithdrawalProcessor {
+
+    @Autowired
+    private WithdrawalService withdrawalService;
+
+    @Value("${withdrawal.processor.batch-size:100}")
+    private int batchSize;
+
+    @Value("${withdrawal.processor.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${withdrawal.processor.interval-ms:1000}")
+    public void processApprovedWithdrawals() {
+        for (String currency : withdrawalService.getCurrenciesAwaitingProcessing()) {
+            try {
+                withdrawalService.resumeStaleBatches(currency);
+                for (int i = 0; i < maxBatchesPerRun; i++) {
+                    if (withdrawalService.processBatch(currency, batchSize) < batchSize) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to process {} withdrawal batch, will retry", currency, e);
+            }
+        }
+    }
+}
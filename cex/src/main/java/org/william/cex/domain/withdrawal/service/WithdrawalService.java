@@ -0,0 +1,232 @@
+package org.william.cex.domain.withdrawal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.william.cex.api.exception.InvalidWithdrawalException;
+import org.william.cex.domain.fee.service.FeeService;
+import org.william.cex.domain.user.service.UserService;
+import org.william.cex.domain.withdrawal.entity.Withdrawal;
+import org.william.cex.domain.withdrawal.repository.WithdrawalRepository;
+import org.william.cex.infrastructure.chain.ChainBroadcaster;
+import org.william.cex.infrastructure.chain.PayoutInstruction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class WithdrawalService {
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private ChainBroadcaster chainBroadcaster;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${withdrawal.fee-percentage:0.0005}")
+    private BigDecimal withdrawalFeePercentage;
+
+    @Value("${withdrawal.processor.resume-after-ms:60000}")
+    private long resumeAfterMs;
+
+    /**
+     * Request a withdrawal. The payout plus fee is locked immediately and released
+     * from the wallet once the withdrawal is processed in a batch.
+     */
+    @Transactional
+    public Withdrawal requestWithdrawal(Long userId, String currency, BigDecimal amount, String destinationAddress) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidWithdrawalException("Amount must be greater than 0");
+        }
+
+        BigDecimal fee = amount.multiply(withdrawalFeePercentage).setScale(8, RoundingMode.HALF_UP);
+        userService.lockBalance(userId, currency, amount.add(fee));
+
+        Withdrawal withdrawal = Withdrawal.builder()
+                .userId(userId)
+                .currency(currency)
+                .amount(amount)
+                .fee(fee)
+                .destinationAddress(destinationAddress)
+                .status(Withdrawal.WithdrawalStatus.PENDING)
+                .build();
+
+        withdrawal = withdrawalRepository.save(withdrawal);
+        log.info("Withdrawal requested: {} for user {}: {} {} (fee {})", withdrawal.getId(), userId, amount, currency, fee);
+        return withdrawal;
+    }
+
+    public Withdrawal getWithdrawal(Long withdrawalId) {
+        return withdrawalRepository.findById(withdrawalId)
+                .orElseThrow(() -> new InvalidWithdrawalException("Withdrawal not found: " + withdrawalId));
+    }
+
+    @Transactional
+    public Withdrawal approveWithdrawal(Long withdrawalId) {
+        Withdrawal withdrawal = getWithdrawal(withdrawalId);
+
+        if (withdrawal.getStatus() != Withdrawal.WithdrawalStatus.PENDING) {
+            throw new InvalidWithdrawalException("Only pending withdrawals can be approved");
+        }
+
+        withdrawal.setStatus(Withdrawal.WithdrawalStatus.APPROVED);
+        withdrawal = withdrawalRepository.save(withdrawal);
+        log.info("Withdrawal approved: {}", withdrawalId);
+        return withdrawal;
+    }
+
+    /**
+     * Reject a withdrawal that has not been claimed for payout yet, releasing its locked funds
+     */
+    @Transactional
+    public Withdrawal rejectWithdrawal(Long withdrawalId) {
+        return release(withdrawalId, Withdrawal.WithdrawalStatus.REJECTED);
+    }
+
+    /**
+     * Cancel the user's own withdrawal while it is still pending, releasing its locked funds
+     */
+    @Transactional
+    public Withdrawal cancelWithdrawal(Long withdrawalId, Long userId) {
+        Withdrawal withdrawal = getWithdrawal(withdrawalId);
+        if (!withdrawal.getUserId().equals(userId)) {
+            throw new InvalidWithdrawalException("Withdrawal not found: " + withdrawalId);
+        }
+        if (withdrawal.getStatus() != Withdrawal.WithdrawalStatus.PENDING) {
+            throw new InvalidWithdrawalException("Only pending withdrawals can be cancelled");
+        }
+        return release(withdrawalId, Withdrawal.WithdrawalStatus.CANCELLED);
+    }
+
+    /**
+     * Move a withdrawal to a final status without paying it out. The row lock keeps the processor
+     * from claiming it at the same time.
+     */
+    private Withdrawal release(Long withdrawalId, Withdrawal.WithdrawalStatus status) {
+        Withdrawal withdrawal = withdrawalRepository.findByIdForUpdate(withdrawalId)
+                .orElseThrow(() -> new InvalidWithdrawalException("Withdrawal not found: " + withdrawalId));
+        if (!withdrawal.isReleasable()) {
+            throw new InvalidWithdrawalException("Withdrawal " + withdrawalId + " is " + withdrawal.getStatus());
+        }
+
+        userService.unlockBalance(withdrawal.getUserId(), withdrawal.getCurrency(), withdrawal.getTotalDebit());
+        withdrawal.setStatus(status);
+        withdrawal = withdrawalRepository.save(withdrawal);
+        log.info("Withdrawal {} {}, released {} {}", withdrawalId, status, withdrawal.getTotalDebit(), withdrawal.getCurrency());
+        return withdrawal;
+    }
+
+    public List<String> getCurrenciesAwaitingProcessing() {
+        return withdrawalRepository.findCurrenciesByStatusIn(
+                List.of(Withdrawal.WithdrawalStatus.APPROVED, Withdrawal.WithdrawalStatus.PROCESSING));
+    }
+
+    /**
+     * Finish batches claimed more than {@code withdrawal.processor.resume-after-ms} ago that never
+     * completed. The broadcaster returns the original transaction for a known batch id, so resuming
+     * cannot pay out twice.
+     * @return number of withdrawals completed
+     */
+    public int resumeStaleBatches(String currency) {
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(Duration.ofMillis(resumeAfterMs));
+        int completed = 0;
+        for (String batchId : withdrawalRepository.findStaleBatchIds(currency, claimedBefore)) {
+            log.warn("Resuming {} withdrawal batch {} claimed before {}", currency, batchId, claimedBefore);
+            completed += broadcastAndComplete(currency, batchId);
+        }
+        return completed;
+    }
+
+    /**
+     * Process the next batch of approved withdrawals for a currency in three steps, so a failure
+     * never leads to a second payout:
+     * <ol>
+     *     <li>claim the batch: mark it PROCESSING under a new batch id and commit</li>
+     *     <li>broadcast one payout transaction outside any transaction, keyed by the batch id</li>
+     *     <li>record the tx hash, debit every wallet and record every fee in bulk, in a second transaction</li>
+     * </ol>
+     * If step 2 or 3 fails the batch stays PROCESSING and {@link #resumeStaleBatches} finishes it.
+     * @param currency currency to process
+     * @param batchSize maximum number of withdrawals in the batch
+     * @return number of withdrawals processed
+     */
+    public int processBatch(String currency, int batchSize) {
+        String batchId = transactionTemplate.execute(status -> claimBatch(currency, batchSize));
+        if (batchId == null) {
+            return 0;
+        }
+        return broadcastAndComplete(currency, batchId);
+    }
+
+    private String claimBatch(String currency, int batchSize) {
+        List<Withdrawal> batch = withdrawalRepository.lockApprovedBatch(currency, batchSize);
+        if (batch.isEmpty()) {
+            return null;
+        }
+        String batchId = UUID.randomUUID().toString();
+        for (Withdrawal withdrawal : batch) {
+            withdrawal.setStatus(Withdrawal.WithdrawalStatus.PROCESSING);
+            withdrawal.setBatchId(batchId);
+        }
+        withdrawalRepository.saveAll(batch);
+        log.info("Claimed {} {} withdrawals as batch {}", batch.size(), currency, batchId);
+        return batchId;
+    }
+
+    private int broadcastAndComplete(String currency, String batchId) {
+        List<PayoutInstruction> payouts = withdrawalRepository.findByBatchIdOrderById(batchId).stream()
+                .map(w -> new PayoutInstruction(w.getId(), w.getDestinationAddress(), w.getAmount()))
+                .toList();
+        String txHash = chainBroadcaster.broadcast(currency, batchId, payouts);
+        return transactionTemplate.execute(status -> completeBatch(currency, batchId, txHash));
+    }
+
+    private int completeBatch(String currency, String batchId, String txHash) {
+        List<Withdrawal> batch = withdrawalRepository.lockProcessingBatch(batchId);
+        if (batch.isEmpty()) {
+            // Another node recorded it first
+            return 0;
+        }
+
+        Map<Long, BigDecimal> debitsByUser = new LinkedHashMap<>();
+        Map<Long, BigDecimal> withdrawalsByUser = new LinkedHashMap<>();
+        Map<Long, BigDecimal> feesByWithdrawal = new LinkedHashMap<>();
+        LocalDateTime processedAt = LocalDateTime.now();
+
+        for (Withdrawal withdrawal : batch) {
+            debitsByUser.merge(withdrawal.getUserId(), withdrawal.getTotalDebit(), BigDecimal::add);
+            withdrawalsByUser.merge(withdrawal.getUserId(), withdrawal.getAmount(), BigDecimal::add);
+            feesByWithdrawal.put(withdrawal.getId(), withdrawal.getFee());
+
+            withdrawal.setStatus(Withdrawal.WithdrawalStatus.COMPLETED);
+            withdrawal.setTxHash(txHash);
+            withdrawal.setProcessedAt(processedAt);
+        }
+
+        userService.debitLockedBalances(currency, debitsByUser, withdrawalsByUser);
+        feeService.recordWithdrawalFees(feesByWithdrawal);
+        withdrawalRepository.saveAll(batch);
+
+        log.info("Processed {} {} withdrawals of batch {} in tx {}", batch.size(), currency, batchId, txHash);
+        return batch.size();
+    }
+}
@@ -0,0 +1,186 @@
+package org.william.cex.infrastructure.archive;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Compressed columnar file holding the rows archived in one batch. Each table is stored column by
+ * column and every column is gzipped on its own, so a reader decompresses only the columns it asks
+ * for; the archive index reads just the order ids. Layout:
+ * <pre>
+ * "CEXSEG01"
+ * int tableCount
+ * per table:  UTF name, int rowCount, int columnCount
+ * per column: UTF name, byte type, int length, gzipped values
+ * </pre>
+ * Each value is a presence byte followed, when present, by a long ({@code LONG}), length-prefixed
+ * UTF-8 ({@code DECIMAL} as plain string, {@code TEXT}) or epoch seconds and nanos of the zoneless
+ * timestamp ({@code TIMESTAMP}).
+ */
+final class ColumnarSegment {
+
+    static final String EXTENSION = ".cxs";
+    static final String TEMP_SUFFIX = ".tmp";
+    private static final byte[] MAGIC = "CEXSEG01".getBytes(StandardCharsets.US_ASCII);
+
+    enum Type {
+        LONG, DECIMAL, TEXT, TIMESTAMP
+    }
+
+    record Column(String name, Type type) {
+    }
+
+    record Table(String name, List<Column> columns, List<Object[]> rows) {
+    }
+
+    private ColumnarSegment() {
+    }
+
+    /**
+     * Writes the tables to a temporary file, forces it to disk and moves it into place, so a segment
+     * is either complete or absent. The directory is forced after the move too: the caller deletes
+     * the rows once this returns, so the rename must survive a crash.
+     */
+    static void write(Path file, List<Table> tables) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp, CREATE, TRUNCATE_EXISTING, WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.write(MAGIC);
+            out.writeInt(tables.size());
+            for (Table table : tables) {
+                out.writeUTF(table.name());
+                out.writeInt(table.rows().size());
+                out.writeInt(table.columns().size());
+                for (int c = 0; c < table.columns().size(); c++) {
+                    Column column = table.columns().get(c);
+                    byte[] values = compress(column.type(), table.rows(), c);
+                    out.writeUTF(column.name());
+                    out.writeByte(column.type().ordinal());
+                    out.writeInt(values.length);
+                    out.write(values);
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, ATOMIC_MOVE);
+        forceDirectory(file.getParent());
+    }
+
+    /**
+     * Flushes the directory entry. Windows cannot open a directory as a channel; NTFS journals
+     * the rename itself.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the given columns of one table, skipping every other column without decompressing it
+     *
+     * @return values by column name, each array holding one value per row
+     */
+    static Map<String, Object[]> read(Path file, String table, Set<String> columns) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            int tableCount = in.readInt();
+            for (int t = 0; t < tableCount; t++) {
+                boolean wanted = in.readUTF().equals(table);
+                int rowCount = in.readInt();
+                int columnCount = in.readInt();
+                Map<String, Object[]> values = new HashMap<>();
+                for (int c = 0; c < columnCount; c++) {
+                    String name = in.readUTF();
+                    Type type = Type.values()[in.readByte()];
+                    int length = in.readInt();
+                    if (wanted && columns.contains(name)) {
+                        values.put(name, decompress(type, in.readNBytes(length), rowCount));
+                    } else {
+                        in.skipNBytes(length);
+                    }
+                }
+                if (wanted) {
+                    return values;
+                }
+            }
+        }
+        throw new IOException("No table " + table + " in " + file);
+    }
+
+    private static byte[] compress(Type type, List<Object[]> rows, int column) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            for (Object[] row : rows) {
+                Object value = row[column];
+                out.writeBoolean(value != null);
+                if (value == null) {
+                    continue;
+                }
+                switch (type) {
+                    case LONG -> out.writeLong(((Number) value).longValue());
+                    case DECIMAL -> writeString(out, ((BigDecimal) value).toPlainString());
+                    case TEXT -> writeString(out, value.toString());
+                    case TIMESTAMP -> {
+                        LocalDateTime time = value instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+                        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+                        out.writeInt(time.getNano());
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object[] decompress(Type type, byte[] bytes, int rowCount) throws IOException {
+        Object[] values = new Object[rowCount];
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+            for (int row = 0; row < rowCount; row++) {
+                if (!in.readBoolean()) {
+                    continue;
+                }
+                values[row] = switch (type) {
+                    case LONG -> in.readLong();
+                    case DECIMAL -> new BigDecimal(readString(in));
+                    case TEXT -> readString(in);
+                    case TIMESTAMP -> LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                };
+            }
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package org.william.cex.infrastructure.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Column;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Table;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Moves closed (FILLED or CANCELLED) orders untouched for {@code order-archive.after-days}, with their
+ * order events and trades, out of the database into {@link ColumnarSegment} files, keeping
+ * {@code orders} and {@code idx_orders_status} down to live orders. {@link OrderArchive} serves the
+ * archived orders back to {@code GET /v1/orders/{id}}.
+ * <p>
+ * Each batch of up to {@code order-archive.batch-size} orders is one transaction: the orders are
+ * locked, the segment is written and forced to disk, then the rows are deleted. The segment is
+ * indexed once the delete commits and removed if it rolls back. A trade is archived with whichever
+ * of its orders goes first, so an order whose counterparty is still live stays in the table.
+ * An advisory lock keeps archival to one node at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "order-archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderArchivalJob {
+
+    private static final long ADVISORY_LOCK_KEY = 0x6365784F72644172L;
+
+    /**
+     * Closed orders past the cutoff whose trades all have a counterparty past it too
+     */
+    private static final String SELECT_ORDERS =
+            "SELECT id, user_id, order_type, base_currency, quote_currency, amount, price, filled_amount, " +
+            "status, created_at, updated_at FROM orders o " +
+            "WHERE o.status IN ('FILLED', 'CANCELLED') AND o.updated_at < CURRENT_TIMESTAMP - make_interval(days => ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM trades t JOIN orders other " +
+            "ON other.id = CASE WHEN t.buy_order_id = o.id THEN t.sell_order_id ELSE t.buy_order_id END " +
+            "WHERE (t.buy_order_id = o.id OR t.sell_order_id = o.id) " +
+            "AND NOT (other.status IN ('FILLED', 'CANCELLED') AND other.updated_at < CURRENT_TIMESTAMP - make_interval(days => ?))) " +
+            "ORDER BY id LIMIT ? FOR UPDATE OF o SKIP LOCKED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Value("${order-archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${order-archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${order-archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    /**
+     * Archives batches until none is full or the per-run limit is reached
+     *
+     * @return number of orders archived
+     */
+    @Scheduled(cron = "${order-archive.cron:0 45 0 * * *}")
+    public int archive() {
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer count = transactionTemplate.execute(status -> archiveBatch());
+                archived += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Order archival failed, will retry on the next run", e);
+        }
+        if (archived > 0) {
+            log.info("Archived {} closed orders older than {} days to {}", archived, afterDays, orderArchive.directory());
+        }
+        return archived;
+    }
+
+    private int archiveBatch() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Order archival is running on another node");
+            return 0;
+        }
+
+        List<Object[]> orders = jdbcTemplate.query(SELECT_ORDERS, rowMapper(OrderArchive.ORDER_COLUMNS),
+                afterDays, afterDays, batchSize);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        Long[] orderIds = orders.stream().map(row -> (Long) row[0]).toArray(Long[]::new);
+
+        List<Object[]> events = queryByOrderIds(
+                "SELECT " + OrderArchive.EVENT_SELECT + " FROM order_events WHERE order_id = ANY(?) ORDER BY id",
+                orderIds, OrderArchive.EVENT_COLUMNS);
+        List<Object[]> trades = queryByOrderIds(
+                "SELECT " + OrderArchive.TRADE_SELECT + " FROM trades WHERE buy_order_id = ANY(?) OR sell_order_id = ANY(?) " +
+                "ORDER BY id", orderIds, OrderArchive.TRADE_COLUMNS);
+
+        Path segment = orderArchive.directory().resolve(String.format("orders-%013d-%d%s",
+                System.currentTimeMillis(), orderIds[0], ColumnarSegment.EXTENSION));
+        try {
+            ColumnarSegment.write(segment, List.of(
+                    new Table(OrderArchive.ORDERS, OrderArchive.ORDER_COLUMNS, orders),
+                    new Table("order_events", OrderArchive.EVENT_COLUMNS, events),
+                    new Table("trades", OrderArchive.TRADE_COLUMNS, trades)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order archive segment " + segment, e);
+        }
+
+        long[] indexedIds = orders.stream().mapToLong(row -> (Long) row[0]).toArray();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    orderArchive.register(segment, indexedIds);
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    log.warn("Failed to remove segment {} of a rolled back archival: {}", segment, e.getMessage());
+                }
+            }
+        });
+
+        updateByOrderIds("DELETE FROM trades WHERE buy_order_id = ANY(?) OR sell_order_id = ANY(?)", orderIds);
+        updateByOrderIds("DELETE FROM order_events WHERE order_id = ANY(?)", orderIds);
+        updateByOrderIds("DELETE FROM orders WHERE id = ANY(?)", orderIds);
+
+        log.debug("Archived {} orders, {} events and {} trades to {}", orders.size(), events.size(), trades.size(), segment);
+        return orders.size();
+    }
+
+    private List<Object[]> queryByOrderIds(String sql, Long[] orderIds, List<Column> columns) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindOrderIds(statement, sql, orderIds);
+            return statement;
+        }, rowMapper(columns));
+    }
+
+    private void updateByOrderIds(String sql, Long[] orderIds) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindOrderIds(statement, sql, orderIds);
+            return statement;
+        });
+    }
+
+    /**
+     * Binds the ids as an array to every parameter of the statement
+     */
+    private static void bindOrderIds(PreparedStatement statement, String sql, Long[] orderIds) throws SQLException {
+        Array array = statement.getConnection().createArrayOf("bigint", orderIds);
+        long parameters = sql.chars().filter(ch -> ch == '?').count();
+        for (int i = 1; i <= parameters; i++) {
+            statement.setArray(i, array);
+        }
+    }
+
+    static RowMapper<Object[]> rowMapper(List<Column> columns) {
+        return (rs, rowNum) -> {
+            Object[] row = new Object[columns.size()];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = rs.getObject(columns.get(c).name());
+            }
+            return row;
+        };
+    }
+}
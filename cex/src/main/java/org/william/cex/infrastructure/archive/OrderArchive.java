@@ -0,0 +1,245 @@
+package org.william.cex.infrastructure.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.william.cex.domain.order.entity.Order;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Column;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the order archive: closed orders moved out of {@code orders} by {@link OrderArchivalJob}
+ * into {@link ColumnarSegment} files under {@code order-archive.directory}.
+ * <p>
+ * The lookup index holds each segment's sorted order ids in memory (8 bytes per archived order),
+ * loaded from the id column alone at startup. A lookup binary-searches the segments, newest first,
+ * then decompresses only the orders table of the one segment that holds the id. Nodes sharing the
+ * directory pick up segments written elsewhere by rescanning it on a miss, at most once per
+ * {@code order-archive.rescan-interval-ms}. Only one lookup rescans at a time; misses arriving
+ * during a rescan return without waiting for it.
+ */
+@Component
+@Slf4j
+public class OrderArchive {
+
+    static final String ORDERS = "orders";
+    static final List<Column> ORDER_COLUMNS = List.of(
+            new Column("id", Type.LONG),
+            new Column("user_id", Type.LONG),
+            new Column("order_type", Type.TEXT),
+            new Column("base_currency", Type.TEXT),
+            new Column("quote_currency", Type.TEXT),
+            new Column("amount", Type.DECIMAL),
+            new Column("price", Type.DECIMAL),
+            new Column("filled_amount", Type.DECIMAL),
+            new Column("status", Type.TEXT),
+            new Column("created_at", Type.TIMESTAMP),
+            new Column("updated_at", Type.TIMESTAMP));
+    static final List<Column> EVENT_COLUMNS = List.of(
+            new Column("id", Type.LONG),
+            new Column("order_id", Type.LONG),
+            new Column("event_type", Type.TEXT),
+            new Column("details", Type.TEXT),
+            new Column("created_at", Type.TIMESTAMP));
+    static final String EVENT_SELECT = "id, order_id, event_type, details::TEXT AS details, created_at";
+    static final List<Column> TRADE_COLUMNS = List.of(
+            new Column("id", Type.LONG),
+            new Column("buy_order_id", Type.LONG),
+            new Column("sell_order_id", Type.LONG),
+            new Column("amount", Type.DECIMAL),
+            new Column("price", Type.DECIMAL),
+            new Column("settlement_status", Type.TEXT),
+            new Column("settled_at", Type.TIMESTAMP),
+            new Column("created_at", Type.TIMESTAMP));
+    static final String TRADE_SELECT = "id, buy_order_id, sell_order_id, amount, price, settlement_status, settled_at, created_at";
+    private static final Set<String> ORDER_COLUMN_NAMES = new HashSet<>(ORDER_COLUMNS.stream().map(Column::name).toList());
+
+    /**
+     * Segment files written this long ago and never moved into place belong to a crashed archival
+     */
+    private static final Duration STALE_TEMP_FILE_AGE = Duration.ofHours(1);
+
+    @Value("${order-archive.directory:}")
+    private String configuredDirectory;
+
+    private Path directory;
+
+    @Value("${order-archive.rescan-interval-ms:10000}")
+    private long rescanIntervalMs;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Set<Path> indexed = new HashSet<>();
+    private final ReentrantLock scanLock = new ReentrantLock();
+    private volatile long lastScan;
+
+    private record Segment(Path file, long[] orderIds) {
+    }
+
+    /**
+     * Archived orders exist only in this directory once their rows are deleted, so it has to be set
+     * explicitly and must not be a temporary directory that is cleared on reboot
+     */
+    @PostConstruct
+    void load() throws IOException {
+        if (!StringUtils.hasText(configuredDirectory)) {
+            throw new IllegalStateException("order-archive.directory must be set to a durable directory; " +
+                    "archived orders are deleted from the database and kept only there");
+        }
+        directory = Path.of(configuredDirectory).toAbsolutePath().normalize();
+        if (directory.startsWith(Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize())) {
+            throw new IllegalStateException("order-archive.directory " + directory +
+                    " is under the temporary directory, which is not durable");
+        }
+        Files.createDirectories(directory);
+        deleteStaleTempFiles();
+        scanLock.lock();
+        try {
+            scan();
+        } finally {
+            scanLock.unlock();
+        }
+        log.info("Order archive at {}: {} segments, {} orders", directory, segments.size(), size());
+    }
+
+    /**
+     * Looks up an archived order
+     *
+     * @throws UncheckedIOException if the segment holding the order cannot be read
+     */
+    public Optional<Order> findOrder(long orderId) {
+        Optional<Order> order = lookup(orderId);
+        if (order.isEmpty() && rescanDue() && scanLock.tryLock()) {
+            try {
+                // Another lookup may have finished a rescan between the check and the lock
+                if (rescanDue()) {
+                    scan();
+                }
+            } finally {
+                scanLock.unlock();
+            }
+            order = lookup(orderId);
+        }
+        return order;
+    }
+
+    /**
+     * Number of orders in the index; an order archived again after a failed commit counts twice
+     */
+    public long size() {
+        return segments.stream().mapToLong(segment -> segment.orderIds().length).sum();
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * Adds a segment written by this node, once its rows are deleted from the database
+     *
+     * @param orderIds ids in ascending order, as written
+     */
+    void register(Path file, long[] orderIds) {
+        scanLock.lock();
+        try {
+            index(file, orderIds);
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private boolean rescanDue() {
+        return System.currentTimeMillis() - lastScan >= rescanIntervalMs;
+    }
+
+    private void index(Path file, long[] orderIds) {
+        if (indexed.add(file)) {
+            segments.add(new Segment(file, orderIds));
+        }
+    }
+
+    private void deleteStaleTempFiles() throws IOException {
+        FileTime staleBefore = FileTime.from(Instant.now().minus(STALE_TEMP_FILE_AGE));
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : listing.filter(file -> file.getFileName().toString().endsWith(ColumnarSegment.TEMP_SUFFIX)).toList()) {
+                if (Files.getLastModifiedTime(file).compareTo(staleBefore) < 0) {
+                    Files.deleteIfExists(file);
+                    log.warn("Deleted incomplete order archive segment {}", file);
+                }
+            }
+        }
+    }
+
+    private Optional<Order> lookup(long orderId) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            int row = Arrays.binarySearch(segment.orderIds(), orderId);
+            if (row >= 0) {
+                try {
+                    return Optional.of(toOrder(ColumnarSegment.read(segment.file(), ORDERS, ORDER_COLUMN_NAMES), row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read archived order " + orderId + " from " + segment.file(), e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indexes segment files not yet in the index. Names start with the archival time, so name order
+     * is the order they were written in. Called holding {@code scanLock}, a {@link ReentrantLock}
+     * rather than the monitor so virtual threads stay unpinned while it lists and decompresses.
+     */
+    private void scan() {
+        lastScan = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(ColumnarSegment.EXTENSION))
+                    .filter(file -> !indexed.contains(file))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("Failed to list order archive {}", directory, e);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                Object[] ids = ColumnarSegment.read(file, ORDERS, Set.of("id")).get("id");
+                index(file, Arrays.stream(ids).mapToLong(id -> (Long) id).toArray());
+            } catch (IOException e) {
+                log.error("Skipping unreadable order archive segment {}", file, e);
+            }
+        }
+    }
+
+    private static Order toOrder(Map<String, Object[]> columns, int row) {
+        return Order.builder()
+                .id((Long) columns.get("id")[row])
+                .userId((Long) columns.get("user_id")[row])
+                .orderType(Order.OrderType.valueOf((String) columns.get("order_type")[row]))
+                .baseCurrency((String) columns.get("base_currency")[row])
+                .quoteCurrency((String) columns.get("quote_currency")[row])
+                .amount((BigDecimal) columns.get("amount")[row])
+                .price((BigDecimal) columns.get("price")[row])
+                .filledAmount((BigDecimal) columns.get("filled_amount")[row])
+                .status(Order.OrderStatus.valueOf((String) columns.get("status")[row]))
+                .createdAt((LocalDateTime) columns.get("created_at")[row])
+                .updatedAt((LocalDateTime) columns.get("updated_at")[row])
+                .build();
+    }
+}
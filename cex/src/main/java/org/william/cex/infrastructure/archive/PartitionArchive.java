@@ -0,0 +1,86 @@
+package org.william.cex.infrastructure.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Column;
+import org.william.cex.infrastructure.archive.ColumnarSegment.Table;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports partitions of {@code order_events} and {@code trades} detached by the partition maintenance
+ * job to {@link ColumnarSegment} files under {@code <order-archive.directory>/partitions}, before the
+ * partition is dropped. Rows are read in id order, {@code partition.archive.chunk-rows} at a time,
+ * one segment file per chunk ({@code <partition>-NNNNN.cxs}), so a month of rows never has to fit in
+ * memory. Chunk names are deterministic, so an export repeated after a failure overwrites its own files.
+ */
+@Component
+@Slf4j
+public class PartitionArchive {
+
+    static final String SUBDIRECTORY = "partitions";
+
+    private record Layout(String select, List<Column> columns) {
+    }
+
+    private static final Map<String, Layout> LAYOUTS = Map.of(
+            "order_events", new Layout(OrderArchive.EVENT_SELECT, OrderArchive.EVENT_COLUMNS),
+            "trades", new Layout(OrderArchive.TRADE_SELECT, OrderArchive.TRADE_COLUMNS));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Value("${partition.archive.chunk-rows:100000}")
+    private int chunkRows;
+
+    /**
+     * Writes every row of a detached partition to segment files, forced to disk before this returns
+     *
+     * @param parentTable table the partition was detached from
+     * @param partition   detached partition; the name must come from the catalog
+     * @return number of rows exported
+     */
+    public long export(String parentTable, String partition) {
+        Layout layout = LAYOUTS.get(parentTable);
+        if (layout == null) {
+            throw new IllegalArgumentException("No archive layout for " + parentTable);
+        }
+        Path directory = orderArchive.directory().resolve(SUBDIRECTORY);
+        String sql = "SELECT " + layout.select() + " FROM " + partition + " WHERE id > ? ORDER BY id LIMIT ?";
+
+        long exported = 0;
+        long lastId = Long.MIN_VALUE;
+        try {
+            Files.createDirectories(directory);
+            for (int chunk = 0; ; chunk++) {
+                List<Object[]> rows = jdbcTemplate.query(sql, OrderArchivalJob.rowMapper(layout.columns()), lastId, chunkRows);
+                if (rows.isEmpty() && chunk > 0) {
+                    break;
+                }
+                // An empty partition still leaves one empty segment, as a record that it was archived
+                ColumnarSegment.write(directory.resolve(String.format("%s-%05d%s", partition, chunk, ColumnarSegment.EXTENSION)),
+                        List.of(new Table(parentTable, layout.columns(), rows)));
+                exported += rows.size();
+                if (rows.size() < chunkRows) {
+                    break;
+                }
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export partition " + partition, e);
+        }
+        log.info("Exported {} rows of detached partition {} to {}", exported, partition, directory);
+        return exported;
+    }
+}
@@ -1,83 +1,804 @@
 package org.william.cex.infrastructure.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
+import org.william.cex.infrastructure.cache.CacheMetrics.RedisCommand;
+import org.william.cex.infrastructure.cache.CacheMetrics.Tier;
+import org.william.cex.infrastructure.cache.serialization.CompactRedisSerializer;
+import org.william.cex.infrastructure.diagnostics.CacheLookupEvent;
+import reactor.core.publisher.Mono;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
+/**
+ * Two-tier cache: a bounded in-process Caffeine tier per region in front of Redis.
+ * Every write or eviction on one node is broadcast on {@link #INVALIDATION_CHANNEL}
+ * so the other nodes drop their near copies, keeping the tiers coherent across nodes.
+ * Near-cached values are shared instances and must be treated as read-only.
+ * <p>
+ * Region-wide invalidation never scans the keyspace: balance entries are tracked in a
+ * per-user index set and fee-rate entries in a region index set, both maintained in the
+ * same pipeline as the write, so invalidation cost is proportional to the entries affected.
+ * <p>
+ * Values are written in the format configured per region with {@code cache.serialization.<name>}
+ * ({@code binary} or {@code json}) and read with format detection, so a region can be switched
+ * without flushing entries written in the other format.
+ * <p>
+ * The {@code getOrLoad*} methods protect the database from stampedes: concurrent misses on
+ * one key share a single load, entries are refreshed in the background with probability
+ * rising as their TTL runs out (XFetch, scaled by the observed load time), and missing
+ * rows are remembered for a short negative TTL.
+ * <p>
+ * Balance entries are versioned hashes ({@code v} = wallet version, {@code d} = payload) written
+ * through with a compare-and-set script, so a write carrying an older version never replaces a
+ * newer one, whether it comes from a delayed write-through or a load that read a stale row. Bulk
+ * updates invalidate with version tombstones rather than DEL, so the version survives invalidation.
+ * <p>
+ * The {@code get*Reactive} methods read the near tier and Redis without blocking, over the reactive
+ * connection; they never load, so a miss completes empty and the caller falls back to the blocking path.
+ * <p>
+ * Hits, misses, load time, payload size and Redis latency are recorded per region by {@link CacheMetrics}.
+ */
 @Component
 @Slf4j
-public class CacheManager {
+public class CacheManager implements MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private static final String OP_KEYS = "K";
+    private static final String OP_PREFIX = "P";
+
+    /**
+     * Redis payload of a negative entry; neither the binary format nor JSON starts with a zero byte
+     */
+    private static final byte[] NEGATIVE_MARKER = {0};
+    private static final Object NULL_VALUE = new Object();
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
-    private static final String BALANCE_KEY = "balance:%d:%s";
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, byte[]> reactiveRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private CompactRedisSerializer compactRedisSerializer;
+
+    @Autowired
+    private GenericJackson2JsonRedisSerializer jsonRedisSerializer;
+
+    @Autowired
+    private CacheMetrics metrics;
+
+    private static final String BALANCE_KEY = "wallet:%d:%s";
     private static final String ORDER_KEY = "order:%d";
     private static final String FEE_RATE_KEY = "fee-rate:%s";
     private static final String IDEMPOTENCY_KEY = "idempotency:%s";
+    private static final String BALANCE_INDEX_KEY = "balance-index:%d";
+    private static final String FEE_RATE_INDEX_KEY = "fee-rate-index";
+
+    /**
+     * Index members deleted per DEL/SREM pair when clearing an index
+     */
+    private static final int CLEAR_INDEXED_BATCH = 500;
+
+    private static final String DATA_FIELD_NAME = "d";
+    private static final byte[] DATA_FIELD = DATA_FIELD_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final long NEGATIVE_VERSION = -1;
+
+    /**
+     * Store a versioned entry unless the stored version is newer, then refresh the TTL and, when
+     * an index key is given, add the entry to the index. Returns 1 when written, 0 when stale.
+     * KEYS: entry[, index]; ARGV: version, payload, ttl seconds
+     */
+    private static final RedisScript<Long> VERSIONED_SET_SCRIPT = RedisScript.of(
+            "local current = redis.call('HGET', KEYS[1], 'v') " +
+            "if current and tonumber(current) > tonumber(ARGV[1]) then " +
+            "  return 0 " +
+            "end " +
+            "redis.call('HSET', KEYS[1], 'v', ARGV[1], 'd', ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "if #KEYS > 1 then " +
+            "  redis.call('SADD', KEYS[2], KEYS[1]) " +
+            "  redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * Replace each versioned entry older than the given version with a tombstone holding only that
+     * version: reads miss and reload, and the version check still refuses a load that read an
+     * older row. Entries already at or past the version are kept.
+     * KEYS: entries; ARGV: ttl seconds, then the version of each entry
+     */
+    private static final RedisScript<Long> VERSIONED_TOMBSTONE_SCRIPT = RedisScript.of(
+            "local replaced = 0 " +
+            "for i = 1, #KEYS do " +
+            "  local current = redis.call('HGET', KEYS[i], 'v') " +
+            "  if not current or tonumber(current) < tonumber(ARGV[i + 1]) then " +
+            "    redis.call('DEL', KEYS[i]) " +
+            "    redis.call('HSET', KEYS[i], 'v', ARGV[i + 1]) " +
+            "    redis.call('EXPIRE', KEYS[i], ARGV[1]) " +
+            "    replaced = replaced + 1 " +
+            "  end " +
+            "end " +
+            "return replaced", Long.class);
+
+    /**
+     * Refresh the TTL of an idempotency claim only while it still holds the in-progress marker, so
+     * a stored response is never cut back to the claim TTL. Returns 1 when refreshed, 0 otherwise.
+     * KEYS: claim; ARGV: marker, ttl seconds
+     */
+    private static final RedisScript<Long> EXTEND_CLAIM_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<CacheRegion, Cache<String, Object>> nearCaches = new EnumMap<>(CacheRegion.class);
+    private final Map<CacheRegion, RedisSerializer<Object>> regionSerializers = new EnumMap<>(CacheRegion.class);
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Cache<String, Long> loadTimeNanos = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @Value("${cache.negative-ttl-seconds:5}")
+    private long negativeTtlSeconds;
+
+    @Value("${cache.load-wait-millis:2000}")
+    private long loadWaitMillis;
+
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double refreshBeta;
+
+    @Value("${cache.refresh-ahead.default-load-millis:10}")
+    private double defaultLoadMillis;
+
+    @Value("${cache.refresh-ahead.threads:2}")
+    private int refreshThreads;
+
+    @Value("${cache.refresh-ahead.queue-capacity:256}")
+    private int refreshQueueCapacity;
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    @PostConstruct
+    void initRegions() {
+        for (CacheRegion region : CacheRegion.values()) {
+            String format = environment.getProperty("cache.serialization." + region.getName(), "binary");
+            regionSerializers.put(region, "json".equalsIgnoreCase(format) ? jsonRedisSerializer : compactRedisSerializer);
 
-    public void setBalance(Long userId, String currency, Object balance, long ttlMinutes) {
+            String prefix = "cache.near." + region.getName();
+            long maxSize = environment.getProperty(prefix + ".max-size", Long.class, region.getDefaultNearMaxSize());
+            long ttlSeconds = environment.getProperty(prefix + ".ttl-seconds", Long.class, region.getDefaultNearTtlSeconds());
+            if (maxSize > 0 && ttlSeconds > 0) {
+                Cache<String, Object> near = Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .build();
+                nearCaches.put(region, near);
+                metrics.monitorNearCache(region, near);
+                log.info("Near cache enabled for region {}: max size {}, ttl {}s", region.getName(), maxSize, ttlSeconds);
+            }
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+
+        ThreadFactory threadFactory = Thread.ofPlatform().name("cache-refresh-", 0).daemon(true).factory();
+        refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity), threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Write a wallet through to the cache unless a newer version is already cached
+     * @return whether the entry was written
+     */
+    public boolean setBalance(Long userId, String currency, Object balance, long version, long ttlMinutes) {
         String key = String.format(BALANCE_KEY, userId, currency);
-        redisTemplate.opsForValue().set(key, balance, ttlMinutes, TimeUnit.MINUTES);
-        log.debug("Cache balance set for user {} currency {}", userId, currency);
+        boolean written = setVersioned(CacheRegion.BALANCE, key, balance, version,
+                ttlMinutes, TimeUnit.MINUTES, String.format(BALANCE_INDEX_KEY, userId));
+        log.debug("Cache balance for user {} currency {} version {} {}", userId, currency, version,
+                written ? "written" : "skipped, newer version cached");
+        return written;
     }
 
     public Object getBalance(Long userId, String currency) {
         String key = String.format(BALANCE_KEY, userId, currency);
-        return redisTemplate.opsForValue().get(key);
+        return get(CacheRegion.BALANCE, key);
+    }
+
+    public Mono<Object> getBalanceReactive(Long userId, String currency) {
+        String key = String.format(BALANCE_KEY, userId, currency);
+        return getReactive(CacheRegion.BALANCE, key);
+    }
+
+    /**
+     * Get a balance entry, loading it through {@code loader} on a miss. Loaded values are stored
+     * with the version reported by {@code versionOf}, so a load that read an outdated row cannot
+     * replace a newer write-through.
+     * @return the cached or loaded value, or null when the loader found nothing
+     */
+    public <T> Object getOrLoadBalance(Long userId, String currency, Supplier<T> loader,
+                                       ToLongFunction<? super T> versionOf, long ttlMinutes) {
+        String key = String.format(BALANCE_KEY, userId, currency);
+        return getOrLoad(CacheRegion.BALANCE, key, loader, versionOf,
+                ttlMinutes, TimeUnit.MINUTES, String.format(BALANCE_INDEX_KEY, userId));
     }
 
     public void clearBalance(Long userId, String currency) {
         String key = String.format(BALANCE_KEY, userId, currency);
-        redisTemplate.delete(key);
+        evict(CacheRegion.BALANCE, List.of(key));
+    }
+
+    /**
+     * Invalidate a balance entry written by a committed update of the given wallet version. Unlike
+     * {@link #clearBalance}, the entry keeps the version, so a load that read the row before the
+     * update cannot cache the older balance afterwards.
+     */
+    public void tombstoneBalance(Long userId, String currency, long version, long ttlMinutes) {
+        tombstoneBalances(Map.of(userId, Map.of(currency, version)), ttlMinutes);
+    }
+
+    /**
+     * {@link #tombstoneBalance} for many wallets in one round trip
+     * @param versionsByUser committed wallet version by currency, keyed by user id
+     */
+    public void tombstoneBalances(Map<Long, ? extends Map<String, Long>> versionsByUser, long ttlMinutes) {
+        List<String> keys = new ArrayList<>();
+        List<byte[]> args = new ArrayList<>();
+        args.add(rawKey(Long.toString(TimeUnit.MINUTES.toSeconds(ttlMinutes))));
+        versionsByUser.forEach((userId, versions) -> versions.forEach((currency, version) -> {
+            keys.add(String.format(BALANCE_KEY, userId, currency));
+            args.add(rawKey(Long.toString(version)));
+        }));
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Long replaced = metrics.redis(CacheRegion.BALANCE, RedisCommand.DELETE, () ->
+                redisTemplate.execute(VERSIONED_TOMBSTONE_SCRIPT, RedisSerializer.byteArray(),
+                        new GenericToStringSerializer<>(Long.class), keys, args.toArray()));
+        Cache<String, Object> near = nearCaches.get(CacheRegion.BALANCE);
+        if (near != null) {
+            near.invalidateAll(keys);
+            publishInvalidation(CacheRegion.BALANCE, OP_KEYS, keys);
+        }
+        log.debug("Tombstoned {} of {} balance entries", replaced, keys.size());
     }
 
     public void clearAllBalances(Long userId) {
-        String pattern = String.format(BALANCE_KEY, userId, "*");
-        redisTemplate.delete(redisTemplate.keys(pattern));
+        clearIndexed(CacheRegion.BALANCE, String.format(BALANCE_INDEX_KEY, userId));
+        evictNearPrefix(CacheRegion.BALANCE, String.format(BALANCE_KEY, userId, ""));
     }
 
     public void setOrder(Long orderId, Object order, long ttlMinutes) {
         String key = String.format(ORDER_KEY, orderId);
-        redisTemplate.opsForValue().set(key, order, ttlMinutes, TimeUnit.MINUTES);
+        set(CacheRegion.ORDER, key, order, ttlMinutes, TimeUnit.MINUTES, null);
     }
 
     public Object getOrder(Long orderId) {
         String key = String.format(ORDER_KEY, orderId);
-        return redisTemplate.opsForValue().get(key);
+        return get(CacheRegion.ORDER, key);
+    }
+
+    public Mono<Object> getOrderReactive(Long orderId) {
+        String key = String.format(ORDER_KEY, orderId);
+        return getReactive(CacheRegion.ORDER, key);
+    }
+
+    public Object getOrLoadOrder(Long orderId, Supplier<?> loader, long ttlMinutes) {
+        String key = String.format(ORDER_KEY, orderId);
+        return getOrLoad(CacheRegion.ORDER, key, loader, null, ttlMinutes, TimeUnit.MINUTES, null);
     }
 
     public void clearOrder(Long orderId) {
         String key = String.format(ORDER_KEY, orderId);
-        redisTemplate.delete(key);
+        evict(CacheRegion.ORDER, List.of(key));
     }
 
     public void setFeeRate(String currencyPair, Object feeRate, long ttlMinutes) {
         String key = String.format(FEE_RATE_KEY, currencyPair);
-        redisTemplate.opsForValue().set(key, feeRate, ttlMinutes, TimeUnit.MINUTES);
+        set(CacheRegion.FEE_RATE, key, feeRate, ttlMinutes, TimeUnit.MINUTES, FEE_RATE_INDEX_KEY);
     }
 
     public Object getFeeRate(String currencyPair) {
         String key = String.format(FEE_RATE_KEY, currencyPair);
-        return redisTemplate.opsForValue().get(key);
+        return get(CacheRegion.FEE_RATE, key);
+    }
+
+    public Mono<Object> getFeeRateReactive(String currencyPair) {
+        String key = String.format(FEE_RATE_KEY, currencyPair);
+        return getReactive(CacheRegion.FEE_RATE, key);
+    }
+
+    public Object getOrLoadFeeRate(String currencyPair, Supplier<?> loader, long ttlMinutes) {
+        String key = String.format(FEE_RATE_KEY, currencyPair);
+        return getOrLoad(CacheRegion.FEE_RATE, key, loader, null, ttlMinutes, TimeUnit.MINUTES, FEE_RATE_INDEX_KEY);
+    }
+
+    public void clearFeeRate(String currencyPair) {
+        String key = String.format(FEE_RATE_KEY, currencyPair);
+        evict(CacheRegion.FEE_RATE, List.of(key));
     }
 
     public void clearFeeRates() {
-        String pattern = String.format(FEE_RATE_KEY, "*");
-        redisTemplate.delete(redisTemplate.keys(pattern));
+        clearIndexed(CacheRegion.FEE_RATE, FEE_RATE_INDEX_KEY);
+        evictNearPrefix(CacheRegion.FEE_RATE, String.format(FEE_RATE_KEY, ""));
     }
 
-    public void setIdempotencyKey(String idempotencyKey, Object response, long ttlHours) {
+    /**
+     * Atomically claim an idempotency key (SET NX). Only the caller that claims the key may run
+     * the request; the marker holds the claim until it is replaced by the stored response or expires.
+     * @return whether this caller claimed the key
+     */
+    public boolean claimIdempotencyKey(String idempotencyKey, String marker, long ttlSeconds) {
         String key = String.format(IDEMPOTENCY_KEY, idempotencyKey);
-        redisTemplate.opsForValue().set(key, response, ttlHours, TimeUnit.HOURS);
+        Boolean claimed = metrics.redis(CacheRegion.IDEMPOTENCY, RedisCommand.SET, () ->
+                stringRedisTemplate.opsForValue().setIfAbsent(key, marker, Duration.ofSeconds(ttlSeconds)));
+        return Boolean.TRUE.equals(claimed);
     }
 
-    public Object getIdempotencyKey(String idempotencyKey) {
+    /**
+     * Keep a claim alive while its request runs, if it still holds the given marker
+     * @return whether the claim was refreshed
+     */
+    public boolean extendIdempotencyClaim(String idempotencyKey, String marker, long ttlSeconds) {
         String key = String.format(IDEMPOTENCY_KEY, idempotencyKey);
-        return redisTemplate.opsForValue().get(key);
+        Long extended = metrics.redis(CacheRegion.IDEMPOTENCY, RedisCommand.SET, () ->
+                stringRedisTemplate.execute(EXTEND_CLAIM_SCRIPT, List.of(key), marker, String.valueOf(ttlSeconds)));
+        return extended != null && extended == 1;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey, String record, long ttlHours) {
+        String key = String.format(IDEMPOTENCY_KEY, idempotencyKey);
+        metrics.payloadWritten(CacheRegion.IDEMPOTENCY, rawKey(record));
+        metrics.redis(CacheRegion.IDEMPOTENCY, RedisCommand.SET, () -> {
+            stringRedisTemplate.opsForValue().set(key, record, Duration.ofHours(ttlHours));
+            return null;
+        });
+    }
+
+    public String getIdempotencyKey(String idempotencyKey) {
+        String key = String.format(IDEMPOTENCY_KEY, idempotencyKey);
+        String record = metrics.redis(CacheRegion.IDEMPOTENCY, RedisCommand.GET, () ->
+                stringRedisTemplate.opsForValue().get(key));
+        if (record == null) {
+            metrics.miss(CacheRegion.IDEMPOTENCY);
+        } else {
+            metrics.hit(CacheRegion.IDEMPOTENCY, Tier.REDIS);
+        }
+        return record;
+    }
+
+    public void releaseIdempotencyKey(String idempotencyKey) {
+        String key = String.format(IDEMPOTENCY_KEY, idempotencyKey);
+        metrics.redis(CacheRegion.IDEMPOTENCY, RedisCommand.DELETE, () -> stringRedisTemplate.delete(key));
+    }
+
+    private Object get(CacheRegion region, String key) {
+        Object nearValue = getNear(region, key);
+        if (nearValue != null) {
+            return nearValue;
+        }
+
+        byte[] raw = metrics.redis(region, RedisCommand.GET, () ->
+                redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                        region.isVersioned()
+                                ? connection.hashCommands().hGet(rawKey(key), DATA_FIELD)
+                                : connection.stringCommands().get(rawKey(key))));
+        Object value = deserialize(region, key, raw);
+        if (value == null) {
+            metrics.miss(region);
+            return null;
+        }
+        metrics.hit(region, Tier.REDIS);
+        if (value == NULL_VALUE) {
+            return null;
+        }
+        Cache<String, Object> near = nearCaches.get(region);
+        if (near != null) {
+            near.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Non-blocking {@link #get}: completes on the Redis connection's event loop, and completes empty
+     * on a miss, an unreadable entry or a negative entry, leaving the caller to decide how to load
+     */
+    private Mono<Object> getReactive(CacheRegion region, String key) {
+        Object nearValue = getNear(region, key);
+        if (nearValue != null) {
+            return Mono.just(nearValue);
+        }
+
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    Mono<byte[]> read = region.isVersioned()
+                            ? reactiveRedisTemplate.<String, byte[]>opsForHash().get(key, DATA_FIELD_NAME)
+                            : reactiveRedisTemplate.opsForValue().get(key);
+                    return read.doOnTerminate(() ->
+                            metrics.redisElapsed(region, RedisCommand.GET, System.nanoTime() - start));
+                })
+                .map(raw -> Optional.ofNullable(deserialize(region, key, raw)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(value -> {
+                    if (value.isEmpty()) {
+                        metrics.miss(region);
+                        return Mono.empty();
+                    }
+                    metrics.hit(region, Tier.REDIS);
+                    if (value.get() == NULL_VALUE) {
+                        return Mono.empty();
+                    }
+                    Cache<String, Object> near = nearCaches.get(region);
+                    if (near != null) {
+                        near.put(key, value.get());
+                    }
+                    return Mono.just(value.get());
+                });
+    }
+
+    private Object getNear(CacheRegion region, String key) {
+        Cache<String, Object> near = nearCaches.get(region);
+        Object value = near != null ? near.getIfPresent(key) : null;
+        if (value != null) {
+            metrics.hit(region, Tier.NEAR);
+        }
+        return value;
+    }
+
+    /**
+     * @param versionOf version of a loaded value, required for versioned regions and null otherwise
+     */
+    private <T> Object getOrLoad(CacheRegion region, String key, Supplier<T> loader, ToLongFunction<? super T> versionOf,
+                                 long ttl, TimeUnit unit, String indexKey) {
+        CacheLookupEvent event = CacheLookupEvent.begin(region.getName(), key);
+        try {
+            Object nearValue = getNear(region, key);
+            if (nearValue != null) {
+                event.servedBy("near");
+                return nearValue;
+            }
+
+            // Value and remaining TTL in one round trip; the TTL drives the early refresh decision
+            byte[] rawKey = rawKey(key);
+            List<Object> replies = metrics.redis(region, RedisCommand.GET, () ->
+                    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                        if (region.isVersioned()) {
+                            connection.hashCommands().hGet(rawKey, DATA_FIELD);
+                        } else {
+                            connection.stringCommands().get(rawKey);
+                        }
+                        connection.keyCommands().pTtl(rawKey);
+                        return null;
+                    }, RedisSerializer.byteArray()));
+
+            Object value = deserialize(region, key, (byte[]) replies.get(0));
+            if (value == null) {
+                metrics.miss(region);
+                event.servedBy("load");
+                return load(region, key, loader, versionOf, ttl, unit, indexKey);
+            }
+
+            metrics.hit(region, Tier.REDIS);
+            event.servedBy("redis");
+            if (shouldRefreshEarly(key, (Long) replies.get(1))) {
+                refreshAsync(region, key, loader, versionOf, ttl, unit, indexKey);
+            }
+            if (value == NULL_VALUE) {
+                return null;
+            }
+            Cache<String, Object> near = nearCaches.get(region);
+            if (near != null) {
+                near.put(key, value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Load a missing entry once per key on this node: the first caller runs the loader and
+     * writes the result, concurrent callers wait for that result instead of loading themselves
+     */
+    private <T> Object load(CacheRegion region, String key, Supplier<T> loader, ToLongFunction<? super T> versionOf,
+                            long ttl, TimeUnit unit, String indexKey) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(key, flight);
+        if (existing != null) {
+            metrics.coalesced(region);
+            return awaitLoad(key, existing, loader);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T value = loader.get();
+            long elapsed = System.nanoTime() - start;
+            loadTimeNanos.put(key, elapsed);
+            metrics.loaded(region, elapsed, value != null);
+            // Negative entries are not indexed: their short TTL must not shorten the index set's TTL
+            if (value == null && region.isVersioned()) {
+                writeVersioned(region, key, NEGATIVE_MARKER, NEGATIVE_VERSION, negativeTtlSeconds, null);
+            } else if (value == null) {
+                writeRaw(region, key, NEGATIVE_MARKER, negativeTtlSeconds, null);
+            } else if (region.isVersioned()) {
+                setVersioned(region, key, value, versionOf.applyAsLong(value), ttl, unit, indexKey);
+            } else {
+                set(region, key, value, ttl, unit, indexKey);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            metrics.loadFailed(region, System.nanoTime() - start);
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, flight);
+        }
+    }
+
+    private Object awaitLoad(String key, CompletableFuture<Object> flight, Supplier<?> loader) {
+        try {
+            return flight.get(loadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Cache load failed for " + key, e.getCause());
+        } catch (TimeoutException e) {
+            // A stuck leader must not stall every caller; load without caching
+            log.warn("Timed out after {}ms waiting for cache load of {}", loadWaitMillis, key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for cache load of " + key, e);
+        }
+    }
+
+    /**
+     * XFetch: refresh when {@code -delta * beta * ln(random)} reaches the remaining TTL, where
+     * delta is the last observed load time of the key, so slow loads start refreshing earlier
+     */
+    private boolean shouldRefreshEarly(String key, Long remainingTtlMillis) {
+        if (remainingTtlMillis == null || remainingTtlMillis < 0) {
+            return false;
+        }
+        Long lastLoadNanos = loadTimeNanos.getIfPresent(key);
+        double deltaMillis = lastLoadNanos != null ? lastLoadNanos / 1_000_000.0 : defaultLoadMillis;
+        double gap = -deltaMillis * refreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remainingTtlMillis;
+    }
+
+    private <T> void refreshAsync(CacheRegion region, String key, Supplier<T> loader, ToLongFunction<? super T> versionOf,
+                                  long ttl, TimeUnit unit, String indexKey) {
+        if (inFlightLoads.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(region, key, loader, versionOf, ttl, unit, indexKey);
+                } catch (RuntimeException e) {
+                    log.warn("Early refresh of {} failed: {}", key, e.getMessage());
+                }
+            });
+            metrics.refresh(region, true);
+        } catch (RejectedExecutionException e) {
+            // Refresh queue full; the entry is reloaded on expiry instead
+            metrics.refresh(region, false);
+            log.debug("Skipped early refresh of {}", key);
+        }
+    }
+
+    private Object deserialize(CacheRegion region, String key, byte[] raw) {
+        if (Arrays.equals(raw, NEGATIVE_MARKER)) {
+            return NULL_VALUE;
+        }
+        metrics.payloadRead(region, raw);
+        try {
+            return compactRedisSerializer.deserialize(raw);
+        } catch (SerializationException e) {
+            // Unreadable entries are treated as misses and overwritten by the next load
+            log.warn("Discarding unreadable cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write an entry, and when an index key is given, add the entry to that index set and
+     * extend the index TTL in the same pipeline
+     */
+    private void set(CacheRegion region, String key, Object value, long ttl, TimeUnit unit, String indexKey) {
+        byte[] rawValue = regionSerializers.get(region).serialize(value);
+        metrics.payloadWritten(region, rawValue);
+        writeRaw(region, key, rawValue, unit.toSeconds(ttl), indexKey);
+
+        Cache<String, Object> near = nearCaches.get(region);
+        if (near != null) {
+            near.put(key, value);
+            publishInvalidation(region, OP_KEYS, List.of(key));
+        }
+    }
+
+    private void writeRaw(CacheRegion region, String key, byte[] rawValue, long ttlSeconds, String indexKey) {
+        byte[] rawKey = rawKey(key);
+        metrics.redis(region, RedisCommand.SET, () ->
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.stringCommands().set(rawKey, rawValue, Expiration.seconds(ttlSeconds),
+                            RedisStringCommands.SetOption.upsert());
+                    if (indexKey != null) {
+                        byte[] rawIndexKey = rawKey(indexKey);
+                        connection.setCommands().sAdd(rawIndexKey, rawKey);
+                        connection.keyCommands().expire(rawIndexKey, ttlSeconds);
+                    }
+                    return null;
+                }));
+    }
+
+    private boolean setVersioned(CacheRegion region, String key, Object value, long version,
+                                 long ttl, TimeUnit unit, String indexKey) {
+        byte[] rawValue = regionSerializers.get(region).serialize(value);
+        metrics.payloadWritten(region, rawValue);
+        boolean written = writeVersioned(region, key, rawValue, version, unit.toSeconds(ttl), indexKey);
+
+        Cache<String, Object> near = nearCaches.get(region);
+        if (near != null) {
+            if (written) {
+                near.put(key, value);
+                publishInvalidation(region, OP_KEYS, List.of(key));
+            } else {
+                near.invalidate(key);
+            }
+        }
+        if (!written) {
+            metrics.staleWrite(region);
+        }
+        return written;
+    }
+
+    private boolean writeVersioned(CacheRegion region, String key, byte[] rawValue, long version,
+                                   long ttlSeconds, String indexKey) {
+        List<String> keys = indexKey != null ? List.of(key, indexKey) : List.of(key);
+        Long written = metrics.redis(region, RedisCommand.SET, () ->
+                redisTemplate.execute(VERSIONED_SET_SCRIPT, RedisSerializer.byteArray(),
+                        new GenericToStringSerializer<>(Long.class), keys,
+                        rawKey(Long.toString(version)), rawValue, rawKey(Long.toString(ttlSeconds))));
+        return written != null && written == 1;
     }
-}
 
+    /**
+     * Delete every key listed in an index set, in one pipeline. Each batch of keys is removed from
+     * the set with SREM rather than dropping the set, so an entry indexed concurrently keeps its
+     * membership and is cleared by the next call. Unlike a script, every key a command touches is
+     * passed to it, as Redis requires for cluster routing.
+     */
+    private void clearIndexed(CacheRegion region, String indexKey) {
+        Set<String> members = metrics.redis(region, RedisCommand.GET, () ->
+                stringRedisTemplate.opsForSet().members(indexKey));
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+
+        byte[] rawIndexKey = rawKey(indexKey);
+        List<byte[]> rawMembers = members.stream().map(CacheManager::rawKey).toList();
+        metrics.redis(region, RedisCommand.DELETE, () ->
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (int i = 0; i < rawMembers.size(); i += CLEAR_INDEXED_BATCH) {
+                        byte[][] batch = rawMembers.subList(i, Math.min(i + CLEAR_INDEXED_BATCH, rawMembers.size()))
+                                .toArray(byte[][]::new);
+                        connection.keyCommands().del(batch);
+                        connection.setCommands().sRem(rawIndexKey, batch);
+                    }
+                    return null;
+                }));
+        log.debug("Cleared {} cache entries indexed by {}", members.size(), indexKey);
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void evict(CacheRegion region, List<String> keys) {
+        metrics.redis(region, RedisCommand.DELETE, () -> redisTemplate.delete(keys));
+        Cache<String, Object> near = nearCaches.get(region);
+        if (near != null) {
+            near.invalidateAll(keys);
+            publishInvalidation(region, OP_KEYS, keys);
+        }
+    }
+
+    private void evictNearPrefix(CacheRegion region, String prefix) {
+        Cache<String, Object> near = nearCaches.get(region);
+        if (near != null) {
+            near.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            publishInvalidation(region, OP_PREFIX, List.of(prefix));
+        }
+    }
+
+    /**
+     * Message layout, one field per line: origin node id, region name, operation, then keys or prefixes
+     */
+    private void publishInvalidation(CacheRegion region, String operation, List<String> targets) {
+        StringJoiner message = new StringJoiner("\n");
+        message.add(nodeId).add(region.name()).add(operation);
+        targets.forEach(message::add);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message.toString());
+        } catch (Exception e) {
+            // Other nodes fall back to their near-cache TTL
+            log.warn("Failed to publish near-cache invalidation for region {}: {}", region.getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 4 || nodeId.equals(lines[0])) {
+            return;
+        }
+
+        Cache<String, Object> near;
+        try {
+            near = nearCaches.get(CacheRegion.valueOf(lines[1]));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring near-cache invalidation for unknown region {}", lines[1]);
+            return;
+        }
+        if (near == null) {
+            return;
+        }
+
+        List<String> targets = Arrays.asList(lines).subList(3, lines.length);
+        if (OP_PREFIX.equals(lines[2])) {
+            targets.forEach(prefix -> near.asMap().keySet().removeIf(key -> key.startsWith(prefix)));
+        } else {
+            near.invalidateAll(targets);
+        }
+    }
+}
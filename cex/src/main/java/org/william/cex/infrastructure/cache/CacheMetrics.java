@@ -0,0 +1,183 @@
+package org.william.cex.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for {@link CacheManager}, tagged by region and served by the actuator
+ * {@code metrics} endpoint:
+ * <ul>
+ *   <li>{@code cex.cache.gets} - lookups by {@code tier} (near, redis) and {@code result} (hit, miss)</li>
+ *   <li>{@code cex.cache.loads} - loader time by {@code result} (found, empty, error)</li>
+ *   <li>{@code cex.cache.loads.coalesced} - misses that waited for another caller's load</li>
+ *   <li>{@code cex.cache.refreshes} - early refreshes by {@code result} (scheduled, rejected)</li>
+ *   <li>{@code cex.cache.writes.stale} - versioned writes refused because a newer version was cached</li>
+ *   <li>{@code cex.cache.payload} - serialized value size in bytes by {@code operation} (read, write)</li>
+ *   <li>{@code cex.cache.redis} - Redis round-trip latency with percentiles by {@code command} (get, set, delete)</li>
+ * </ul>
+ * Near tiers are also registered as Caffeine caches named {@code near.<region>} under the standard
+ * {@code cache.*} meters, which report size and evictions.
+ */
+@Component
+public class CacheMetrics {
+
+    enum Tier { NEAR, REDIS }
+
+    enum RedisCommand { GET, SET, DELETE }
+
+    private final MeterRegistry registry;
+    private final Map<CacheRegion, RegionMeters> meters = new EnumMap<>(CacheRegion.class);
+
+    @Autowired
+    public CacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (CacheRegion region : CacheRegion.values()) {
+            meters.put(region, new RegionMeters(registry, region.getName()));
+        }
+    }
+
+    void monitorNearCache(CacheRegion region, Cache<String, Object> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, "near." + region.getName(), "region", region.getName());
+    }
+
+    void hit(CacheRegion region, Tier tier) {
+        RegionMeters regionMeters = meters.get(region);
+        (tier == Tier.NEAR ? regionMeters.nearHits : regionMeters.redisHits).increment();
+    }
+
+    void miss(CacheRegion region) {
+        meters.get(region).misses.increment();
+    }
+
+    void coalesced(CacheRegion region) {
+        meters.get(region).coalesced.increment();
+    }
+
+    void refresh(CacheRegion region, boolean scheduled) {
+        RegionMeters regionMeters = meters.get(region);
+        (scheduled ? regionMeters.refreshesScheduled : regionMeters.refreshesRejected).increment();
+    }
+
+    void staleWrite(CacheRegion region) {
+        meters.get(region).staleWrites.increment();
+    }
+
+    void loaded(CacheRegion region, long nanos, boolean found) {
+        RegionMeters regionMeters = meters.get(region);
+        (found ? regionMeters.loadsFound : regionMeters.loadsEmpty).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void loadFailed(CacheRegion region, long nanos) {
+        meters.get(region).loadsFailed.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void payloadRead(CacheRegion region, byte[] raw) {
+        if (raw != null) {
+            meters.get(region).payloadRead.record(raw.length);
+        }
+    }
+
+    void payloadWritten(CacheRegion region, byte[] raw) {
+        if (raw != null) {
+            meters.get(region).payloadWritten.record(raw.length);
+        }
+    }
+
+    <T> T redis(CacheRegion region, RedisCommand command, Supplier<T> call) {
+        return meters.get(region).redis.get(command).record(call);
+    }
+
+    void redisElapsed(CacheRegion region, RedisCommand command, long nanos) {
+        meters.get(region).redis.get(command).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class RegionMeters {
+        private final Counter nearHits;
+        private final Counter redisHits;
+        private final Counter misses;
+        private final Counter coalesced;
+        private final Counter refreshesScheduled;
+        private final Counter refreshesRejected;
+        private final Counter staleWrites;
+        private final Timer loadsFound;
+        private final Timer loadsEmpty;
+        private final Timer loadsFailed;
+        private final DistributionSummary payloadRead;
+        private final DistributionSummary payloadWritten;
+        private final Map<RedisCommand, Timer> redis = new EnumMap<>(RedisCommand.class);
+
+        private RegionMeters(MeterRegistry registry, String region) {
+            nearHits = gets(registry, region, "near", "hit");
+            redisHits = gets(registry, region, "redis", "hit");
+            misses = gets(registry, region, "redis", "miss");
+            coalesced = Counter.builder("cex.cache.loads.coalesced")
+                    .description("Cache misses served by a load already in flight")
+                    .tag("region", region)
+                    .register(registry);
+            refreshesScheduled = refreshes(registry, region, "scheduled");
+            refreshesRejected = refreshes(registry, region, "rejected");
+            staleWrites = Counter.builder("cex.cache.writes.stale")
+                    .description("Versioned cache writes refused because a newer version was cached")
+                    .tag("region", region)
+                    .register(registry);
+            loadsFound = loads(registry, region, "found");
+            loadsEmpty = loads(registry, region, "empty");
+            loadsFailed = loads(registry, region, "error");
+            payloadRead = payload(registry, region, "read");
+            payloadWritten = payload(registry, region, "write");
+            for (RedisCommand command : RedisCommand.values()) {
+                redis.put(command, Timer.builder("cex.cache.redis")
+                        .description("Redis round-trip latency of cache commands")
+                        .tag("region", region)
+                        .tag("command", command.name().toLowerCase())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry));
+            }
+        }
+
+        private static Counter gets(MeterRegistry registry, String region, String tier, String result) {
+            return Counter.builder("cex.cache.gets")
+                    .description("Cache lookups by tier and result")
+                    .tag("region", region)
+                    .tag("tier", tier)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static Counter refreshes(MeterRegistry registry, String region, String result) {
+            return Counter.builder("cex.cache.refreshes")
+                    .description("Early cache refreshes before TTL expiry")
+                    .tag("region", region)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static Timer loads(MeterRegistry registry, String region, String result) {
+            return Timer.builder("cex.cache.loads")
+                    .description("Time spent loading cache misses from the database")
+                    .tag("region", region)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static DistributionSummary payload(MeterRegistry registry, String region, String operation) {
+            return DistributionSummary.builder("cex.cache.payload")
+                    .description("Serialized cache value size")
+                    .baseUnit("bytes")
+                    .tag("region", region)
+                    .tag("operation", operation)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.william.cex.infrastructure.cache;
+
+/**
+ * Logical regions of the Redis cache. Each region has its own key namespace and
+ * near-cache defaults, overridable with {@code cache.near.<name>.max-size} and
+ * {@code cache.near.<name>.ttl-seconds}; a size or TTL of 0 disables the near tier.
+ * Versioned regions store entries as compare-and-set hashes tagged with the entity version.
+ */
+public enum CacheRegion {
+    BALANCE("balance", 10_000, 5, true),
+    ORDER("order", 10_000, 30, false),
+    FEE_RATE("fee-rate", 1_000, 60, false),
+    IDEMPOTENCY("idempotency", 0, 0, false);
+
+    private final String name;
+    private final long defaultNearMaxSize;
+    private final long defaultNearTtlSeconds;
+    private final boolean versioned;
+
+    CacheRegion(String name, long defaultNearMaxSize, long defaultNearTtlSeconds, boolean versioned) {
+        this.name = name;
+        this.defaultNearMaxSize = defaultNearMaxSize;
+        this.defaultNearTtlSeconds = defaultNearTtlSeconds;
+        this.versioned = versioned;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDefaultNearMaxSize() {
+        return defaultNearMaxSize;
+    }
+
+    public long getDefaultNearTtlSeconds() {
+        return defaultNearTtlSeconds;
+    }
+
+    public boolean isVersioned() {
+        return versioned;
+    }
+}
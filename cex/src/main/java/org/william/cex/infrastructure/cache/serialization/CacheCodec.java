@@ -0,0 +1,24 @@
+package org.william.cex.infrastructure.cache.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Schema-based binary codec for one cached type. Fields are written in a fixed order
+ * without names; any change to that order requires a new {@link CompactRedisSerializer}
+ * format version.
+ */
+public interface CacheCodec<T> {
+
+    /**
+     * Tag identifying the type on the wire, unique per codec
+     */
+    byte typeTag();
+
+    Class<T> type();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,92 @@
+package org.william.cex.infrastructure.cache.serialization;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary serializer for cached entities with a registered {@link CacheCodec}.
+ * <p>
+ * Layout: {@code [format version][type tag][codec payload]}. Values without a codec are
+ * written by the fallback serializer. Reads sniff the first byte: JSON never starts with
+ * the format version byte, so entries written by the JSON serializer stay readable while
+ * regions are switched between formats.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private final RedisSerializer<Object> fallback;
+    private final Map<Class<?>, CacheCodec<?>> codecsByType = new HashMap<>();
+    private final CacheCodec<?>[] codecsByTag = new CacheCodec<?>[128];
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, List<CacheCodec<?>> codecs) {
+        this.fallback = fallback;
+        for (CacheCodec<?> codec : codecs) {
+            if (codecsByTag[codec.typeTag()] != null) {
+                throw new IllegalArgumentException("Duplicate cache codec type tag " + codec.typeTag());
+            }
+            codecsByTag[codec.typeTag()] = codec;
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        CacheCodec<Object> codec = (CacheCodec<Object>) codecsByType.get(value.getClass());
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(codec.typeTag());
+            codec.write(value, out);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 2 || bytes[1] < 0 || codecsByTag[bytes[1]] == null) {
+            throw new SerializationException("Unknown cache codec type tag");
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2));
+            return codecsByTag[bytes[1]].read(in);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cached value", e);
+        }
+    }
+
+    /**
+     * Whether values of this type are written in the compact binary format
+     */
+    public boolean hasCodec(Class<?> type) {
+        return codecsByType.containsKey(type);
+    }
+}
@@ -0,0 +1,48 @@
+package org.william.cex.infrastructure.cache.serialization;
+
+import org.william.cex.domain.fee.entity.FeeRate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.william.cex.infrastructure.cache.serialization.CodecSupport.*;
+
+public class FeeRateCodec implements CacheCodec<FeeRate> {
+
+    @Override
+    public byte typeTag() {
+        return 3;
+    }
+
+    @Override
+    public Class<FeeRate> type() {
+        return FeeRate.class;
+    }
+
+    @Override
+    public void write(FeeRate feeRate, DataOutput out) throws IOException {
+        writeLong(out, feeRate.getId());
+        writeString(out, feeRate.getCurrencyPair());
+        writeDecimal(out, feeRate.getFeePercentage());
+        writeDateTime(out, feeRate.getEffectiveFrom());
+        writeLong(out, feeRate.getAdminId());
+        writeLong(out, feeRate.getVersion());
+        writeDateTime(out, feeRate.getCreatedAt());
+        writeDateTime(out, feeRate.getUpdatedAt());
+    }
+
+    @Override
+    public FeeRate read(DataInput in) throws IOException {
+        return FeeRate.builder()
+                .id(readLong(in))
+                .currencyPair(readString(in))
+                .feePercentage(readDecimal(in))
+                .effectiveFrom(readDateTime(in))
+                .adminId(readLong(in))
+                .version(readLong(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.william.cex.infrastructure.cache.serialization;
+
+import org.william.cex.domain.order.entity.Order;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.william.cex.infrastructure.cache.serialization.CodecSupport.*;
+
+public class OrderCodec implements CacheCodec<Order> {
+
+    @Override
+    public byte typeTag() {
+        return 2;
+    }
+
+    @Override
+    public Class<Order> type() {
+        return Order.class;
+    }
+
+    @Override
+    public void write(Order order, DataOutput out) throws IOException {
+        writeLong(out, order.getId());
+        writeLong(out, order.getUserId());
+        writeEnum(out, order.getOrderType());
+        writeString(out, order.getBaseCurrency());
+        writeString(out, order.getQuoteCurrency());
+        writeDecimal(out, order.getAmount());
+        writeDecimal(out, order.getPrice());
+        writeDecimal(out, order.getFilledAmount());
+        writeEnum(out, order.getStatus());
+        writeDateTime(out, order.getCreatedAt());
+        writeDateTime(out, order.getUpdatedAt());
+    }
+
+    @Override
+    public Order read(DataInput in) throws IOException {
+        return Order.builder()
+                .id(readLong(in))
+                .userId(readLong(in))
+                .orderType(readEnum(in, Order.OrderType.values()))
+                .baseCurrency(readString(in))
+                .quoteCurrency(readString(in))
+                .amount(readDecimal(in))
+                .price(readDecimal(in))
+                .filledAmount(readDecimal(in))
+                .status(readEnum(in, Order.OrderStatus.values()))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package org.william.cex.infrastructure.cache.serialization;
+
+import org.william.cex.domain.user.entity.UserWallet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.william.cex.infrastructure.cache.serialization.CodecSupport.*;
+
+public class UserWalletCodec implements CacheCodec<UserWallet> {
+
+    @Override
+    public byte typeTag() {
+        return 1;
+    }
+
+    @Override
+    public Class<UserWallet> type() {
+        return UserWallet.class;
+    }
+
+    @Override
+    public void write(UserWallet wallet, DataOutput out) throws IOException {
+        writeLong(out, wallet.getId());
+        writeLong(out, wallet.getUserId());
+        writeString(out, wallet.getCurrency());
+        writeDecimal(out, wallet.getBalance());
+        writeDecimal(out, wallet.getLockedAmount());
+        writeLong(out, wallet.getVersion());
+        writeDateTime(out, wallet.getCreatedAt());
+        writeDateTime(out, wallet.getUpdatedAt());
+    }
+
+    @Override
+    public UserWallet read(DataInput in) throws IOException {
+        return UserWallet.builder()
+                .id(readLong(in))
+                .userId(readLong(in))
+                .currency(readString(in))
+                .balance(readDecimal(in))
+                .lockedAmount(readDecimal(in))
+                .version(readLong(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+}
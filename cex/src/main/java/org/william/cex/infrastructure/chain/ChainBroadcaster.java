@@ -0,0 +1,20 @@
+package org.william.cex.infrastructure.chain;
+
+import java.util.List;
+
+/**
+ * Signs and broadcasts a batched payout transaction to the chain of a currency
+ */
+public interface ChainBroadcaster {
+
+    /**
+     * Sign and broadcast one transaction paying out every instruction in the batch. Implementations
+     * must honour the idempotency key: a repeated call with the same key returns the transaction
+     * already broadcast for it instead of paying out again.
+     * @param currency currency (chain) of the payout
+     * @param idempotencyKey identifies the batch across retries
+     * @param payouts outputs of the transaction
+     * @return transaction hash shared by every payout in the batch
+     */
+    String broadcast(String currency, String idempotencyKey, List<PayoutInstruction> payouts);
+}
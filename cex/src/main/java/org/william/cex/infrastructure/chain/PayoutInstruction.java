@@ -0,0 +1,9 @@
+package org.william.cex.infrastructure.chain;
+
+import java.math.BigDecimal;
+
+/**
+ * A single output of a batched on-chain payout
+ */
+public record PayoutInstruction(Long withdrawalId, String destinationAddress, BigDecimal amount) {
+}
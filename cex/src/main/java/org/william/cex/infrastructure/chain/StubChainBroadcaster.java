@@ -0,0 +1,80 @@
+package org.william.cex.infrastructure.chain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the external signer and chain node used in the imitation environment.
+ * Signs the batch with HMAC-SHA256 and simulates a fixed broadcast round trip, so the cost
+ * of a payout is paid once per batch rather than once per withdrawal. Broadcasts are remembered by
+ * idempotency key, as the external signer does, so a retried batch gets its original hash back.
+ */
+@Component
+@Slf4j
+public class StubChainBroadcaster implements ChainBroadcaster {
+
+    @Value("${withdrawal.stub.signing-key:stub-signing-key-change-in-production}")
+    private String signingKey;
+
+    @Value("${withdrawal.stub.broadcast-latency-ms:50}")
+    private long broadcastLatencyMs;
+
+    private final Map<String, String> broadcastsByKey = new ConcurrentHashMap<>();
+
+    @Override
+    public String broadcast(String currency, String idempotencyKey, List<PayoutInstruction> payouts) {
+        String previous = broadcastsByKey.get(idempotencyKey);
+        if (previous != null) {
+            log.info("Payout batch {} already broadcast as {}", idempotencyKey, previous);
+            return previous;
+        }
+        return broadcastsByKey.computeIfAbsent(idempotencyKey, key -> sign(currency, payouts));
+    }
+
+    private String sign(String currency, List<PayoutInstruction> payouts) {
+        StringBuilder payload = new StringBuilder(currency);
+        for (PayoutInstruction payout : payouts) {
+            payload.append('|').append(payout.withdrawalId())
+                    .append(':').append(payout.destinationAddress())
+                    .append(':').append(payout.amount().toPlainString());
+        }
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(payload.toString().getBytes(StandardCharsets.UTF_8));
+
+            simulateBroadcastLatency();
+
+            byte[] txHash = MessageDigest.getInstance("SHA-256").digest(signature);
+            String hash = "0x" + HexFormat.of().formatHex(txHash);
+            log.info("Stub broadcast {} payout(s) for {}: {}", payouts.size(), currency, hash);
+            return hash;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign payout batch", e);
+        }
+    }
+
+    private void simulateBroadcastLatency() {
+        if (broadcastLatencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(broadcastLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while broadcasting payout batch", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("cex.CacheLookup")
+@Label("Cache Lookup")
+@Category({"CEX", "Cache"})
+@Description("Read-through cache lookup in CacheManager, with the tier that served it")
+@Threshold("1 ms")
+public class CacheLookupEvent extends CexEvent {
+
+    @Label("Region")
+    String region;
+
+    @Label("Key")
+    String key;
+
+    @Label("Served By")
+    @Description("near, redis or load")
+    String servedBy;
+
+    public static CacheLookupEvent begin(String region, String key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.isEnabled()) {
+            event.region = region;
+            event.key = key;
+        }
+        event.begin();
+        return event;
+    }
+
+    public void servedBy(String tier) {
+        servedBy = tier;
+    }
+}
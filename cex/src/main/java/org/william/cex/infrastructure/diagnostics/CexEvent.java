@@ -0,0 +1,38 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the application's JDK Flight Recorder events. Usage follows the JFR pattern that costs
+ * next to nothing while no recording has the event enabled: construct and {@code begin()} at the
+ * start of the operation, {@link #fail} from the catch block, and {@link #finish} in {@code finally}.
+ * The static {@code begin} factories only fill in fields when {@link #isEnabled()}, so nothing is
+ * formatted or copied while no recording wants the event. Stack traces are off; the events carry
+ * business identifiers instead.
+ */
+@Category("CEX")
+@StackTrace(false)
+public abstract class CexEvent extends Event {
+
+    public static final String SUCCESS = "success";
+
+    @Label("Outcome")
+    String outcome;
+
+    public void fail(Throwable failure) {
+        outcome = failure.getClass().getSimpleName();
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            if (outcome == null) {
+                outcome = SUCCESS;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("cex.FeeRateLookup")
+@Label("Fee Rate Lookup")
+@Category({"CEX", "Fee"})
+@Description("FeeService.getFeeRate, served from the cache or loaded from the database")
+@Threshold("1 ms")
+public class FeeRateLookupEvent extends CexEvent {
+
+    @Label("Pair")
+    String pair;
+
+    public static FeeRateLookupEvent begin(String pair) {
+        FeeRateLookupEvent event = new FeeRateLookupEvent();
+        if (event.isEnabled()) {
+            event.pair = pair;
+        }
+        event.begin();
+        return event;
+    }
+}
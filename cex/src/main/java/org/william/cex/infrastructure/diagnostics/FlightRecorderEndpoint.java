@@ -0,0 +1,154 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint driving a JDK Flight Recorder recording on a running node, so an operator can
+ * capture the {@code cex.*} events alongside the JDK's own without restarting with {@code -XX:StartFlightRecording}.
+ * <ul>
+ *   <li>{@code POST /actuator/flightrecorder} starts a recording, optionally with {@code settings}
+ *       ({@code default} or {@code profile}); a running one is restarted</li>
+ *   <li>{@code GET /actuator/flightrecorder} dumps what has been recorded so far as a {@code .jfr} file,
+ *       leaving the recording running</li>
+ *   <li>{@code DELETE /actuator/flightrecorder} stops and discards it</li>
+ * </ul>
+ * The in-memory buffer is bounded by {@code diagnostics.jfr.max-age} and {@code diagnostics.jfr.max-size}.
+ */
+@Component
+@WebEndpoint(id = "flightrecorder")
+@Slf4j
+public class FlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "cex-actuator";
+
+    @Value("${diagnostics.jfr.settings:profile}")
+    private String defaultSettings;
+
+    @Value("${diagnostics.jfr.max-age:15m}")
+    private Duration maxAge;
+
+    @Value("${diagnostics.jfr.max-size:256MB}")
+    private DataSize maxSize;
+
+    private Recording recording;
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings) {
+        String name = settings != null ? settings : defaultSettings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown JFR settings: " + name),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        close();
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        // The settings files don't name the cex.* events, so they record with their annotated thresholds
+        started.start();
+        recording = started;
+        log.info("Flight recording started with {} settings", name);
+        return new WebEndpointResponse<>(status(started));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("cex-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        log.info("Flight recording dumped, {} bytes", Files.size(file));
+        return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()));
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Map<String, Object> status = status(recording);
+        close();
+        log.info("Flight recording stopped");
+        return new WebEndpointResponse<>(status);
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> status(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge().toString());
+        status.put("maxSize", recording.getMaxSize());
+        return status;
+    }
+
+    /**
+     * Dump file served once and deleted when the response stream is closed
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(new FileInputStream(getFile())) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
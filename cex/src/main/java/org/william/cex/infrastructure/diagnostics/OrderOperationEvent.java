@@ -0,0 +1,54 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Begun and finished by {@code OrderStageMetrics.timeCommit}, so it spans the order transaction
+ * through its after-commit callbacks
+ */
+@Name("cex.OrderOperation")
+@Label("Order Operation")
+@Category({"CEX", "Order"})
+@Description("Order creation, cancellation or fill in OrderService, through commit")
+public class OrderOperationEvent extends CexEvent {
+
+    public static final String ROLLED_BACK = "rolled_back";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Order Id")
+    long orderId;
+
+    @Label("Pair")
+    String pair;
+
+    public static OrderOperationEvent begin(String operation, long userId, long orderId, String pair) {
+        OrderOperationEvent event = new OrderOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.userId = userId;
+            event.orderId = orderId;
+            event.pair = pair;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Creation learns the order id only after the insert
+     */
+    public void orderId(long orderId) {
+        this.orderId = orderId;
+    }
+
+    public void rolledBack() {
+        outcome = ROLLED_BACK;
+    }
+}
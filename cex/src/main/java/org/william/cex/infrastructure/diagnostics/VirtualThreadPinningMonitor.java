@@ -0,0 +1,105 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads pinned to their carrier while blocking, which happens on Java 21
+ * when a virtual thread blocks inside a {@code synchronized} block or a native frame. Pinning
+ * silently turns the virtual-thread mode back into a carrier-sized thread pool, so each pinned
+ * interval longer than {@code virtual-threads.pinning-monitor.threshold-ms} is counted in
+ * {@code cex.virtual-threads.pinned}, and the stack is logged the first time each call site pins.
+ * Streams the JDK's own {@code jdk.VirtualThreadPinned} JFR event; active only when
+ * {@code spring.threads.virtual.enabled} is set.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${virtual-threads.pinning-monitor.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+    private Timer pinned;
+    private Counter pinnedSites;
+
+    @PostConstruct
+    void start() {
+        pinned = Timer.builder("cex.virtual-threads.pinned")
+                .description("Intervals a blocked virtual thread held its carrier thread")
+                .register(meterRegistry);
+        pinnedSites = Counter.builder("cex.virtual-threads.pinned.sites")
+                .description("Distinct call sites seen pinning a carrier thread")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started, threshold {} ms", thresholdMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            return;
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> frame.startsWith("org.william.cex."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : describe(frames.get(0)));
+        if (reportedSites.add(site)) {
+            pinnedSites.increment();
+            log.warn("Virtual thread pinned for {} ms at {}:\n    {}",
+                    event.getDuration().toMillis(), site,
+                    frames.stream()
+                            .limit(LOGGED_FRAMES)
+                            .map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n    ")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
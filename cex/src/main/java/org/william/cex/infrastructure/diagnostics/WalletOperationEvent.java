@@ -0,0 +1,40 @@
+package org.william.cex.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.math.BigDecimal;
+
+@Name("cex.WalletOperation")
+@Label("Wallet Operation")
+@Category({"CEX", "Wallet"})
+@Description("Balance lock or unlock in UserService, including the wallet read and optimistic-lock write")
+public class WalletOperationEvent extends CexEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Currency")
+    String currency;
+
+    @Label("Amount")
+    @Description("Exact decimal amount, as a plain string")
+    String amount;
+
+    public static WalletOperationEvent begin(String operation, long userId, String currency, BigDecimal amount) {
+        WalletOperationEvent event = new WalletOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.userId = userId;
+            event.currency = currency;
+            event.amount = amount.toPlainString();
+        }
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,262 @@
+package org.william.cex.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes the configured POST endpoints safe to retry with an {@code Idempotency-Key} header.
+ * <p>
+ * The first request claims the key with SET NX and an in-progress marker, runs, and stores its
+ * response for {@code idempotency.ttl-hours}. Duplicates arriving while it runs poll for the stored
+ * result instead of executing; later duplicates replay it. Keys are scoped to the authenticated user,
+ * and reusing a key for a different request body is rejected with 422. Server errors release the
+ * key so the client can retry.
+ * <p>
+ * The claim is refreshed every third of {@code idempotency.claim-ttl-seconds} while the request runs,
+ * so a slow request keeps its key; the claim TTL only bounds how long a key stays locked after the
+ * node running it dies. Bodies over {@code idempotency.max-body-bytes} are rejected with 413
+ * before being buffered.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${idempotency.paths:/v1/orders,/v1/balance/add}")
+    private Set<String> paths;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.claim-ttl-seconds:30}")
+    private long claimTtlSeconds;
+
+    @Value("${idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Value("${idempotency.wait-millis:5000}")
+    private long waitMillis;
+
+    @Value("${idempotency.poll-millis:25}")
+    private long pollMillis;
+
+    private ScheduledExecutorService claimRefresher;
+
+    @PostConstruct
+    void initClaimRefresher() {
+        claimRefresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("idempotency-claim-refresh").daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        claimRefresher.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            // Unauthenticated requests are rejected further down the chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Optional<byte[]> body = CachedBodyHttpServletRequest.readBody(request, maxBodyBytes);
+        if (body.isEmpty()) {
+            log.warn("Rejected idempotent request to {} with a body over {} bytes", request.getRequestURI(), maxBodyBytes);
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBodyBytes + " bytes");
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, body.get());
+        String fingerprint = fingerprint(request.getMethod(), pathWithinApplication(request), cachedRequest.getBody());
+        String key = authentication.getName() + ":" + clientKey;
+        String marker = write(IdempotencyRecord.inProgress(fingerprint));
+
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (true) {
+            if (cacheManager.claimIdempotencyKey(key, marker, claimTtlSeconds)) {
+                execute(key, marker, fingerprint, cachedRequest, response, filterChain);
+                return;
+            }
+
+            IdempotencyRecord record = read(cacheManager.getIdempotencyKey(key));
+            if (record != null && !record.fingerprint().equals(fingerprint)) {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+                return;
+            }
+            if (record != null && record.state() == IdempotencyRecord.State.COMPLETED) {
+                replay(record, response);
+                log.debug("Replayed response for idempotency key {}", key);
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                return;
+            }
+            // In progress elsewhere, or released after a failure and free to claim again
+            if (record != null) {
+                sleep(pollMillis);
+            }
+        }
+    }
+
+    private void execute(String key, String marker, String fingerprint, CachedBodyHttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        ScheduledFuture<?> refresh = refreshClaim(key, marker);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            refresh.cancel(false);
+            cacheManager.releaseIdempotencyKey(key);
+            throw e;
+        }
+        refresh.cancel(false);
+
+        int status = cachingResponse.getStatus();
+        if (status >= 500) {
+            cacheManager.releaseIdempotencyKey(key);
+        } else {
+            String body = new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
+            cacheManager.setIdempotencyKey(key,
+                    write(IdempotencyRecord.completed(fingerprint, status, cachingResponse.getContentType(), body)),
+                    ttlHours);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    /**
+     * Keep the claim from expiring while the request runs; a refresh racing the stored response
+     * is a no-op, since it only touches the key while it still holds the marker
+     */
+    private ScheduledFuture<?> refreshClaim(String key, String marker) {
+        long periodMillis = Math.max(1, TimeUnit.SECONDS.toMillis(claimTtlSeconds) / 3);
+        return claimRefresher.scheduleAtFixedRate(() -> {
+            try {
+                cacheManager.extendIdempotencyClaim(key, marker, claimTtlSeconds);
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh idempotency claim {}: {}", key, e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        if (record.body() != null && !record.body().isEmpty()) {
+            byte[] body = record.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String write(IdempotencyRecord record) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(record);
+    }
+
+    private static IdempotencyRecord read(String value) throws JsonProcessingException {
+        return value != null ? objectMapper.readValue(value, IdempotencyRecord.class) : null;
+    }
+
+    private static void sleep(long millis) throws ServletException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted waiting for idempotent request", e);
+        }
+    }
+
+    private static void writeError(HttpServletRequest request, HttpServletResponse response,
+                                   HttpStatus status, String message) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(status.value());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", Instant.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
@@ -0,0 +1,18 @@
+package org.william.cex.infrastructure.idempotency;
+
+/**
+ * Value stored under an idempotency key: an in-progress claim, or the completed response to replay
+ * @param fingerprint hash of the method, path and body of the request that claimed the key
+ */
+record IdempotencyRecord(State state, String fingerprint, int status, String contentType, String body) {
+
+    enum State { IN_PROGRESS, COMPLETED }
+
+    static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(State.IN_PROGRESS, fingerprint, 0, null, null);
+    }
+
+    static IdempotencyRecord completed(String fingerprint, int status, String contentType, String body) {
+        return new IdempotencyRecord(State.COMPLETED, fingerprint, status, contentType, body);
+    }
+}
@@ -0,0 +1,116 @@
+package org.william.cex.infrastructure.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Writes one structured access line per request in place of per-call controller logging, and tags
+ * every log line written while the request is handled with {@code requestId} (and {@code userId}
+ * once authenticated) through the MDC, so they can be correlated in the JSON log.
+ * <p>
+ * Access lines are sampled at {@code logging.request.sample-rate}; server errors and requests slower
+ * than {@code logging.request.slow-threshold-ms} are always logged. Runs ahead of the security chain,
+ * so rejected requests are covered too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String USER_ID_KEY = "userId";
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Value("${logging.request.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${logging.request.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_KEY, requestId);
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Reactive handlers finish on another thread; log when the response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        MDC.put(REQUEST_ID_KEY, requestId);
+                        try {
+                            logAccess(request, response, start);
+                        } finally {
+                            MDC.remove(REQUEST_ID_KEY);
+                        }
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logAccess(request, response, start);
+            }
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(USER_ID_KEY);
+        }
+    }
+
+    /**
+     * The caller's {@code X-Request-Id} when it is usable, otherwise a fresh one
+     */
+    private static String requestId(HttpServletRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !REQUEST_ID_PATTERN.matcher(requestId).matches()) {
+            return UUID.randomUUID().toString();
+        }
+        return requestId;
+    }
+
+    private void logAccess(HttpServletRequest request, HttpServletResponse response, long start) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int status = response.getStatus();
+        if (status >= 500 || elapsedMillis >= slowThresholdMillis
+                || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.atInfo()
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("path", request.getRequestURI())
+                    .addKeyValue("status", status)
+                    .addKeyValue("durationMs", elapsedMillis)
+                    .log("{} {} {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.william.cex.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.william.cex.api.exception.InsufficientBalanceException;
+import org.william.cex.api.exception.InvalidOrderException;
+import org.william.cex.api.exception.UserNotFoundException;
+import org.william.cex.infrastructure.diagnostics.OrderOperationEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of each stage of the order lifecycle, as the {@code cex.order.stage} timer tagged by
+ * {@code operation} (create, cancel, fill, read), {@code stage}, {@code pair} and {@code outcome}
+ * (success, rejected, error). Percentile histograms are published, so p99/p999 per stage can be
+ * derived on the Prometheus side, and p50/p99/p999 are also reported per node.
+ * <p>
+ * {@code auth} (which includes {@code user_lookup}) is recorded by the authentication filters before
+ * the body is read, so it carries {@code pair=none}. The transaction is split into the balance,
+ * order, event and {@code cache} stages, then {@code commit} (flush and database commit), then
+ * {@code cache} again for the after-commit write-through. Pairs come from the request, so only the
+ * listed pairs in {@code metrics.order.pairs} get their own tag; any other pair is tagged {@code other}.
+ */
+@Component
+public class OrderStageMetrics {
+
+    public enum Operation { CREATE, CANCEL, FILL, READ }
+
+    public enum Stage { AUTH, USER_LOOKUP, BALANCE_LOCK, BALANCE_UNLOCK, ORDER_INSERT, ORDER_UPDATE, EVENT_INSERT, CACHE, COMMIT }
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+    public static final String NO_PAIR = "none";
+
+    private static final String OTHER_PAIR = "other";
+    private static final String ORDERS_PATH = "/v1/orders";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Value("${metrics.order.pairs:BTC/USD,ETH/USD,XRP/USD,USDT/USD}")
+    private List<String> configuredPairs;
+
+    private Set<String> taggedPairs;
+
+    @Autowired
+    public OrderStageMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void init() {
+        taggedPairs = Set.copyOf(configuredPairs.stream().map(pair -> pair.trim().toUpperCase()).toList());
+    }
+
+    public static String pair(String baseCurrency, String quoteCurrency) {
+        return baseCurrency.toUpperCase() + "/" + quoteCurrency.toUpperCase();
+    }
+
+    /**
+     * @return the operation an order API request performs, or null if it is not an order request
+     */
+    public Operation operationOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(ORDERS_PATH)) {
+            return null;
+        }
+        return switch (request.getMethod()) {
+            case "POST" -> Operation.CREATE;
+            case "DELETE" -> Operation.CANCEL;
+            default -> Operation.READ;
+        };
+    }
+
+    public <T> T time(Operation operation, Stage stage, String pair, Supplier<T> work) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = work.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (InvalidOrderException | InsufficientBalanceException | UserNotFoundException e) {
+            outcome = REJECTED;
+            throw e;
+        } finally {
+            record(operation, stage, pair, outcome, System.nanoTime() - start);
+        }
+    }
+
+    public void time(Operation operation, Stage stage, String pair, Runnable work) {
+        time(operation, stage, pair, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Time the commit of the current transaction, and the after-commit callbacks registered after
+     * this call (the cache write-through) as the {@code cache} stage. Call at the start of the
+     * transaction so this synchronization runs ahead of the callbacks it measures.
+     * <p>
+     * The whole operation, from this call until the transaction completes, is also recorded as a
+     * {@code cex.OrderOperation} JFR event, with outcome {@code rolled_back} if it does not commit.
+     *
+     * @param orderId 0 when creating; set it on the returned event once the order is inserted
+     */
+    public OrderOperationEvent timeCommit(Operation operation, long userId, long orderId, String pair) {
+        OrderOperationEvent event = OrderOperationEvent.begin(operation.name().toLowerCase(), userId, orderId, pair);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return event;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+            private long committedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                committedAt = System.nanoTime();
+                record(operation, Stage.COMMIT, pair, SUCCESS, committedAt - commitStart);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    record(operation, Stage.CACHE, pair, SUCCESS, System.nanoTime() - committedAt);
+                } else {
+                    event.rolledBack();
+                    if (commitStart != 0) {
+                        // The commit itself failed, rather than the transaction rolling back before it
+                        record(operation, Stage.COMMIT, pair, ERROR, System.nanoTime() - commitStart);
+                    }
+                }
+                event.finish();
+            }
+        });
+        return event;
+    }
+
+    public void record(Operation operation, Stage stage, String pair, String outcome, long nanos) {
+        String pairTag = boundedPair(pair);
+        String key = operation + ":" + stage + ":" + pairTag + ":" + outcome;
+        timers.computeIfAbsent(key, k -> Timer.builder("cex.order.stage")
+                        .description("Latency of each stage of the order lifecycle")
+                        .tag("operation", operation.name().toLowerCase())
+                        .tag("stage", stage.name().toLowerCase())
+                        .tag("pair", pairTag)
+                        .tag("outcome", outcome)
+                        .publishPercentiles(0.5, 0.99, 0.999)
+                        .publishPercentileHistogram()
+                        // 100us to 10s bounds the histogram buckets
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String boundedPair(String pair) {
+        return NO_PAIR.equals(pair) || taggedPairs.contains(pair) ? pair : OTHER_PAIR;
+    }
+}
@@ -0,0 +1,172 @@
+package org.william.cex.infrastructure.partition;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.william.cex.infrastructure.archive.PartitionArchive;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of {@code order_events} and {@code trades} (see V7):
+ * creates the current month's partition and the next {@code partition.premake-months} ahead of
+ * time, so rows never land in the default partition, and retires partitions older than
+ * {@code partition.retention-months} in two steps:
+ * <ol>
+ *     <li>detach the partition and drop the foreign keys it cloned from the parent, so deleting an
+ *     order never cascades into it or fails on a trade's NOT NULL order id</li>
+ *     <li>export the detached table with {@link PartitionArchive}, then drop it</li>
+ * </ol>
+ * The second step runs after the first commits, so the parent is only locked for the detach, and it
+ * picks up every detached {@code <table>_pYYYYMM} left by an earlier run that failed to export.
+ * <p>
+ * Runs at startup and on {@code partition.maintenance.cron}. Each step runs in a transaction under
+ * an advisory lock, so concurrent nodes skip a table another node is handling.
+ * Months are computed on the database clock; since future months already exist, rows stamped by a
+ * slightly skewed application clock near a boundary still land in a monthly partition.
+ */
+@Component
+@ConditionalOnProperty(name = "partition.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PartitionMaintenanceJob {
+
+    /**
+     * First key of the advisory locks; the second is the table name's hash
+     */
+    private static final int ADVISORY_LOCK_CLASS = 0x63657850;
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final Pattern PARTITION_MONTH = Pattern.compile("_p(\\d{6})$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PartitionArchive partitionArchive;
+
+    @Value("${partition.tables:order_events,trades}")
+    private List<String> tables;
+
+    @Value("${partition.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${partition.retention-months:12}")
+    private int retentionMonths;
+
+    @PostConstruct
+    void validate() {
+        for (String table : tables) {
+            if (!TABLE_NAME.matcher(table).matches()) {
+                throw new IllegalStateException("Invalid partitioned table name: " + table);
+            }
+        }
+        if (premakeMonths < 1) {
+            throw new IllegalStateException("partition.premake-months must be at least 1, was " + premakeMonths);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${partition.maintenance.cron:0 15 0 * * *}")
+    public void maintain() {
+        for (String table : tables) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> maintain(table));
+                transactionTemplate.executeWithoutResult(status -> archiveDetached(table));
+            } catch (Exception e) {
+                log.error("Partition maintenance of {} failed, will retry on the next run", table, e);
+            }
+        }
+    }
+
+    private void maintain(String table) {
+        if (!tryLock(table)) {
+            return;
+        }
+
+        for (int month = 0; month <= premakeMonths; month++) {
+            Boolean created = jdbcTemplate.queryForObject(
+                    "SELECT create_monthly_partition(?, (date_trunc('month', CURRENT_DATE) + make_interval(months => ?))::DATE)",
+                    Boolean.class, table, month);
+            if (Boolean.TRUE.equals(created)) {
+                log.info("Created partition of {} for {} month(s) ahead", table, month);
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        String oldestRetained = jdbcTemplate.queryForObject(
+                "SELECT to_char(date_trunc('month', CURRENT_DATE) - make_interval(months => ?), 'YYYYMM')",
+                String.class, retentionMonths);
+        for (String partition : partitionsOf(table)) {
+            Matcher month = PARTITION_MONTH.matcher(partition);
+            if (month.find() && month.group(1).compareTo(oldestRetained) < 0) {
+                // Names come from the catalog and match <table>_pYYYYMM, so they are safe to inline
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                for (String constraint : foreignKeysOf(partition)) {
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT \"" + constraint + "\"");
+                }
+                log.info("Detached partition {} of {}, older than {} months", partition, table, retentionMonths);
+            }
+        }
+    }
+
+    /**
+     * Exports and drops the table's detached partitions. The export is on disk before the drop commits.
+     */
+    private void archiveDetached(String table) {
+        if (!tryLock(table)) {
+            return;
+        }
+        List<String> detached = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c WHERE c.relkind = 'r' AND NOT c.relispartition " +
+                "AND c.relnamespace = current_schema()::regnamespace AND c.relname ~ ? ORDER BY c.relname",
+                String.class, "^" + table + "_p[0-9]{6}$");
+        for (String partition : detached) {
+            long rows = partitionArchive.export(table, partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Dropped detached partition {} after archiving {} rows", partition, rows);
+        }
+    }
+
+    private boolean tryLock(String table) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?, hashtext(?))",
+                Boolean.class, ADVISORY_LOCK_CLASS, table);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Partition maintenance of {} is running on another node", table);
+        }
+        return Boolean.TRUE.equals(locked);
+    }
+
+    private List<String> foreignKeysOf(String partition) {
+        return jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                String.class, partition);
+    }
+
+    /**
+     * Names of the table's attached partitions
+     */
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass ORDER BY c.relname",
+                String.class, table);
+    }
+}
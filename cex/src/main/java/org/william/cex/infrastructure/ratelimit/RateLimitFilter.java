@@ -0,0 +1,249 @@
+package org.william.cex.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.william.cex.infrastructure.security.UserPrincipal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles every request by caller: the authenticated user, or the client IP before login.
+ * <p>
+ * Each request takes a weighted number of tokens, the cost of the first {@code rate-limit.costs}
+ * rule matching it or {@code rate-limit.default-cost}, so an order placement drains the caller's
+ * bucket faster than a balance read. Buckets are lock-free {@link TokenBucket}s held per node.
+ * With {@code rate-limit.global.enabled} a request admitted locally must also pass a bucket in
+ * Redis shared by all nodes; if Redis is unavailable the local limit alone applies. Rejected
+ * requests get 429 with {@code Retry-After} and are counted in {@code cex.ratelimit.rejections},
+ * tagged by endpoint rule and scope (local, global).
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ENDPOINT = "default";
+    private static final String GLOBAL_KEY_PREFIX = "rate-limit:";
+
+    /**
+     * Generic cell rate algorithm on the Redis clock, in microseconds: KEYS[1] holds the instant the
+     * bucket is full again. Returns 0 when admitted, otherwise the microseconds until it would be.
+     * ARGV: cost, microseconds per token, burst in microseconds.
+     */
+    private static final RedisScript<Long> GLOBAL_ACQUIRE_SCRIPT = RedisScript.of(
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+            "local fullAt = math.max(tonumber(redis.call('GET', KEYS[1]) or now), now) " +
+            "local nextFullAt = fullAt + tonumber(ARGV[1]) * tonumber(ARGV[2]) " +
+            "local overdraft = nextFullAt - now - tonumber(ARGV[3]) " +
+            "if overdraft > 0 then " +
+            "  return overdraft " +
+            "end " +
+            // Format explicitly: Lua prints large numbers in exponent notation, losing precision
+            "redis.call('SET', KEYS[1], string.format('%d', nextFullAt), 'PX', math.ceil((nextFullAt - now) / 1000)) " +
+            "return 0", Long.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.capacity:100}")
+    private long capacity;
+
+    @Value("${rate-limit.refill-per-second:50}")
+    private double refillPerSecond;
+
+    @Value("${rate-limit.default-cost:1}")
+    private int defaultCost;
+
+    @Value("${rate-limit.costs:POST /v1/orders=10,DELETE /v1/orders/*=2,POST /v1/withdrawals=10,GET /v1/balance/*=1}")
+    private List<String> costs;
+
+    @Value("${rate-limit.exempt-paths:/actuator/health}")
+    private Set<String> exemptPaths;
+
+    @Value("${rate-limit.max-tracked:100000}")
+    private long maxTracked;
+
+    @Value("${rate-limit.global.enabled:false}")
+    private boolean globalEnabled;
+
+    @Value("${rate-limit.global.capacity:200}")
+    private long globalCapacity;
+
+    @Value("${rate-limit.global.refill-per-second:100}")
+    private double globalRefillPerSecond;
+
+    private final List<RateLimitRule> rules = new ArrayList<>();
+    private final Map<String, Counter> localRejections = new HashMap<>();
+    private final Map<String, Counter> globalRejections = new HashMap<>();
+    private Counter globalErrors;
+    private Cache<String, TokenBucket> buckets;
+    private long globalMicrosPerToken;
+
+    @PostConstruct
+    void init() {
+        for (String entry : costs) {
+            RateLimitRule rule = RateLimitRule.parse(entry);
+            validateCost(rule.name(), rule.cost());
+            rules.add(rule);
+        }
+        validateCost(DEFAULT_ENDPOINT, defaultCost);
+
+        List<String> endpoints = new ArrayList<>(rules.stream().map(RateLimitRule::name).toList());
+        endpoints.add(DEFAULT_ENDPOINT);
+        for (String endpoint : endpoints) {
+            localRejections.put(endpoint, rejections(endpoint, "local"));
+            globalRejections.put(endpoint, rejections(endpoint, "global"));
+        }
+        globalErrors = Counter.builder("cex.ratelimit.global.errors")
+                .description("Global rate limit checks skipped because Redis failed")
+                .register(meterRegistry);
+
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                // An idle bucket that has refilled completely is indistinguishable from a new one
+                .expireAfterAccess(Duration.ofMillis((long) Math.ceil(capacity / refillPerSecond * 1000)))
+                .build();
+        globalMicrosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toMicros(1) / globalRefillPerSecond));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || exemptPaths.contains(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = pathWithinApplication(request);
+        RateLimitRule rule = rules.stream()
+                .filter(candidate -> candidate.matches(request.getMethod(), path))
+                .findFirst()
+                .orElse(null);
+        String endpoint = rule != null ? rule.name() : DEFAULT_ENDPOINT;
+        int cost = rule != null ? rule.cost() : defaultCost;
+        String subject = subject(request);
+
+        long waitNanos = buckets.get(subject, k -> new TokenBucket(capacity, refillPerSecond)).tryAcquire(cost);
+        if (waitNanos > 0) {
+            localRejections.get(endpoint).increment();
+            reject(request, response, subject, endpoint, waitNanos);
+            return;
+        }
+
+        if (globalEnabled) {
+            waitNanos = acquireGlobal(subject, cost);
+            if (waitNanos > 0) {
+                globalRejections.get(endpoint).increment();
+                reject(request, response, subject, endpoint, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return 0 if admitted, otherwise nanoseconds until the shared bucket has the tokens
+     */
+    private long acquireGlobal(String subject, int cost) {
+        try {
+            Long overdraftMicros = stringRedisTemplate.execute(GLOBAL_ACQUIRE_SCRIPT,
+                    List.of(GLOBAL_KEY_PREFIX + subject),
+                    String.valueOf(cost),
+                    String.valueOf(globalMicrosPerToken),
+                    String.valueOf(globalCapacity * globalMicrosPerToken));
+            return overdraftMicros != null ? TimeUnit.MICROSECONDS.toNanos(overdraftMicros) : 0;
+        } catch (Exception e) {
+            // Fail open: the per-node limit still applies
+            globalErrors.increment();
+            log.warn("Global rate limit check failed for {}: {}", subject, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.userId();
+        }
+        // The client's address, not the proxy's: server.forward-headers-strategy resolves X-Forwarded-For
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void validateCost(String endpoint, int cost) {
+        if (cost <= 0 || cost > capacity) {
+            throw new IllegalStateException("Rate limit cost of " + endpoint + " must be between 1 and the capacity "
+                    + capacity + ", was " + cost);
+        }
+    }
+
+    private Counter rejections(String endpoint, String scope) {
+        return Counter.builder("cex.ratelimit.rejections")
+                .description("Requests rejected with 429 by the rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response,
+                               String subject, String endpoint, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limited {} on {}, retry after {}s", subject, endpoint, retryAfterSeconds);
+
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", Instant.now());
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        errorResponse.put("message", "Rate limit exceeded, retry after " + retryAfterSeconds + "s");
+        errorResponse.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
@@ -0,0 +1,35 @@
+package org.william.cex.infrastructure.ratelimit;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Token cost of requests matching an HTTP method and Ant-style path, parsed from
+ * {@code METHOD /path=cost} entries of {@code rate-limit.costs}
+ */
+record RateLimitRule(String method, String pattern, int cost) {
+
+    private static final AntPathMatcher matcher = new AntPathMatcher();
+
+    static RateLimitRule parse(String entry) {
+        String[] methodAndRest = entry.trim().split("\\s+", 2);
+        int equals = methodAndRest.length == 2 ? methodAndRest[1].lastIndexOf('=') : -1;
+        if (equals < 0) {
+            throw new IllegalArgumentException("Rate limit cost must look like 'METHOD /path=cost': " + entry);
+        }
+        return new RateLimitRule(
+                methodAndRest[0].toUpperCase(),
+                methodAndRest[1].substring(0, equals).trim(),
+                Integer.parseInt(methodAndRest[1].substring(equals + 1).trim()));
+    }
+
+    boolean matches(String requestMethod, String path) {
+        return method.equals(requestMethod) && matcher.match(pattern, path);
+    }
+
+    /**
+     * Metric tag for the endpoint; bounded by the number of configured rules
+     */
+    String name() {
+        return method + " " + pattern;
+    }
+}
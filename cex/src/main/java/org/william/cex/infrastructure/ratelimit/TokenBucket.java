@@ -0,0 +1,50 @@
+package org.william.cex.infrastructure.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilling at
+ * {@code refillPerSecond}. The state is a single timestamp, the instant at which the bucket will
+ * be full again (the generic cell rate algorithm), so acquiring is one compare-and-set with no
+ * background refill.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and refill rate");
+        }
+        this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take {@code tokens} from the bucket if they are all available
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until they will be
+     */
+    public long tryAcquire(long tokens) {
+        long cost = tokens * nanosPerToken;
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1) == 0;
+    }
+}
@@ -0,0 +1,228 @@
+package org.william.cex.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.william.cex.infrastructure.idempotency.CachedBodyHttpServletRequest;
+import org.william.cex.infrastructure.logging.RequestLogFilter;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Operation;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Stage;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Authenticates requests signed with an API key, a CPU-cheap alternative to JWTs for bots.
+ * <p>
+ * The client sends {@code X-API-KEY}, {@code X-API-TIMESTAMP} (epoch millis), {@code X-API-NONCE}
+ * and {@code X-API-SIGNATURE}, the hex HMAC-SHA256 under the key's secret of
+ * <pre>
+ * timestamp \n nonce \n METHOD \n request-uri[?query] \n hex(sha256(body))
+ * </pre>
+ * Requests outside {@code auth.api-key.window-seconds} of the server clock are rejected, and each
+ * nonce is accepted once per key within that window: first against a per-key window in memory,
+ * then, with {@code auth.api-key.shared-nonces}, with SET NX in Redis so a replay to another node
+ * is caught too. Like {@link JwtAuthFilter}, a rejected request continues unauthenticated and is
+ * refused with 401 by the entry point. The body is hashed into the signature, so it is read before
+ * authentication; one over {@code auth.api-key.max-body-bytes} is refused with 413 unread.
+ */
+@Component
+@Slf4j
+public class ApiKeyAuthFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "X-API-KEY";
+    public static final String TIMESTAMP_HEADER = "X-API-TIMESTAMP";
+    public static final String NONCE_HEADER = "X-API-NONCE";
+    public static final String SIGNATURE_HEADER = "X-API-SIGNATURE";
+
+    private static final String NONCE_KEY_PREFIX = "api-nonce:";
+    private static final int MAX_NONCE_LENGTH = 64;
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    @Autowired
+    private ApiKeySecretCache apiKeySecretCache;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private OrderStageMetrics stageMetrics;
+
+    @Value("${auth.api-key.window-seconds:30}")
+    private long windowSeconds;
+
+    @Value("${auth.api-key.max-nonces-per-window:10000}")
+    private int maxNoncesPerWindow;
+
+    @Value("${auth.api-key.shared-nonces:true}")
+    private boolean sharedNonces;
+
+    @Value("${auth.api-key.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    private long windowMillis;
+    private Cache<String, NonceWindow> nonceWindows;
+
+    @PostConstruct
+    void init() {
+        windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        nonceWindows = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(2 * windowMillis))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Operation operation = stageMetrics.operationOf(request);
+        long start = System.nanoTime();
+        boolean authenticated = false;
+        Optional<byte[]> body = CachedBodyHttpServletRequest.readBody(request, maxBodyBytes);
+        if (body.isEmpty()) {
+            log.warn("Rejected API key request to {} with a body over {} bytes", request.getRequestURI(), maxBodyBytes);
+            writePayloadTooLarge(request, response);
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, body.get());
+        try {
+            ApiKeyPrincipal principal = authenticate(cachedRequest);
+            if (principal != null) {
+                authenticated = true;
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role()))
+                );
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                MDC.put(RequestLogFilter.USER_ID_KEY, String.valueOf(principal.userId()));
+                log.debug("API key {} authenticated for user: {}", principal.keyId(), principal.email());
+            }
+        } catch (Exception ex) {
+            log.error("Failed to validate API key signature: {}", ex.getMessage());
+        }
+        if (operation != null) {
+            stageMetrics.record(operation, Stage.AUTH, OrderStageMetrics.NO_PAIR,
+                    authenticated ? OrderStageMetrics.SUCCESS : OrderStageMetrics.REJECTED, System.nanoTime() - start);
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private void writePayloadTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", Instant.now());
+        errorResponse.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        errorResponse.put("error", HttpStatus.PAYLOAD_TOO_LARGE.getReasonPhrase());
+        errorResponse.put("message", "Request body exceeds " + maxBodyBytes + " bytes");
+        errorResponse.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private ApiKeyPrincipal authenticate(CachedBodyHttpServletRequest request) throws GeneralSecurityException {
+        String keyId = request.getHeader(KEY_HEADER);
+        String timestampHeader = request.getHeader(TIMESTAMP_HEADER);
+        String nonce = request.getHeader(NONCE_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (timestampHeader == null || nonce == null || signature == null
+                || nonce.isEmpty() || nonce.length() > MAX_NONCE_LENGTH) {
+            log.warn("Incomplete API key signature headers for key {}", keyId);
+            return null;
+        }
+
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(timestampHeader);
+        } catch (NumberFormatException e) {
+            log.warn("Malformed API key timestamp for key {}", keyId);
+            return null;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestamp) > windowMillis) {
+            log.warn("API key request outside the {}s window for key {}", windowSeconds, keyId);
+            return null;
+        }
+
+        Optional<ApiKeyCredentials> found = apiKeySecretCache.get(keyId);
+        if (found.isEmpty()) {
+            log.warn("Unknown or revoked API key {}", keyId);
+            return null;
+        }
+        ApiKeyCredentials credentials = found.get();
+
+        // Check the signature before recording the nonce, so forged requests cannot use up nonces
+        byte[] presented;
+        try {
+            presented = HexFormat.of().parseHex(signature);
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed API key signature for key {}", keyId);
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(credentials, request, timestampHeader, nonce), presented)) {
+            log.warn("Invalid API key signature for key {}", keyId);
+            return null;
+        }
+
+        if (!nonceWindows.get(keyId, k -> new NonceWindow(windowMillis, maxNoncesPerWindow)).register(nonce, timestamp)
+                || (sharedNonces && !claimSharedNonce(keyId, nonce))) {
+            log.warn("Replayed nonce for API key {}", keyId);
+            return null;
+        }
+
+        return new ApiKeyPrincipal(credentials.userId(), credentials.email(), credentials.role(), keyId);
+    }
+
+    private boolean claimSharedNonce(String keyId, String nonce) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(NONCE_KEY_PREFIX + keyId + ":" + nonce, "1", Duration.ofMillis(2 * windowMillis)));
+    }
+
+    private static byte[] sign(ApiKeyCredentials credentials, CachedBodyHttpServletRequest request,
+                               String timestamp, String nonce) throws GeneralSecurityException {
+        String target = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+        String bodyHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request.getBody()));
+        String payload = timestamp + "\n" + nonce + "\n" + request.getMethod() + "\n" + target + "\n" + bodyHash;
+
+        Mac mac = Mac.getInstance(ApiKeySecretCache.HMAC_ALGORITHM);
+        mac.init(credentials.signingKey());
+        return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,9 @@
+package org.william.cex.infrastructure.security;
+
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Active API key joined with its owner, as needed to verify a signed request
+ */
+record ApiKeyCredentials(String keyId, Long userId, String email, String role, SecretKeySpec signingKey) {
+}
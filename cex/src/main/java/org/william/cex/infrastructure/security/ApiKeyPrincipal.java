@@ -0,0 +1,8 @@
+package org.william.cex.infrastructure.security;
+
+/**
+ * Principal of a request authenticated by an HMAC-signed API key
+ * @param keyId public id of the key that signed the request
+ */
+public record ApiKeyPrincipal(Long userId, String email, String role, String keyId) implements UserPrincipal {
+}
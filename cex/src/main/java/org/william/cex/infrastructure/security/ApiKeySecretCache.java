@@ -0,0 +1,82 @@
+package org.william.cex.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.william.cex.domain.user.entity.ApiKey;
+import org.william.cex.domain.user.repository.ApiKeyRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * In-memory cache of decrypted API key secrets, so verifying a signed request needs no database access.
+ * Unknown and revoked key ids are cached as absent too. A key revoked on another node stays
+ * usable here for at most {@code auth.api-key.cache-ttl-seconds}. Misses are loaded outside the
+ * cache, as in {@link UserExistenceCache}, so JDBC never blocks inside a map lock.
+ */
+@Component
+@Slf4j
+public class ApiKeySecretCache {
+
+    static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApiKeySecretCipher apiKeySecretCipher;
+
+    @Value("${auth.api-key.cache-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.api-key.cache-max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, Optional<ApiKeyCredentials>> credentials;
+
+    @PostConstruct
+    void init() {
+        credentials = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    Optional<ApiKeyCredentials> get(String keyId) {
+        Optional<ApiKeyCredentials> cached = credentials.getIfPresent(keyId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<ApiKeyCredentials> loaded = load(keyId);
+        credentials.put(keyId, loaded);
+        return loaded;
+    }
+
+    public void evict(String keyId) {
+        credentials.invalidate(keyId);
+    }
+
+    private Optional<ApiKeyCredentials> load(String keyId) {
+        return apiKeyRepository.findByKeyId(keyId)
+                .filter(ApiKey::isActive)
+                .flatMap(key -> userRepository.findById(key.getUserId())
+                        .map(user -> new ApiKeyCredentials(
+                                key.getKeyId(),
+                                user.getId(),
+                                user.getEmail(),
+                                user.getRole().toString(),
+                                new SecretKeySpec(apiKeySecretCipher.open(key.getKeyId(), key.getSecret())
+                                        .getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM))));
+    }
+}
@@ -0,0 +1,100 @@
+package org.william.cex.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encrypts API key secrets at rest. The server must recompute each signature, so the secret cannot
+ * be hashed like a password; instead {@code api_keys.secret} holds it sealed with AES-GCM under
+ * {@code auth.api-key.encryption-key}, which lives only in the server's configuration. The key id is
+ * bound in as associated data, so a sealed secret copied onto another row does not decrypt.
+ * <p>
+ * Stored form: {@code v1:} followed by base64 of the 12-byte nonce and the ciphertext with its tag.
+ * Values without the prefix are plaintext rows written before encryption; {@link #isSealed} lets
+ * {@code ApiKeyService} find and re-encrypt them at startup.
+ */
+@Component
+public class ApiKeySecretCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom random = new SecureRandom();
+
+    @Value("${auth.api-key.encryption-key:}")
+    private String encodedKey;
+
+    private SecretKey key;
+
+    @PostConstruct
+    void init() {
+        if (!StringUtils.hasText(encodedKey)) {
+            throw new IllegalStateException("auth.api-key.encryption-key (env AUTH_API_KEY_ENCRYPTION_KEY) must be set; " +
+                    "generate one with: openssl rand -base64 32");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encodedKey);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("auth.api-key.encryption-key must be base64", e);
+        }
+        if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+            throw new IllegalStateException("auth.api-key.encryption-key must be a base64 AES key of 16, 24 or 32 bytes");
+        }
+        key = new SecretKeySpec(bytes, "AES");
+    }
+
+    public String seal(String keyId, String secret) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        try {
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, keyId, nonce);
+            byte[] sealed = cipher.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            return PREFIX + Base64.getEncoder().withoutPadding().encodeToString(
+                    ByteBuffer.allocate(NONCE_LENGTH + sealed.length).put(nonce).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt secret of API key " + keyId, e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the value was sealed under another key or for another key id
+     */
+    public String open(String keyId, String stored) {
+        if (!isSealed(stored)) {
+            return stored;
+        }
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try {
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, keyId, Arrays.copyOf(bytes, NONCE_LENGTH));
+            return new String(cipher.doFinal(bytes, NONCE_LENGTH, bytes.length - NONCE_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt secret of API key " + keyId, e);
+        }
+    }
+
+    public boolean isSealed(String stored) {
+        return stored.startsWith(PREFIX);
+    }
+
+    private Cipher cipher(int mode, String keyId, byte[] nonce) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+        cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+}
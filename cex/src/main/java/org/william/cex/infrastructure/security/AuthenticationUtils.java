@@ -15,18 +15,44 @@ import java.util.Optional;
 public class AuthenticationUtils {
 
     /**
-     * Extract authenticated user's email from SecurityContext
+     * Extract the authenticated principal from SecurityContext, whether a JWT or an API key was used
      */
-    public String getAuthenticatedUserEmail() {
+    public UserPrincipal getAuthenticatedPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            log.debug("Request secured with authenticated user: {}", authentication.getPrincipal());
-            return (String) authentication.getPrincipal();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            log.debug("Request secured with authenticated user: {}", principal.email());
+            return principal;
         }
         log.warn("Request attempted without proper authentication");
         throw new IllegalArgumentException("User not authenticated");
     }
 
+    /**
+     * Extract the principal of a JWT-authenticated request from SecurityContext
+     * @throws IllegalArgumentException if the request was not authenticated with a JWT
+     */
+    public JwtPrincipal getAuthenticatedUser() {
+        if (getAuthenticatedPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
+        }
+        throw new IllegalArgumentException("Request not authenticated with a token");
+    }
+
+    /**
+     * Extract authenticated user's id from SecurityContext
+     */
+    public Long getAuthenticatedUserId() {
+        return getAuthenticatedPrincipal().userId();
+    }
+
+    /**
+     * Extract authenticated user's email from SecurityContext
+     */
+    public String getAuthenticatedUserEmail() {
+        return getAuthenticatedPrincipal().email();
+    }
+
     /**
      * Check if authenticated user has a specific role
      */
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -12,7 +13,10 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.infrastructure.logging.RequestLogFilter;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Operation;
+import org.william.cex.infrastructure.metrics.OrderStageMetrics.Stage;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -25,7 +29,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserExistenceCache userExistenceCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private OrderStageMetrics stageMetrics;
 
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
@@ -33,36 +43,67 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String token = extractToken(request);
+        if (token != null) {
+            Operation operation = stageMetrics.operationOf(request);
+            long start = System.nanoTime();
+            boolean authenticated = authenticate(token, operation);
+            if (operation != null) {
+                stageMetrics.record(operation, Stage.AUTH, OrderStageMetrics.NO_PAIR,
+                        authenticated ? OrderStageMetrics.SUCCESS : OrderStageMetrics.REJECTED, System.nanoTime() - start);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @param operation order operation of the request, to time the user lookup stage; null otherwise
+     * @return whether the token authenticated the request
+     */
+    private boolean authenticate(String token, Operation operation) {
         try {
-            String token = extractToken(request);
+            JwtPrincipal principal = jwtTokenProvider.parseToken(token);
 
-            if (token != null && jwtTokenProvider.isTokenValid(token)) {
-                String email = jwtTokenProvider.getEmailFromToken(token);
-                String role = jwtTokenProvider.getRoleFromToken(token);
+            if (principal != null) {
+                String email = principal.email();
+                String role = principal.role();
+
+                // Reject revoked tokens; memory-only unless the bloom filter reports a possible match
+                if (tokenRevocationService.isRevoked(principal.tokenId())) {
+                    log.warn("Revoked token presented for user: {}", email);
+                    return false;
+                }
 
-                // Validate identity: verify user exists in the database
-                if (!userRepository.existsByEmail(email)) {
+                // Validate identity: verify the user still exists (cached briefly)
+                long lookupStart = System.nanoTime();
+                boolean exists = userExistenceCache.exists(principal.userId());
+                if (operation != null) {
+                    stageMetrics.record(operation, Stage.USER_LOOKUP, OrderStageMetrics.NO_PAIR,
+                            exists ? OrderStageMetrics.SUCCESS : OrderStageMetrics.REJECTED, System.nanoTime() - lookupStart);
+                }
+                if (!exists) {
                     log.warn("User not found in database for email: {}", email);
-                    filterChain.doFilter(request, response);
-                    return;
+                    return false;
                 }
 
                 // Create authentication token with role-based authority
                 String authority = "ROLE_" + (role != null ? role : "USER");
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        email,
+                        principal,
                         null,
                         Collections.singletonList(new SimpleGrantedAuthority(authority))
                 );
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                MDC.put(RequestLogFilter.USER_ID_KEY, String.valueOf(principal.userId()));
                 log.debug("JWT token validated and identity confirmed for user: {} with role: {}", email, role);
+                return true;
             }
         } catch (Exception ex) {
             log.error("Failed to validate JWT token: {}", ex.getMessage());
         }
-
-        filterChain.doFilter(request, response);
+        return false;
     }
 
     private String extractToken(HttpServletRequest request) {
@@ -0,0 +1,14 @@
+package org.william.cex.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * Verified claims of a JWT, parsed once per token. Set as the principal of authenticated
+ * requests, so the caller's id is available without a user lookup.
+ * @param userId subject of the token (user or administrator id)
+ * @param tokenId {@code jti} claim, the handle used to revoke the token
+ * @param expiresAt token expiry; cached verifications are dropped at this instant
+ */
+public record JwtPrincipal(Long userId, String email, String role, String tokenId, Instant expiresAt)
+        implements UserPrincipal {
+}
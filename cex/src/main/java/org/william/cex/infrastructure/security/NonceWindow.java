@@ -0,0 +1,44 @@
+package org.william.cex.infrastructure.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nonces seen for one API key, each kept until its request timestamp leaves the acceptance
+ * window. A request older than the window is rejected on its timestamp, so only nonces that
+ * could still be replayed are remembered.
+ */
+class NonceWindow {
+
+    private final long windowMillis;
+    private final int maxNonces;
+    private final ConcurrentHashMap<String, Long> expiries = new ConcurrentHashMap<>();
+    private final AtomicLong nextPrune = new AtomicLong();
+
+    NonceWindow(long windowMillis, int maxNonces) {
+        this.windowMillis = windowMillis;
+        this.maxNonces = maxNonces;
+    }
+
+    /**
+     * @return true if the nonce is new within the window; false for a replay or when the window is full
+     */
+    boolean register(String nonce, long timestampMillis) {
+        long now = System.currentTimeMillis();
+        prune(now, false);
+        if (expiries.size() >= maxNonces) {
+            prune(now, true);
+            if (expiries.size() >= maxNonces) {
+                return false;
+            }
+        }
+        return expiries.putIfAbsent(nonce, timestampMillis + windowMillis) == null;
+    }
+
+    private void prune(long now, boolean force) {
+        long due = nextPrune.get();
+        if ((force || now >= due) && nextPrune.compareAndSet(due, now + Math.max(1, windowMillis / 4))) {
+            expiries.values().removeIf(expiry -> expiry < now);
+        }
+    }
+}
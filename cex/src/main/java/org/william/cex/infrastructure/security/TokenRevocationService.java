@@ -0,0 +1,148 @@
+package org.william.cex.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Revocation list for JWTs, keyed by their {@code jti} claim.
+ * <p>
+ * Redis is the source of truth: each revoked token has a {@code revoked-token:<jti>} key that
+ * expires with the token, plus an entry in the {@code revoked-tokens} sorted set scored by expiry.
+ * Every node keeps a bloom filter of revoked ids, seeded from the sorted set at startup, extended
+ * by pub/sub as tokens are revoked anywhere, and rebuilt every
+ * {@code auth.revocation.rebuild-interval-ms} to drop expired ids. Checking a token that was never
+ * revoked is therefore memory-only; Redis is consulted only on a bloom positive, or while the
+ * filter has not been seeded.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    static final String REVOCATION_CHANNEL = "auth:token-revocation";
+
+    private static final String REVOKED_KEY_PREFIX = "revoked-token:";
+    private static final String REVOKED_INDEX_KEY = "revoked-tokens";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${auth.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${auth.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Receives revocations published while a rebuild is reading the sorted set
+    private volatile BloomFilter rebuilding;
+    private volatile boolean seeded;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        // Subscribe before seeding so no revocation falls between the snapshot and the first message
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * Revoke a token until it expires. Tokens issued without a {@code jti} cannot be revoked.
+     */
+    public void revoke(JwtPrincipal principal) {
+        String tokenId = principal.tokenId();
+        if (tokenId == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked");
+        }
+        Duration remaining = Duration.between(Instant.now(), principal.expiresAt());
+        if (remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+
+        stringRedisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + tokenId, "1", remaining);
+        stringRedisTemplate.opsForZSet().add(REVOKED_INDEX_KEY, tokenId, principal.expiresAt().toEpochMilli());
+        addLocally(tokenId);
+        try {
+            stringRedisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId);
+        } catch (Exception e) {
+            // Other nodes still reject the token once their next rebuild reads the sorted set
+            log.warn("Failed to publish revocation of token {}: {}", tokenId, e.getMessage());
+        }
+        log.info("Revoked token {} of user {}", tokenId, principal.userId());
+    }
+
+    /**
+     * @return true if the token was revoked; fails closed when Redis cannot confirm a bloom positive
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (seeded && !filter.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(REVOKED_KEY_PREFIX + tokenId));
+        } catch (Exception e) {
+            log.error("Failed to check revocation of token {}: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Replace the bloom filter with one built from the unexpired entries of the sorted set
+     */
+    @Scheduled(initialDelayString = "${auth.revocation.rebuild-interval-ms:600000}",
+            fixedDelayString = "${auth.revocation.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedRevocations, falsePositiveRate);
+        rebuilding = next;
+        try {
+            long now = System.currentTimeMillis();
+            stringRedisTemplate.opsForZSet().removeRangeByScore(REVOKED_INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> revoked = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(REVOKED_INDEX_KEY, now, Double.POSITIVE_INFINITY);
+            if (revoked != null) {
+                revoked.forEach(next::add);
+            }
+            filter = next;
+            seeded = true;
+            log.info("Token revocation filter rebuilt with {} revoked tokens", revoked != null ? revoked.size() : 0);
+        } catch (Exception e) {
+            // Keep the current filter; until the first successful seed every check goes to Redis
+            log.warn("Failed to rebuild token revocation filter: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocally(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void addLocally(String tokenId) {
+        // Read the rebuild target first: if it is already gone, the swapped-in filter is current
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(tokenId);
+        }
+        filter.add(tokenId);
+    }
+}
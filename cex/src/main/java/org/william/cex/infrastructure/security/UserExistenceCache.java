@@ -0,0 +1,58 @@
+package org.william.cex.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.william.cex.domain.user.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of whether the user behind a token still exists. Replaces the per-request
+ * database check in {@link JwtAuthFilter}; a deleted user keeps a valid token for at most
+ * {@code auth.user-cache.ttl-seconds} unless {@link #evict} is called.
+ * <p>
+ * Misses are loaded outside the cache rather than through a Caffeine loader: a loader runs inside
+ * a {@code ConcurrentHashMap} bin lock, and blocking on JDBC there would pin a virtual thread.
+ */
+@Component
+@Slf4j
+public class UserExistenceCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.user-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<Long, Boolean> existingUsers;
+
+    @PostConstruct
+    void init() {
+        existingUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        Boolean cached = existingUsers.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = userRepository.existsById(userId);
+        existingUsers.put(userId, exists);
+        return exists;
+    }
+
+    public void evict(Long userId) {
+        existingUsers.invalidate(userId);
+    }
+}
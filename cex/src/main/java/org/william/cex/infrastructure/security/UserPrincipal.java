@@ -0,0 +1,20 @@
+package org.william.cex.infrastructure.security;
+
+import java.security.Principal;
+
+/**
+ * Caller identity set on authenticated requests, whichever credential was presented
+ */
+public interface UserPrincipal extends Principal {
+
+    Long userId();
+
+    String email();
+
+    String role();
+
+    @Override
+    default String getName() {
+        return email();
+    }
+}
@@ -0,0 +1,27 @@
+-- Withdrawals Table (queue consumed by the batched withdrawal processor)
+CREATE TABLE withdrawals (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    amount NUMERIC(20, 8) NOT NULL,
+    fee NUMERIC(20, 8) NOT NULL DEFAULT 0,
+    destination_address VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    tx_hash VARCHAR(255),
+    processed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_withdrawals_user_id FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT check_withdrawal_amount_positive CHECK (amount > 0),
+    CONSTRAINT check_withdrawal_fee_non_negative CHECK (fee >= 0)
+);
+
+CREATE INDEX idx_withdrawals_user_id ON withdrawals(user_id);
+CREATE INDEX idx_withdrawals_status_currency ON withdrawals(status, currency, id);
+
+-- Link withdrawal fees back to the withdrawal that produced them
+ALTER TABLE fee_transactions ADD COLUMN withdrawal_id BIGINT;
+ALTER TABLE fee_transactions ADD CONSTRAINT fk_fee_transactions_withdrawal_id
+    FOREIGN KEY (withdrawal_id) REFERENCES withdrawals(id) ON DELETE SET NULL;
+
+CREATE INDEX idx_fee_transactions_withdrawal_id ON fee_transactions(withdrawal_id);
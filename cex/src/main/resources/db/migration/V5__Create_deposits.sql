@@ -0,0 +1,14 @@
+-- Deposits Table (back-office credits, one row per external reference)
+CREATE TABLE deposits (
+    id BIGSERIAL PRIMARY KEY,
+    external_ref VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    amount NUMERIC(20, 8) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_deposits_user_id FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT deposits_external_ref_unique UNIQUE (external_ref),
+    CONSTRAINT check_deposit_amount_positive CHECK (amount > 0)
+);
+
+CREATE INDEX idx_deposits_user_id ON deposits(user_id);
@@ -0,0 +1,14 @@
+-- API Keys Table (HMAC request signing for programmatic clients)
+CREATE TABLE api_keys (
+    id BIGSERIAL PRIMARY KEY,
+    key_id VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    secret VARCHAR(128) NOT NULL,
+    label VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    revoked_at TIMESTAMP,
+    CONSTRAINT fk_api_keys_user_id FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT api_keys_key_id_unique UNIQUE (key_id)
+);
+
+CREATE INDEX idx_api_keys_user_id ON api_keys(user_id);
@@ -0,0 +1,104 @@
+-- Convert order_events and trades to monthly range partitions on created_at.
+-- Inserts touch only the current month's indexes and recent-range queries prune to a few partitions;
+-- old months are detached whole by PartitionMaintenanceJob instead of being deleted row by row.
+-- Partitions are named <table>_pYYYYMM. A default partition catches rows outside every range, so
+-- inserts never fail if maintenance falls behind; it should stay empty.
+
+-- Creates the month's partition of a table unless it exists; returns whether it was created
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent_table TEXT, month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    partition_name TEXT := parent_table || '_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent_table, range_start, (range_start + INTERVAL '1 month')::DATE);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates partitions for every month from the earliest existing row through two months ahead
+CREATE OR REPLACE FUNCTION create_partitions_for_range(parent_table TEXT, first_month DATE) RETURNS VOID AS $$
+DECLARE
+    next_month DATE := date_trunc('month', LEAST(first_month, CURRENT_DATE))::DATE;
+BEGIN
+    WHILE next_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '2 months')::DATE LOOP
+        PERFORM create_monthly_partition(parent_table, next_month);
+        next_month := (next_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Order Events
+ALTER TABLE order_events RENAME TO order_events_unpartitioned;
+ALTER TABLE order_events_unpartitioned RENAME CONSTRAINT order_events_pkey TO order_events_unpartitioned_pkey;
+ALTER TABLE order_events_unpartitioned RENAME CONSTRAINT fk_order_events_order_id TO fk_order_events_unpartitioned_order_id;
+ALTER INDEX idx_order_events_order_id RENAME TO idx_order_events_unpartitioned_order_id;
+ALTER INDEX idx_order_events_created_at RENAME TO idx_order_events_unpartitioned_created_at;
+ALTER SEQUENCE order_events_id_seq OWNED BY NONE;
+
+-- The partition key must be part of the primary key; ids stay unique through the sequence
+CREATE TABLE order_events (
+    id BIGINT NOT NULL DEFAULT nextval('order_events_id_seq'),
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    details JSONB,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT order_events_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_order_events_order_id FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE order_events_id_seq OWNED BY order_events.id;
+
+CREATE INDEX idx_order_events_order_id ON order_events(order_id);
+CREATE INDEX idx_order_events_created_at ON order_events(created_at DESC);
+
+CREATE TABLE order_events_default PARTITION OF order_events DEFAULT;
+
+SELECT create_partitions_for_range('order_events',
+        COALESCE((SELECT MIN(created_at)::DATE FROM order_events_unpartitioned), CURRENT_DATE));
+
+INSERT INTO order_events (id, order_id, event_type, details, created_at)
+SELECT id, order_id, event_type, details, created_at FROM order_events_unpartitioned;
+
+DROP TABLE order_events_unpartitioned;
+
+-- Trades
+ALTER TABLE trades RENAME TO trades_unpartitioned;
+ALTER TABLE trades_unpartitioned RENAME CONSTRAINT trades_pkey TO trades_unpartitioned_pkey;
+ALTER TABLE trades_unpartitioned RENAME CONSTRAINT fk_trades_buy_order_id TO fk_trades_unpartitioned_buy_order_id;
+ALTER TABLE trades_unpartitioned RENAME CONSTRAINT fk_trades_sell_order_id TO fk_trades_unpartitioned_sell_order_id;
+ALTER INDEX idx_trades_created_at RENAME TO idx_trades_unpartitioned_created_at;
+ALTER SEQUENCE trades_id_seq OWNED BY NONE;
+
+CREATE TABLE trades (
+    id BIGINT NOT NULL DEFAULT nextval('trades_id_seq'),
+    buy_order_id BIGINT NOT NULL,
+    sell_order_id BIGINT NOT NULL,
+    amount NUMERIC(20, 8) NOT NULL,
+    price NUMERIC(20, 8) NOT NULL,
+    settlement_status VARCHAR(50) DEFAULT 'PENDING',
+    settled_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT trades_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_trades_buy_order_id FOREIGN KEY (buy_order_id) REFERENCES orders(id) ON DELETE SET NULL,
+    CONSTRAINT fk_trades_sell_order_id FOREIGN KEY (sell_order_id) REFERENCES orders(id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE trades_id_seq OWNED BY trades.id;
+
+CREATE INDEX idx_trades_created_at ON trades(created_at DESC);
+
+CREATE TABLE trades_default PARTITION OF trades DEFAULT;
+
+SELECT create_partitions_for_range('trades',
+        COALESCE((SELECT MIN(created_at)::DATE FROM trades_unpartitioned), CURRENT_DATE));
+
+INSERT INTO trades (id, buy_order_id, sell_order_id, amount, price, settlement_status, settled_at, created_at)
+SELECT id, buy_order_id, sell_order_id, amount, price, settlement_status, settled_at, created_at FROM trades_unpartitioned;
+
+DROP TABLE trades_unpartitioned;
+
+DROP FUNCTION create_partitions_for_range(TEXT, DATE);
@@ -0,0 +1,4 @@
+-- Index trades by order, for TradeRepository.findByBuyOrderIdOrSellOrderId and for OrderArchivalJob,
+-- which checks both sides of an order's trades before moving them to the archive
+CREATE INDEX idx_trades_buy_order_id ON trades(buy_order_id);
+CREATE INDEX idx_trades_sell_order_id ON trades(sell_order_id);
@@ -0,0 +1,6 @@
+-- Withdrawals are claimed into a batch (status PROCESSING) and committed before the payout is broadcast.
+-- batch_id is the idempotency key handed to the broadcaster, so a batch retried after a failure is
+-- paid out at most once.
+ALTER TABLE withdrawals ADD COLUMN batch_id VARCHAR(64);
+
+CREATE INDEX idx_withdrawals_batch_id ON withdrawals(batch_id);
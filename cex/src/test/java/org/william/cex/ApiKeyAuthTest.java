@@ -0,0 +1,244 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.william.cex.api.dto.request.AddBalanceRequest;
+import org.william.cex.api.dto.request.CreateApiKeyRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.user.repository.ApiKeyRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.security.ApiKeyAuthFilter;
+import org.william.cex.infrastructure.security.ApiKeySecretCipher;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for HMAC-signed API key authentication
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class ApiKeyAuthTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private ApiKeySecretCipher apiKeySecretCipher;
+
+    @Value("${auth.api-key.max-body-bytes}")
+    private int maxBodyBytes;
+
+    private static final String TEST_EMAIL = "apikey-test@example.com";
+    private static String userToken;
+    private static String keyId;
+    private static String secret;
+    private static String replayNonce;
+    private static long replayTimestamp;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Create an API key with a JWT")
+    void testCreateKey() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password("TestPass123!")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        userToken = objectMapper.readTree(registered.getResponse().getContentAsString()).get("token").asText();
+
+        MvcResult created = mockMvc.perform(post("/v1/api-keys")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateApiKeyRequest.builder().label("bot").build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.keyId").exists())
+                .andExpect(jsonPath("$.secret").exists())
+                .andExpect(jsonPath("$.label").value("bot"))
+                .andReturn();
+        JsonNode key = objectMapper.readTree(created.getResponse().getContentAsString());
+        keyId = key.get("keyId").asText();
+        secret = key.get("secret").asText();
+
+        mockMvc.perform(get("/v1/api-keys")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].keyId").value(keyId))
+                .andExpect(jsonPath("$[0].secret").doesNotExist());
+        log.info("✓ API key {} created", keyId);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A signed POST with a body is authenticated")
+    void testSignedPost() throws Exception {
+        String body = objectMapper.writeValueAsString(AddBalanceRequest.builder()
+                .currency("BTC")
+                .amount(BigDecimal.ONE)
+                .build());
+
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", body,
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), secret))
+                .andExpect(status().isOk());
+        log.info("✓ Signed POST accepted");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A signed GET is authenticated")
+    void testSignedGet() throws Exception {
+        replayTimestamp = System.currentTimeMillis();
+        replayNonce = UUID.randomUUID().toString();
+
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", "",
+                        replayTimestamp, replayNonce, secret))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency").value("BTC"));
+        log.info("✓ Signed GET accepted");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Replayed nonce is rejected")
+    void testReplayRejected() throws Exception {
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", "",
+                        replayTimestamp, replayNonce, secret))
+                .andExpect(status().isUnauthorized());
+        log.info("✓ Replay rejected");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Stale timestamps and bad signatures are rejected")
+    void testStaleAndForgedRejected() throws Exception {
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", "",
+                        System.currentTimeMillis() - 120_000, UUID.randomUUID().toString(), secret))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", "",
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), "wrong-secret"))
+                .andExpect(status().isUnauthorized());
+
+        // Signed for a different path
+        mockMvc.perform(signed(get("/v1/balance/ETH"), "GET", "/v1/balance/BTC", "",
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), secret))
+                .andExpect(status().isUnauthorized());
+        log.info("✓ Stale, forged and mismatched requests rejected");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: An API key cannot create more keys")
+    void testApiKeyCannotCreateKeys() throws Exception {
+        mockMvc.perform(signed(post("/v1/api-keys"), "POST", "/v1/api-keys", "",
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), secret))
+                .andExpect(status().isForbidden());
+        log.info("✓ Key creation with an API key refused");
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test 7: A revoked key is rejected")
+    void testRevokedKeyRejected() throws Exception {
+        mockMvc.perform(delete("/v1/api-keys/" + keyId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", "",
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), secret))
+                .andExpect(status().isUnauthorized());
+        log.info("✓ Revoked key rejected");
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test 8: The secret is stored encrypted")
+    void testSecretEncryptedAtRest() {
+        String stored = apiKeyRepository.findByKeyId(keyId).orElseThrow().getSecret();
+
+        Assertions.assertNotEquals(secret, stored);
+        Assertions.assertFalse(stored.contains(secret));
+        Assertions.assertTrue(apiKeySecretCipher.isSealed(stored));
+        Assertions.assertEquals(secret, apiKeySecretCipher.open(keyId, stored));
+        Assertions.assertThrows(IllegalStateException.class, () -> apiKeySecretCipher.open("other-key", stored));
+        log.info("✓ Secret sealed and bound to its key id");
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test 9: A body over the limit is refused before it is buffered")
+    void testOversizedBodyRejected() throws Exception {
+        String body = "x".repeat(maxBodyBytes + 1);
+        mockMvc.perform(signed(get("/v1/balance/BTC"), "GET", "/v1/balance/BTC", body,
+                        System.currentTimeMillis(), UUID.randomUUID().toString(), secret))
+                .andExpect(status().isPayloadTooLarge());
+        log.info("✓ Oversized body rejected with 413");
+    }
+
+    private static MockHttpServletRequestBuilder signed(MockHttpServletRequestBuilder request, String method,
+                                                       String path, String body, long timestamp,
+                                                       String nonce, String signingSecret) throws Exception {
+        String bodyHash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+        String payload = timestamp + "\n" + nonce + "\n" + method + "\n" + path + "\n" + bodyHash;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        return request
+                .header(ApiKeyAuthFilter.KEY_HEADER, keyId)
+                .header(ApiKeyAuthFilter.TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(ApiKeyAuthFilter.NONCE_HEADER, nonce)
+                .header(ApiKeyAuthFilter.SIGNATURE_HEADER,
+                        HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8))))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository userWalletRepository,
+                         @Autowired ApiKeyRepository apiKeyRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                apiKeyRepository.deleteAll(apiKeyRepository.findAll().stream()
+                        .filter(key -> key.getUserId().equals(user.getId()))
+                        .toList());
+                userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
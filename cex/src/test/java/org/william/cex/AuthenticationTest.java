@@ -9,9 +9,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AddBalanceRequest;
 import org.william.cex.api.dto.request.LoginRequest;
 import org.william.cex.api.dto.request.RegisterUserRequest;
 import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.security.UserExistenceCache;
+
+import java.math.BigDecimal;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +39,12 @@ class AuthenticationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    @Autowired
+    private UserExistenceCache userExistenceCache;
+
     private static String testUserEmail = "testuser@example.com";
     private static String testUserPassword = "TestPass123!";
     private static String userToken;
@@ -189,6 +200,47 @@ class AuthenticationTest {
         log.info("Non-existent email correctly rejected");
     }
 
+    @Test
+    @Order(8)
+    @DisplayName("Test 8: Authenticated Request - User Resolved From Token")
+    void testUserResolvedFromToken() throws Exception {
+        log.info("=== TEST 8: User Resolved From Token ===");
+
+        Long userId = userRepository.findByEmail(testUserEmail).orElseThrow().getId();
+        AddBalanceRequest request = AddBalanceRequest.builder()
+                .currency("BTC")
+                .amount(new BigDecimal("1"))
+                .build();
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId));
+
+        log.info("Request attributed to user {} from the token principal", userId);
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test 9: Authenticated Request - Token of Deleted User Rejected")
+    void testDeletedUserTokenRejected() throws Exception {
+        log.info("=== TEST 9: Token of Deleted User Rejected ===");
+
+        userRepository.findByEmail(testUserEmail).ifPresent(user -> {
+            userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+            userRepository.delete(user);
+            userExistenceCache.evict(user.getId());
+        });
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+
+        log.info("Token of deleted user correctly rejected");
+    }
+
     @AfterAll
     static void tearDown(@Autowired UserRepository userRepository) {
         log.info("=== Cleaning up test data ===");
@@ -0,0 +1,135 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.william.cex.domain.user.entity.UserWallet;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the version-aware balance write-through cache
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class BalanceWriteThroughTest {
+
+    private static final long USER_ID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    private static final String CURRENCY = "BTC";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static UserWallet wallet(long version, String balance) {
+        return UserWallet.builder()
+                .id(USER_ID)
+                .userId(USER_ID)
+                .currency(CURRENCY)
+                .balance(new BigDecimal(balance))
+                .lockedAmount(BigDecimal.ZERO)
+                .version(version)
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Write-through stores the wallet with its version")
+    void testWriteThrough() {
+        assertTrue(cacheManager.setBalance(USER_ID, CURRENCY, wallet(5, "10.00000000"), 5, 1));
+
+        UserWallet cached = (UserWallet) cacheManager.getBalance(USER_ID, CURRENCY);
+        assertEquals(5L, cached.getVersion());
+        log.info("✓ Wallet version {} written through", cached.getVersion());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: An older version never overwrites a newer one")
+    void testStaleWriteRejected() {
+        assertFalse(cacheManager.setBalance(USER_ID, CURRENCY, wallet(3, "7.00000000"), 3, 1));
+
+        UserWallet cached = (UserWallet) cacheManager.getBalance(USER_ID, CURRENCY);
+        assertEquals(5L, cached.getVersion());
+        assertEquals(0, new BigDecimal("10").compareTo(cached.getBalance()));
+        log.info("✓ Stale version 3 rejected");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Newer versions replace the cached wallet")
+    void testNewerWriteAccepted() {
+        assertTrue(cacheManager.setBalance(USER_ID, CURRENCY, wallet(6, "12.00000000"), 6, 1));
+
+        UserWallet cached = (UserWallet) cacheManager.getBalance(USER_ID, CURRENCY);
+        assertEquals(6L, cached.getVersion());
+        log.info("✓ Version 6 replaced version 5");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: A load that read an older row does not replace the write-through")
+    void testStaleLoadRejected() {
+        cacheManager.clearBalance(USER_ID, CURRENCY);
+        AtomicBoolean loaderCalled = new AtomicBoolean();
+
+        // The load reads version 7, then version 8 is committed and written through before the load stores its result
+        cacheManager.getOrLoadBalance(USER_ID, CURRENCY, () -> {
+            loaderCalled.set(true);
+            cacheManager.setBalance(USER_ID, CURRENCY, wallet(8, "20.00000000"), 8, 1);
+            return wallet(7, "15.00000000");
+        }, UserWallet::getVersion, 1);
+
+        assertTrue(loaderCalled.get());
+        UserWallet cached = (UserWallet) cacheManager.getBalance(USER_ID, CURRENCY);
+        assertEquals(8L, cached.getVersion());
+        assertEquals(0, new BigDecimal("20").compareTo(cached.getBalance()));
+        log.info("✓ Stale load of version 7 refused, version 8 kept");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: A tombstone invalidates the entry but keeps its version")
+    void testTombstoneKeepsVersion() {
+        cacheManager.tombstoneBalances(Map.of(USER_ID, Map.of(CURRENCY, 9L)), 1);
+        assertNull(cacheManager.getBalance(USER_ID, CURRENCY));
+
+        Object stale = cacheManager.getOrLoadBalance(USER_ID, CURRENCY,
+                () -> wallet(8, "20.00000000"), UserWallet::getVersion, 1);
+        assertEquals(8L, ((UserWallet) stale).getVersion());
+        assertNull(cacheManager.getBalance(USER_ID, CURRENCY));
+
+        cacheManager.getOrLoadBalance(USER_ID, CURRENCY,
+                () -> wallet(9, "25.00000000"), UserWallet::getVersion, 1);
+        assertEquals(9L, ((UserWallet) cacheManager.getBalance(USER_ID, CURRENCY)).getVersion());
+        log.info("✓ Load of version 8 refused after the tombstone, version 9 cached");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: A tombstone never replaces a newer entry")
+    void testTombstoneOlderThanEntryIgnored() {
+        cacheManager.tombstoneBalance(USER_ID, CURRENCY, 7, 1);
+
+        UserWallet cached = (UserWallet) cacheManager.getBalance(USER_ID, CURRENCY);
+        assertEquals(9L, cached.getVersion());
+        log.info("✓ Tombstone for version 7 left version 9 in place");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired CacheManager cacheManager) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            cacheManager.clearAllBalances(USER_ID);
+        } catch (Exception e) {
+            log.warn("Cleanup failed: {}", e.getMessage());
+        }
+    }
+}
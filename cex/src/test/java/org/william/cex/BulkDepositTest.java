@@ -0,0 +1,191 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AdminRegisterRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.admin.repository.AdministratorRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for the admin bulk deposit import
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class BulkDepositTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${admin.registration.key}")
+    private String adminKey;
+
+    private static final String testUserEmail = "bulk-deposit-test@example.com";
+    private static final String testAdminEmail = "bulk-deposit-admin@example.com";
+    private static final String refPrefix = "bulk-test-" + UUID.randomUUID() + "-";
+    private static String userToken;
+    private static String adminToken;
+    private static Long userId;
+
+    @BeforeAll
+    static void setup(@Autowired MockMvc mockMvc, @Autowired ObjectMapper objectMapper) throws Exception {
+        log.info("=== Setting up test user for Bulk Deposit tests ===");
+
+        RegisterUserRequest request = RegisterUserRequest.builder()
+                .email(testUserEmail)
+                .password("BulkDeposit123!")
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String responseBody = result.getResponse().getContentAsString();
+        userToken = objectMapper.readTree(responseBody).get("token").asText();
+        userId = objectMapper.readTree(responseBody).get("userId").asLong();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Bulk Deposit - Requires Admin")
+    void testBulkDepositRequiresAdmin() throws Exception {
+        log.info("=== TEST 1: Bulk Deposit as Regular User ===");
+
+        mockMvc.perform(post("/v1/admin/deposits/bulk")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(NDJSON)
+                .content(entry(refPrefix + "1", "BTC", "1.0")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Bulk Deposit - Applies, Deduplicates and Rejects")
+    void testBulkDeposit() throws Exception {
+        log.info("=== TEST 2: Bulk Deposit ===");
+
+        AdminRegisterRequest adminRequest = AdminRegisterRequest.builder()
+                .email(testAdminEmail)
+                .password("BulkDepositAdmin123!")
+                .adminKey(adminKey)
+                .build();
+
+        MvcResult adminResult = mockMvc.perform(post("/v1/admin/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(adminRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        adminToken = objectMapper.readTree(adminResult.getResponse().getContentAsString()).get("token").asText();
+
+        String body = entry(refPrefix + "1", "BTC", "1.0")
+                + entry(refPrefix + "2", "USD", "100")
+                + entry(refPrefix + "1", "BTC", "1.0")
+                + "{\"userId\":-1,\"currency\":\"BTC\",\"amount\":1,\"externalRef\":\"" + refPrefix + "3\"}\n";
+
+        mockMvc.perform(post("/v1/admin/deposits/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.applied").value(2))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1.0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Bulk Deposit - Replayed Import Is Not Applied Twice")
+    void testBulkDepositReplay() throws Exception {
+        log.info("=== TEST 3: Bulk Deposit Replay ===");
+
+        mockMvc.perform(post("/v1/admin/deposits/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(NDJSON)
+                .content(entry(refPrefix + "1", "BTC", "1.0") + entry(refPrefix + "2", "USD", "100")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(0))
+                .andExpect(jsonPath("$.duplicates").value(2));
+
+        mockMvc.perform(get("/v1/balance/USD")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Bulk Deposit - Malformed Lines Are Rejected Without Aborting the Import")
+    void testBulkDepositMalformedLines() throws Exception {
+        log.info("=== TEST 4: Bulk Deposit with Malformed Lines ===");
+
+        String body = entry(refPrefix + "4", "ETH", "2.0")
+                + "{\"userId\":" + userId + ",\"currency\":\"ETH\",\"amount\":\n"
+                + "not json\n"
+                + entry(refPrefix + "x".repeat(256), "ETH", "5.0")
+                + "\n"
+                + entry(refPrefix + "5", "ETH", "0.5");
+
+        mockMvc.perform(post("/v1/admin/deposits/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.applied").value(2))
+                .andExpect(jsonPath("$.duplicates").value(0))
+                .andExpect(jsonPath("$.rejected").value(3));
+
+        mockMvc.perform(get("/v1/balance/ETH")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(2.5));
+    }
+
+    private static String entry(String externalRef, String currency, String amount) {
+        return "{\"userId\":" + userId + ",\"currency\":\"" + currency + "\",\"amount\":" + amount
+                + ",\"externalRef\":\"" + externalRef + "\"}\n";
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired AdministratorRepository administratorRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(testUserEmail).ifPresent(userRepository::delete);
+            userRepository.findByEmail(testAdminEmail).ifPresent(user -> {
+                administratorRepository.findByUserId(user.getId()).ifPresent(administratorRepository::delete);
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
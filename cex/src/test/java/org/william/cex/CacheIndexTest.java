@@ -0,0 +1,94 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.william.cex.domain.user.entity.UserWallet;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for region-wide invalidation through the per-user balance index sets
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class CacheIndexTest {
+
+    private static final long USER_ID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    private static final long OTHER_USER_ID = USER_ID + 1;
+    // More than one DEL/SREM batch
+    private static final int WALLETS = 1_100;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private static UserWallet wallet(long userId, String currency) {
+        return UserWallet.builder()
+                .id(userId)
+                .userId(userId)
+                .currency(currency)
+                .balance(BigDecimal.ONE)
+                .lockedAmount(BigDecimal.ZERO)
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Clearing a user's balances deletes every indexed entry and empties the index")
+    void testClearAllBalances() {
+        for (int i = 0; i < WALLETS; i++) {
+            cacheManager.setBalance(USER_ID, "C" + i, wallet(USER_ID, "C" + i), 1, 1);
+        }
+        cacheManager.setBalance(OTHER_USER_ID, "BTC", wallet(OTHER_USER_ID, "BTC"), 1, 1);
+        assertEquals(WALLETS, stringRedisTemplate.opsForSet().size("balance-index:" + USER_ID));
+
+        cacheManager.clearAllBalances(USER_ID);
+
+        for (int i = 0; i < WALLETS; i++) {
+            assertFalse(Boolean.TRUE.equals(stringRedisTemplate.hasKey("wallet:" + USER_ID + ":C" + i)));
+        }
+        assertFalse(Boolean.TRUE.equals(stringRedisTemplate.hasKey("balance-index:" + USER_ID)));
+        assertNull(cacheManager.getBalance(USER_ID, "C0"));
+        log.info("✓ {} indexed entries and the index cleared", WALLETS);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Other users' entries are untouched")
+    void testOtherUserKept() {
+        assertNotNull(cacheManager.getBalance(OTHER_USER_ID, "BTC"));
+        assertTrue(Boolean.TRUE.equals(stringRedisTemplate.opsForSet()
+                .isMember("balance-index:" + OTHER_USER_ID, "wallet:" + OTHER_USER_ID + ":BTC")));
+        log.info("✓ Other user's balance still cached and indexed");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Clearing an empty index is a no-op")
+    void testClearEmptyIndex() {
+        assertDoesNotThrow(() -> cacheManager.clearAllBalances(USER_ID));
+        log.info("✓ Empty index cleared without error");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired CacheManager cacheManager) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            cacheManager.clearAllBalances(USER_ID);
+            cacheManager.clearAllBalances(OTHER_USER_ID);
+        } catch (Exception e) {
+            log.warn("Cleanup failed: {}", e.getMessage());
+        }
+    }
+}
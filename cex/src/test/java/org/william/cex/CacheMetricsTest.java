@@ -0,0 +1,78 @@
+package org.william.cex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the per-region cache metrics
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class CacheMetricsTest {
+
+    private static final long ORDER_ID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("cex.cache.gets")
+                .tag("region", "order")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Misses, loads and hits are counted per region")
+    void testHitMissCounters() {
+        cacheManager.clearOrder(ORDER_ID);
+        double missesBefore = gets("redis", "miss");
+        double nearHitsBefore = gets("near", "hit");
+        long loadsBefore = meterRegistry.get("cex.cache.loads").tag("region", "order").tag("result", "found").timer().count();
+
+        cacheManager.getOrLoadOrder(ORDER_ID, () -> "loaded", 1);
+        cacheManager.getOrLoadOrder(ORDER_ID, () -> "loaded", 1);
+
+        assertEquals(missesBefore + 1, gets("redis", "miss"));
+        assertEquals(nearHitsBefore + 1, gets("near", "hit"));
+        assertEquals(loadsBefore + 1,
+                meterRegistry.get("cex.cache.loads").tag("region", "order").tag("result", "found").timer().count());
+        log.info("✓ Miss, load and near hit recorded for region order");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Payload size and Redis latency are recorded")
+    void testPayloadAndLatency() {
+        assertTrue(meterRegistry.get("cex.cache.payload").tag("region", "order").tag("operation", "write")
+                .summary().totalAmount() > 0);
+        assertTrue(meterRegistry.get("cex.cache.redis").tag("region", "order").tag("command", "get")
+                .timer().count() > 0);
+        log.info("✓ Payload and Redis latency meters populated");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired CacheManager cacheManager) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            cacheManager.clearOrder(ORDER_ID);
+        } catch (Exception e) {
+            log.warn("Cleanup failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.william.cex.domain.fee.entity.FeeRate;
+import org.william.cex.domain.user.entity.UserWallet;
+import org.william.cex.infrastructure.cache.serialization.CompactRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the compact binary cache serialization
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class CacheSerializationTest {
+
+    @Autowired
+    private CompactRedisSerializer compactRedisSerializer;
+
+    @Autowired
+    private GenericJackson2JsonRedisSerializer jsonRedisSerializer;
+
+    private static UserWallet wallet() {
+        return UserWallet.builder()
+                .id(42L)
+                .userId(7L)
+                .currency("BTC")
+                .balance(new BigDecimal("1.23456789"))
+                .lockedAmount(new BigDecimal("0.50000000"))
+                .version(3L)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456789))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 6))
+                .build();
+    }
+
+    private static org.william.cex.domain.order.entity.Order order() {
+        return org.william.cex.domain.order.entity.Order.builder()
+                .id(1001L)
+                .userId(7L)
+                .orderType(org.william.cex.domain.order.entity.Order.OrderType.BUY)
+                .baseCurrency("BTC")
+                .quoteCurrency("USDT")
+                .amount(new BigDecimal("0.25000000"))
+                .price(new BigDecimal("43250.50000000"))
+                .filledAmount(BigDecimal.ZERO)
+                .status(org.william.cex.domain.order.entity.Order.OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .updatedAt(null)
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Wallet round trip through the binary format")
+    void testWalletRoundTrip() {
+        UserWallet original = wallet();
+        byte[] bytes = compactRedisSerializer.serialize(original);
+
+        assertEquals(CompactRedisSerializer.FORMAT_VERSION, bytes[0]);
+        assertEquals(original, compactRedisSerializer.deserialize(bytes));
+        log.info("✓ Wallet round trip: {} bytes", bytes.length);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Order round trip preserves enums, scale and nulls")
+    void testOrderRoundTrip() {
+        var original = order();
+        var copy = (org.william.cex.domain.order.entity.Order) compactRedisSerializer.deserialize(compactRedisSerializer.serialize(original));
+
+        assertEquals(original, copy);
+        assertEquals(8, copy.getAmount().scale());
+        assertNull(copy.getUpdatedAt());
+        log.info("✓ Order round trip");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Fee rate round trip through the binary format")
+    void testFeeRateRoundTrip() {
+        FeeRate original = FeeRate.builder()
+                .id(5L)
+                .currencyPair("BTC/USDT")
+                .feePercentage(new BigDecimal("0.0010"))
+                .effectiveFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .adminId(null)
+                .version(0L)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+
+        assertEquals(original, compactRedisSerializer.deserialize(compactRedisSerializer.serialize(original)));
+        log.info("✓ Fee rate round trip");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Entries written as JSON stay readable")
+    void testReadsLegacyJson() {
+        UserWallet original = wallet();
+        byte[] json = jsonRedisSerializer.serialize(original);
+
+        assertEquals(original, compactRedisSerializer.deserialize(json));
+        log.info("✓ Legacy JSON entry read through the compact serializer");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Types without a codec fall back to JSON")
+    void testFallbackForUnknownTypes() {
+        Map<String, String> value = new HashMap<>();
+        value.put("status", "COMPLETED");
+        byte[] bytes = compactRedisSerializer.serialize(value);
+
+        assertNotEquals(CompactRedisSerializer.FORMAT_VERSION, bytes[0]);
+        assertEquals(value, compactRedisSerializer.deserialize(bytes));
+        log.info("✓ Fallback serialization for {}", value.getClass().getSimpleName());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Binary payloads are smaller than JSON")
+    void testPayloadSize() {
+        int walletBinary = compactRedisSerializer.serialize(wallet()).length;
+        int walletJson = jsonRedisSerializer.serialize(wallet()).length;
+        int orderBinary = compactRedisSerializer.serialize(order()).length;
+        int orderJson = jsonRedisSerializer.serialize(order()).length;
+
+        assertTrue(walletBinary * 3 < walletJson, "wallet payload should shrink at least 3x");
+        assertTrue(orderBinary * 3 < orderJson, "order payload should shrink at least 3x");
+        log.info("✓ Wallet {}B vs {}B JSON, order {}B vs {}B JSON", walletBinary, walletJson, orderBinary, orderJson);
+    }
+}
@@ -0,0 +1,149 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.william.cex.domain.fee.entity.FeeRate;
+import org.william.cex.domain.fee.repository.FeeRateRepository;
+import org.william.cex.domain.fee.service.FeeService;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for cache stampede protection: request coalescing, negative caching and the
+ * advisory lock around default fee rate creation
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class CacheStampedeTest {
+
+    private static final int CONCURRENT_CALLERS = 16;
+    private static final long ORDER_ID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    private static final String CURRENCY_PAIR = "T" + UUID.randomUUID().toString().substring(0, 6).toUpperCase() + "/USDT";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private FeeRateRepository feeRateRepository;
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Concurrent misses on one key share a single load")
+    void testConcurrentMissesCoalesce() throws Exception {
+        cacheManager.clearOrder(ORDER_ID);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Object> results = runConcurrently(() -> cacheManager.getOrLoadOrder(ORDER_ID, () -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "loaded";
+        }, 1));
+
+        assertEquals(1, loads.get());
+        results.forEach(result -> assertEquals("loaded", result));
+        log.info("✓ {} concurrent callers served by {} load", CONCURRENT_CALLERS, loads.get());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Missing entries are negatively cached")
+    void testNegativeCaching() {
+        cacheManager.clearOrder(ORDER_ID);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(cacheManager.getOrLoadOrder(ORDER_ID, () -> {
+                loads.incrementAndGet();
+                return null;
+            }, 1));
+        }
+
+        assertEquals(1, loads.get());
+        cacheManager.clearOrder(ORDER_ID);
+        log.info("✓ Missing entry loaded once and remembered");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Concurrent default fee rate inserts are serialized by the advisory lock")
+    void testSingleDefaultFeeRate() throws Exception {
+        // Straight to the database, so the cache's per-node coalescing cannot hide a race
+        List<FeeRate> rates = runConcurrently(() -> feeService.createDefaultFeeRate(CURRENCY_PAIR));
+
+        assertEquals(1, countRates());
+        rates.forEach(rate -> assertEquals(rates.get(0).getId(), rate.getId()));
+        log.info("✓ {} concurrent inserts created a single default fee rate for {}", CONCURRENT_CALLERS, CURRENCY_PAIR);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Concurrent cached lookups reuse the default fee rate")
+    void testCachedLookupsReuseDefaultFeeRate() throws Exception {
+        cacheManager.clearFeeRate(CURRENCY_PAIR);
+        List<FeeRate> rates = runConcurrently(() -> feeService.getFeeRate(CURRENCY_PAIR));
+
+        assertEquals(1, countRates());
+        rates.forEach(rate -> assertNotNull(rate));
+        log.info("✓ Cached lookups served the existing default fee rate");
+    }
+
+    private long countRates() {
+        return feeRateRepository.findAll().stream()
+                .filter(rate -> CURRENCY_PAIR.equals(rate.getCurrencyPair()))
+                .count();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired FeeRateRepository feeRateRepository, @Autowired CacheManager cacheManager) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            cacheManager.clearOrder(ORDER_ID);
+            cacheManager.clearFeeRate(CURRENCY_PAIR);
+            feeRateRepository.findAll().stream()
+                    .filter(rate -> CURRENCY_PAIR.equals(rate.getCurrencyPair()))
+                    .forEach(feeRateRepository::delete);
+        } catch (Exception e) {
+            log.warn("Cleanup failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AdminRegisterRequest;
+import org.william.cex.api.dto.request.CreateOrderRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.admin.repository.AdministratorRepository;
+import org.william.cex.domain.order.repository.OrderRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Test suite for the JFR events and the flight recorder actuator endpoint
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class FlightRecorderEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${admin.registration.key}")
+    private String adminKey;
+
+    private static final String TEST_EMAIL = "jfr-events@example.com";
+    private static final String ADMIN_EMAIL = "jfr-admin@example.com";
+    private static String token;
+    private static Long userId;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Order creation emits order and wallet events, failed or not")
+    void testOrderEventsRecorded() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        token = objectMapper.readTree(registered.getResponse().getContentAsString()).get("token").asText();
+        userId = objectMapper.readTree(registered.getResponse().getContentAsString()).get("userId").asLong();
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"USD\",\"amount\":10000}"));
+
+        Path file = Files.createTempFile("cex-test-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("cex.OrderOperation");
+            recording.enable("cex.WalletOperation");
+            recording.start();
+
+            int status = mockMvc.perform(post("/v1/orders")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(CreateOrderRequest.builder()
+                                    .orderType("BUY")
+                                    .baseCurrency("ETH")
+                                    .quoteCurrency("USD")
+                                    .amount(new BigDecimal("1"))
+                                    .price(new BigDecimal("2450"))
+                                    .build())))
+                    .andReturn().getResponse().getStatus();
+            assertEquals(201, status);
+
+            int rejected = mockMvc.perform(post("/v1/orders")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(CreateOrderRequest.builder()
+                                    .orderType("BUY")
+                                    .baseCurrency("ETH")
+                                    .quoteCurrency("USD")
+                                    .amount(new BigDecimal("1000"))
+                                    .price(new BigDecimal("2450"))
+                                    .build())))
+                    .andReturn().getResponse().getStatus();
+            assertEquals(400, rejected);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent create = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("cex.OrderOperation"))
+                    .filter(event -> "create".equals(event.getString("operation")))
+                    .filter(event -> event.getLong("userId") == userId)
+                    .filter(event -> "success".equals(event.getString("outcome")))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("no cex.OrderOperation create event"));
+            assertEquals("ETH/USD", create.getString("pair"));
+            assertEquals("success", create.getString("outcome"));
+            assertTrue(create.getLong("orderId") > 0);
+
+            // The failed create still carries the user, not 0
+            assertTrue(events.stream()
+                    .filter(event -> event.getEventType().getName().equals("cex.OrderOperation"))
+                    .anyMatch(event -> "create".equals(event.getString("operation"))
+                            && event.getLong("userId") == userId
+                            && "rolled_back".equals(event.getString("outcome"))),
+                    "no rolled back cex.OrderOperation create event for the user");
+
+            RecordedEvent lock = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("cex.WalletOperation"))
+                    .filter(event -> event.getLong("userId") == userId)
+                    .filter(event -> "success".equals(event.getString("outcome")))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("no cex.WalletOperation event"));
+            assertEquals("lock", lock.getString("operation"));
+            assertEquals("USD", lock.getString("currency"));
+            assertEquals(0, new BigDecimal("2450").compareTo(new BigDecimal(lock.getString("amount"))));
+            log.info("✓ Order create took {} us, balance lock {} us",
+                    create.getDuration().toNanos() / 1000, lock.getDuration().toNanos() / 1000);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: The flight recorder endpoint is admin-only")
+    void testEndpointRequiresAdmin() throws Exception {
+        int status = mockMvc.perform(post("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(403, status);
+        log.info("✓ Flight recorder endpoint refused a user token");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: An admin can start, dump and stop a recording")
+    void testAdminRecording() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/admin/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AdminRegisterRequest.builder()
+                                .email(ADMIN_EMAIL)
+                                .password("AdminPass123!")
+                                .adminKey(adminKey)
+                                .build())))
+                .andReturn();
+        String adminToken = objectMapper.readTree(registered.getResponse().getContentAsString()).get("token").asText();
+
+        MvcResult started = mockMvc.perform(post("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\":\"default\"}"))
+                .andReturn();
+        assertEquals(200, started.getResponse().getStatus());
+        assertEquals("RUNNING", objectMapper.readTree(started.getResponse().getContentAsString()).get("state").asText());
+
+        mockMvc.perform(get("/v1/orders")
+                .header("Authorization", "Bearer " + token));
+
+        MvcResult dumped = mockMvc.perform(get("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn();
+        assertEquals(200, dumped.getResponse().getStatus());
+        byte[] recording = dumped.getResponse().getContentAsByteArray();
+        // Every JFR chunk starts with the "FLR\0" magic
+        assertTrue(recording.length > 4);
+        assertEquals("FLR", new String(recording, 0, 3));
+
+        int stopped = mockMvc.perform(delete("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn().getResponse().getStatus();
+        assertEquals(200, stopped);
+
+        int afterStop = mockMvc.perform(get("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn().getResponse().getStatus();
+        assertEquals(404, afterStop);
+        log.info("✓ Recording dumped, {} bytes", recording.length);
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository walletRepository,
+                         @Autowired OrderRepository orderRepository,
+                         @Autowired AdministratorRepository administratorRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                orderRepository.deleteAll(orderRepository.findByUserId(user.getId(),
+                        org.springframework.data.domain.Pageable.unpaged()));
+                walletRepository.deleteAll(walletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+            userRepository.findByEmail(ADMIN_EMAIL).ifPresent(user -> {
+                administratorRepository.findByUserId(user.getId()).ifPresent(administratorRepository::delete);
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for login throttling and request rate limiting behind a reverse proxy. Runs on a real
+ * Tomcat, since the client IP is resolved from X-Forwarded-For by Tomcat's RemoteIpValve; the test
+ * connects from loopback, a trusted proxy address, so each request's header names its client.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth.login.ip.capacity=3",
+        "auth.login.ip.refill-per-second=0.01",
+        "auth.login.account-ip.capacity=2",
+        "auth.login.account-ip.refill-per-second=0.01",
+        "auth.login.account.capacity=3",
+        "auth.login.account.refill-per-second=0.01",
+        "rate-limit.capacity=5",
+        "rate-limit.refill-per-second=0.01",
+        "rate-limit.costs=GET /v1/admin/fees=1"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class ForwardedClientIpTest {
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    private int login(String clientIp, String email) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .header("X-Forwarded-For", clientIp)
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email + "\",\"password\":\"WrongPassword123!\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int getFees(String clientIp) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/admin/fees"))
+                        .header("X-Forwarded-For", clientIp)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String randomEmail() {
+        return "forwarded-" + UUID.randomUUID() + "@example.com";
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Clients behind the same proxy get their own IP bucket")
+    void testIpBucketPerForwardedClient() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(401, login("203.0.113.1", randomEmail()));
+        }
+        assertEquals(429, login("203.0.113.1", randomEmail()));
+
+        assertEquals(401, login("203.0.113.2", randomEmail()));
+        log.info("✓ Throttling 203.0.113.1 left 203.0.113.2 admitted");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: An account throttled from one IP can still log in from another")
+    void testAccountBucketPerClientIp() throws Exception {
+        String email = randomEmail();
+        assertEquals(401, login("198.51.100.1", email));
+        assertEquals(401, login("198.51.100.1", email));
+        assertEquals(429, login("198.51.100.1", email));
+
+        assertEquals(401, login("198.51.100.2", email));
+        log.info("✓ Account throttled from 198.51.100.1 still admitted from 198.51.100.2");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: An account is throttled across IPs once its own bucket is empty")
+    void testAccountBucketAcrossClientIps() throws Exception {
+        String email = randomEmail();
+        assertEquals(401, login("198.51.100.10", email));
+        assertEquals(401, login("198.51.100.11", email));
+        assertEquals(401, login("198.51.100.12", email));
+        assertEquals(429, login("198.51.100.13", email));
+
+        assertEquals(401, login("198.51.100.13", randomEmail()));
+        log.info("✓ Account guessed from many IPs throttled, other accounts from the same IP admitted");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Anonymous requests are rate limited per forwarded client IP")
+    void testRateLimitPerForwardedClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, getFees("192.0.2.1"));
+        }
+        assertEquals(429, getFees("192.0.2.1"));
+
+        assertEquals(200, getFees("192.0.2.2"));
+        log.info("✓ Rate limiting 192.0.2.1 left 192.0.2.2 admitted");
+    }
+}
@@ -0,0 +1,279 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AddBalanceRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.idempotency.CachedBodyHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for Idempotency-Key handling on balance and order POSTs
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class IdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserWalletRepository userWalletRepository;
+
+    private static String testUserEmail = "idempotency-test@example.com";
+    private static String testUserPassword = "IdempotencyTest123!";
+    private static String userToken;
+
+    @BeforeAll
+    static void setup(@Autowired MockMvc mockMvc, @Autowired ObjectMapper objectMapper) throws Exception {
+        log.info("=== Setting up test user for Idempotency tests ===");
+
+        RegisterUserRequest request = RegisterUserRequest.builder()
+                .email(testUserEmail)
+                .password(testUserPassword)
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        userToken = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+        log.info("Test user created and token obtained");
+    }
+
+    private String addBalanceBody(String currency, String amount) throws Exception {
+        return objectMapper.writeValueAsString(AddBalanceRequest.builder()
+                .currency(currency)
+                .amount(new BigDecimal(amount))
+                .build());
+    }
+
+    private BigDecimal walletBalance(String currency) {
+        Long userId = userRepository.findByEmail(testUserEmail).orElseThrow().getId();
+        return userWalletRepository.findByUserIdAndCurrency(userId, currency).orElseThrow().getBalance();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Retried deposit with the same key is applied once and replayed")
+    void testRetryReplaysResponse() throws Exception {
+        log.info("=== TEST 1: Retry Replays Response ===");
+        String key = UUID.randomUUID().toString();
+        String body = addBalanceBody("BTC", "1.5");
+
+        String first = mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+        assertEquals(0, new BigDecimal("1.5").compareTo(walletBalance("BTC")));
+        log.info("✓ Deposit applied once, retry replayed: {}", second);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Reusing a key for a different body is rejected")
+    void testKeyReuseRejected() throws Exception {
+        log.info("=== TEST 2: Key Reuse Rejected ===");
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(addBalanceBody("USD", "100")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(addBalanceBody("USD", "200")))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertEquals(0, new BigDecimal("100").compareTo(walletBalance("USD")));
+        log.info("✓ Key reuse with a different body rejected");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Concurrent duplicates execute once")
+    void testConcurrentDuplicates() throws Exception {
+        log.info("=== TEST 3: Concurrent Duplicates ===");
+        String key = UUID.randomUUID().toString();
+        String body = addBalanceBody("ETH", "2");
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/v1/balance/add")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("Idempotency-Key", key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertEquals(200, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, new BigDecimal("2").compareTo(walletBalance("ETH")));
+        log.info("✓ {} concurrent duplicates produced a single deposit", callers);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Requests without a key are not deduplicated")
+    void testWithoutKey() throws Exception {
+        log.info("=== TEST 4: Without Key ===");
+        String body = addBalanceBody("SOL", "1");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/v1/balance/add")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(0, new BigDecimal("2").compareTo(walletBalance("SOL")));
+        log.info("✓ Requests without a key both applied");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: The cached body can be read asynchronously")
+    void testCachedBodyReadListener() throws Exception {
+        log.info("=== TEST 5: Read Listener ===");
+        byte[] body = addBalanceBody("BTC", "1").getBytes(StandardCharsets.UTF_8);
+        ServletInputStream input = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), body).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                callbacks.add("data");
+                byte[] buffer = new byte[64];
+                while (input.isReady() && !input.isFinished()) {
+                    int n = input.read(buffer);
+                    read.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                callbacks.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                callbacks.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), callbacks);
+        assertArrayEquals(body, read.toByteArray());
+        log.info("✓ Listener got the whole body, then onAllDataRead");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Oversized bodies are rejected before the key is claimed")
+    void testOversizedBodyRejected() throws Exception {
+        log.info("=== TEST 6: Oversized Body ===");
+        String key = UUID.randomUUID().toString();
+        String oversized = "{\"currency\":\"XRP\",\"amount\":1,\"padding\":\"" + "x".repeat(1024 * 1024) + "\"}";
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(oversized))
+                .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(addBalanceBody("XRP", "1")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        assertEquals(0, BigDecimal.ONE.compareTo(walletBalance("XRP")));
+        log.info("✓ Oversized body rejected with 413, key left free");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository userWalletRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(testUserEmail).ifPresent(user -> {
+                userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+                log.info("Test user and wallets cleaned up: {}", testUserEmail);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.william.cex;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.william.cex.infrastructure.security.JwtPrincipal;
+import org.william.cex.infrastructure.security.JwtTokenProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for JWT issuing, verification and the verified-token cache
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class JwtTokenProviderTest {
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A generated token parses into its claims")
+    void testParseToken() {
+        String token = jwtTokenProvider.generateToken(42L, "jwt-test@example.com", "USER");
+
+        JwtPrincipal principal = jwtTokenProvider.parseToken(token);
+
+        assertNotNull(principal);
+        assertEquals(42L, principal.userId());
+        assertEquals("jwt-test@example.com", principal.email());
+        assertEquals("USER", principal.role());
+        assertNotNull(principal.tokenId());
+        assertNotNull(principal.expiresAt());
+        log.info("✓ Token parsed: {}", principal);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Repeated parses are served from the verified-token cache")
+    void testVerifiedTokenCache() {
+        String token = jwtTokenProvider.generateToken(43L, "jwt-cache@example.com", "ADMIN");
+
+        assertSame(jwtTokenProvider.parseToken(token), jwtTokenProvider.parseToken(token));
+        log.info("✓ Second parse returned the cached principal");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Tampered tokens are rejected")
+    void testTamperedToken() {
+        String token = jwtTokenProvider.generateToken(44L, "jwt-tamper@example.com", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtTokenProvider.parseToken(tampered));
+        assertNull(jwtTokenProvider.parseToken("not-a-jwt"));
+        log.info("✓ Tampered and malformed tokens rejected");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Expired tokens are rejected")
+    void testExpiredToken() {
+        String expired = Jwts.builder()
+                .subject("45")
+                .claim("email", "jwt-expired@example.com")
+                .claim("role", "USER")
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertNull(jwtTokenProvider.parseToken(expired));
+        log.info("✓ Expired token rejected");
+    }
+}
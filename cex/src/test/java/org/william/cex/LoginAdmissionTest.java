@@ -0,0 +1,177 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.william.cex.api.dto.request.LoginRequest;
+import org.william.cex.api.exception.TooManyRequestsException;
+import org.william.cex.infrastructure.ratelimit.TokenBucket;
+import org.william.cex.infrastructure.security.BoundedPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for login admission control: token buckets and the bounded password encoder
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class LoginAdmissionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Token bucket admits its capacity, then reports the wait")
+    void testTokenBucket() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        long waitNanos = bucket.tryAcquire(1);
+
+        assertTrue(waitNanos > 0 && waitNanos <= 1_000_000_000L, "wait was " + waitNanos);
+        log.info("✓ Fourth acquire refused, {} ms until the next token", waitNanos / 1_000_000);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Token bucket never over-admits under contention")
+    void testTokenBucketConcurrent() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 0.001);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (bucket.tryAcquire()) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, admitted.get());
+        log.info("✓ Exactly {} of 800 concurrent acquires admitted", admitted.get());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Password encoder still hashes and verifies")
+    void testPasswordEncoder() {
+        assertInstanceOf(BoundedPasswordEncoder.class, passwordEncoder);
+        String hash = passwordEncoder.encode("Secret123!");
+
+        assertTrue(passwordEncoder.matches("Secret123!", hash));
+        assertFalse(passwordEncoder.matches("Wrong123!", hash));
+        log.info("✓ Offloaded BCrypt hashes and verifies");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: A saturated password pool rejects instead of queueing")
+    void testSaturatedPoolRejects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One running, one queued; the third finds the queue full
+            callers.submit(() -> encoder.encode("a"));
+            callers.submit(() -> encoder.encode("b"));
+            Thread.sleep(200);
+
+            TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> encoder.encode("c"));
+            assertTrue(e.getRetryAfterSeconds() > 0);
+            log.info("✓ Saturated encoder rejected immediately: {}", e.getMessage());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Repeated logins for one account return 429 with Retry-After")
+    void testAccountThrottled() throws Exception {
+        String body = objectMapper.writeValueAsString(LoginRequest.builder()
+                .email("throttle-test@example.com")
+                .password("WrongPassword123!")
+                .build());
+
+        int unauthorized = 0;
+        boolean throttled = false;
+        for (int i = 0; i < 20 && !throttled; i++) {
+            int status = mockMvc.perform(post("/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andReturn().getResponse().getStatus();
+            if (status == 401) {
+                unauthorized++;
+            } else {
+                assertEquals(429, status);
+                throttled = true;
+            }
+        }
+
+        assertTrue(throttled, "account was never throttled");
+        assertTrue(unauthorized > 0);
+        mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        log.info("✓ Account throttled after {} failed attempts", unauthorized);
+    }
+}
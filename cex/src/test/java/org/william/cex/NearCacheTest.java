@@ -0,0 +1,110 @@
+package org.william.cex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the in-process near cache and its cross-node invalidation over Redis pub/sub.
+ * The order region's near TTL is shortened so expiry can be observed.
+ */
+@SpringBootTest(properties = "cache.near.order.ttl-seconds=1")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class NearCacheTest {
+
+    private static final long ORDER_ID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    private static final String ORDER_KEY = "order:" + ORDER_ID;
+    private static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long redisGets() {
+        return meterRegistry.get("cex.cache.redis").tag("region", "order").tag("command", "get").timer().count();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A near hit is served without calling Redis")
+    void testNearHitSkipsRedis() {
+        cacheManager.setOrder(ORDER_ID, "cached", 1);
+        // Only the near copy is left; a Redis read would miss
+        stringRedisTemplate.delete(ORDER_KEY);
+        long redisGetsBefore = redisGets();
+
+        assertEquals("cached", cacheManager.getOrder(ORDER_ID));
+        assertEquals(redisGetsBefore, redisGets());
+        log.info("✓ Served from the near cache with no Redis GET");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: An invalidation published by another node evicts the near entry")
+    void testRemoteInvalidationEvicts() throws Exception {
+        cacheManager.setOrder(ORDER_ID, "cached", 1);
+        stringRedisTemplate.delete(ORDER_KEY);
+        assertEquals("cached", cacheManager.getOrder(ORDER_ID));
+
+        // Wire format: origin node id, region, operation (K = keys), then the keys
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, "other-node\nORDER\nK\n" + ORDER_KEY);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cacheManager.getOrder(ORDER_ID) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNull(cacheManager.getOrder(ORDER_ID));
+        log.info("✓ Near entry evicted by another node's invalidation");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: An invalidation this node published itself is ignored")
+    void testOwnInvalidationIgnored() throws Exception {
+        // setOrder publishes an invalidation for the key; only other nodes act on it
+        cacheManager.setOrder(ORDER_ID, "cached", 1);
+        stringRedisTemplate.delete(ORDER_KEY);
+        Thread.sleep(200);
+
+        assertEquals("cached", cacheManager.getOrder(ORDER_ID));
+        log.info("✓ Own invalidation left the fresh near entry in place");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Near entries expire after the region TTL")
+    void testNearEntryExpires() throws Exception {
+        cacheManager.setOrder(ORDER_ID, "cached", 1);
+        stringRedisTemplate.delete(ORDER_KEY);
+        assertEquals("cached", cacheManager.getOrder(ORDER_ID));
+
+        Thread.sleep(1_500);
+
+        assertNull(cacheManager.getOrder(ORDER_ID));
+        log.info("✓ Near entry expired after 1s");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired CacheManager cacheManager) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            cacheManager.clearOrder(ORDER_ID);
+        } catch (Exception e) {
+            log.warn("Cleanup failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.CreateOrderRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.order.repository.OrderRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.archive.OrderArchivalJob;
+import org.william.cex.infrastructure.archive.OrderArchive;
+import org.william.cex.infrastructure.cache.CacheManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Test suite for archiving closed orders and serving them from the archive. The cutoff is a century,
+ * so the only orders old enough to archive are the ones this test backdates, even on a database
+ * shared with other developers.
+ */
+@SpringBootTest(properties = "order-archive.after-days=36500")
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class OrderArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderArchivalJob orderArchivalJob;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${order-archive.after-days}")
+    private int afterDays;
+
+    private static final String TEST_EMAIL = "order-archive@example.com";
+    private static String token;
+    private static Long archivedOrderId;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Closed orders past the cutoff move out of the database")
+    void testClosedOrderArchived() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        assertEquals(201, registered.getResponse().getStatus());
+        JsonNode auth = objectMapper.readTree(registered.getResponse().getContentAsString());
+        token = auth.get("token").asText();
+        assertEquals(200, mockMvc.perform(post("/v1/balance/add")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currency\":\"USDT\",\"amount\":100000}"))
+                .andReturn().getResponse().getStatus());
+
+        archivedOrderId = createAndCancelOrder();
+        jdbcTemplate.update("UPDATE orders SET updated_at = CURRENT_TIMESTAMP - make_interval(days => ?) WHERE id = ?",
+                afterDays + 1, archivedOrderId);
+
+        assertEquals(1, orderArchivalJob.archive());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?",
+                Integer.class, archivedOrderId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events WHERE order_id = ?",
+                Integer.class, archivedOrderId));
+        log.info("✓ Order {} archived, {} orders in the archive", archivedOrderId, orderArchive.size());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Archived orders are still served by GET /v1/orders/{id}")
+    void testArchivedOrderServed() throws Exception {
+        cacheManager.clearOrder(archivedOrderId);
+
+        MvcResult result = mockMvc.perform(get("/v1/orders/" + archivedOrderId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        JsonNode order = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(archivedOrderId, order.get("id").asLong());
+        assertEquals("CANCELLED", order.get("status").asText());
+        assertEquals(0, new BigDecimal("0.01").compareTo(order.get("amount").decimalValue()));
+
+        var archived = orderArchive.findOrder(archivedOrderId).orElseThrow();
+        assertEquals(org.william.cex.domain.order.entity.Order.OrderType.BUY, archived.getOrderType());
+        assertNotNull(archived.getCreatedAt());
+        log.info("✓ Archived order {} served from the archive", archivedOrderId);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Recently closed orders stay in the database")
+    void testRecentOrderKept() throws Exception {
+        Long recentOrderId = createAndCancelOrder();
+
+        orderArchivalJob.archive();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?",
+                Integer.class, recentOrderId));
+        assertTrue(orderArchive.findOrder(recentOrderId).isEmpty());
+        log.info("✓ Order {} closed within {} days stays in the database", recentOrderId, afterDays);
+    }
+
+    private Long createAndCancelOrder() throws Exception {
+        MvcResult created = mockMvc.perform(post("/v1/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateOrderRequest.builder()
+                                .orderType("BUY")
+                                .baseCurrency("BTC")
+                                .quoteCurrency("USDT")
+                                .amount(new BigDecimal("0.01"))
+                                .price(new BigDecimal("43000"))
+                                .build())))
+                .andReturn();
+        assertEquals(201, created.getResponse().getStatus());
+        Long orderId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        assertEquals(204, mockMvc.perform(delete("/v1/orders/" + orderId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus());
+        return orderId;
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository walletRepository,
+                         @Autowired OrderRepository orderRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                orderRepository.deleteAll(orderRepository.findByUserId(user.getId(),
+                        org.springframework.data.domain.Pageable.unpaged()));
+                walletRepository.deleteAll(walletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.CreateOrderRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.order.repository.OrderRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Performance budgets for order creation, cancellation and balance reads. Runs in-process on the
+ * {@code embedded} profile, so every run starts from the same empty database and needs no local
+ * services. Each operation is warmed up, then timed one request at a time for a fixed number of
+ * iterations, and fails when its p99 latency or throughput misses the {@code perf.budget.*} set in
+ * {@code application-embedded.properties}.
+ * <p>
+ * Tagged {@code perf} and excluded from the default build; run with {@code mvn test -Pperf}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+@Tag("perf")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class OrderPerformanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${perf.warmup-iterations}")
+    private int warmupIterations;
+
+    @Value("${perf.iterations}")
+    private int iterations;
+
+    private static final String TEST_EMAIL = "perf-orders@example.com";
+    private static String token;
+    private static final List<Long> warmupOrderIds = new ArrayList<>();
+    private static final List<Long> measuredOrderIds = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Order creation meets its latency and throughput budget")
+    void testOrderCreateBudget(@Value("${perf.budget.order-create.p99-ms}") double p99Budget,
+                               @Value("${perf.budget.order-create.min-per-second}") double throughputBudget)
+            throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password("TestPass123!")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        token = objectMapper.readTree(registered.getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"USDT\",\"amount\":10000000}"))
+                .andExpect(status().isOk());
+
+        String order = objectMapper.writeValueAsString(CreateOrderRequest.builder()
+                .orderType("BUY")
+                .baseCurrency("BTC")
+                .quoteCurrency("USDT")
+                .amount(new BigDecimal("0.001"))
+                .price(new BigDecimal("43000"))
+                .build());
+        Operation create = (i, orderIds) -> {
+            MvcResult result = mockMvc.perform(post("/v1/orders")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(order))
+                    .andReturn();
+            assertEquals(201, result.getResponse().getStatus());
+            orderIds.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong());
+        };
+
+        run(create, warmupIterations, warmupOrderIds);
+        Measurement result = measure(create, measuredOrderIds);
+
+        log.info("✓ Order create: {}", result);
+        result.assertWithin("order create", p99Budget, throughputBudget);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Order cancellation meets its latency and throughput budget")
+    void testOrderCancelBudget(@Value("${perf.budget.order-cancel.p99-ms}") double p99Budget,
+                               @Value("${perf.budget.order-cancel.min-per-second}") double throughputBudget)
+            throws Exception {
+        assertEquals(iterations, measuredOrderIds.size());
+        Operation warmupCancel = (i, ignored) -> cancel(warmupOrderIds.get(i));
+        Operation cancel = (i, ignored) -> cancel(measuredOrderIds.get(i));
+
+        run(warmupCancel, warmupIterations, null);
+        Measurement result = measure(cancel, null);
+
+        log.info("✓ Order cancel: {}", result);
+        result.assertWithin("order cancel", p99Budget, throughputBudget);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Balance reads meet their latency and throughput budget")
+    void testBalanceReadBudget(@Value("${perf.budget.balance-read.p99-ms}") double p99Budget,
+                               @Value("${perf.budget.balance-read.min-per-second}") double throughputBudget)
+            throws Exception {
+        Operation read = (i, ignored) -> assertEquals(200, mockMvc.perform(get("/v1/balance/USDT")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus());
+
+        run(read, warmupIterations, null);
+        Measurement result = measure(read, null);
+
+        log.info("✓ Balance read: {}", result);
+        result.assertWithin("balance read", p99Budget, throughputBudget);
+    }
+
+    private void cancel(long orderId) throws Exception {
+        assertEquals(204, mockMvc.perform(delete("/v1/orders/" + orderId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus());
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int iteration, List<Long> orderIds) throws Exception;
+    }
+
+    private static void run(Operation operation, int count, List<Long> orderIds) throws Exception {
+        for (int i = 0; i < count; i++) {
+            operation.run(i, orderIds);
+        }
+    }
+
+    private Measurement measure(Operation operation, List<Long> orderIds) throws Exception {
+        long[] latencies = new long[iterations];
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            operation.run(i, orderIds);
+            latencies[i] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Measurement(
+                iterations / (elapsed / 1e9),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                latencies[latencies.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Measurement(double throughput, double p50Millis, double p99Millis, double maxMillis) {
+
+        void assertWithin(String operation, double p99BudgetMillis, double minThroughput) {
+            assertTrue(p99Millis <= p99BudgetMillis, String.format("%s p99 %.2f ms is over the %.2f ms budget",
+                    operation, p99Millis, p99BudgetMillis));
+            assertTrue(throughput >= minThroughput, String.format("%s throughput %.0f/s is under the %.0f/s budget",
+                    operation, throughput, minThroughput));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms", throughput, p50Millis, p99Millis, maxMillis);
+        }
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository walletRepository,
+                         @Autowired OrderRepository orderRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                orderRepository.deleteAll(orderRepository.findByUserId(user.getId(),
+                        org.springframework.data.domain.Pageable.unpaged()));
+                walletRepository.deleteAll(walletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
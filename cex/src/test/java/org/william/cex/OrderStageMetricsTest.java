@@ -0,0 +1,184 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.CreateOrderRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.order.repository.OrderRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Test suite for the per-stage order lifecycle timers
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class OrderStageMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final String TEST_EMAIL = "order-stages@example.com";
+    private static final String PAIR = "ETH/USD";
+    private static String token;
+    private static Long orderId;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Order creation records every stage")
+    void testCreateStages() throws Exception {
+        token = register(TEST_EMAIL);
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"USD\",\"amount\":10000}"));
+
+        MvcResult result = mockMvc.perform(post("/v1/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order(new BigDecimal("1")))))
+                .andReturn();
+        assertEquals(201, result.getResponse().getStatus());
+        orderId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        for (String stage : new String[]{"balance_lock", "order_insert", "event_insert", "commit", "cache"}) {
+            Timer timer = stageTimer("create", stage, PAIR, "success");
+            assertNotNull(timer, "missing stage " + stage);
+            assertTrue(timer.count() >= 1);
+        }
+        assertNotNull(stageTimer("create", "auth", "none", "success"));
+        assertNotNull(stageTimer("create", "user_lookup", "none", "success"));
+        log.info("✓ Create stages recorded, balance lock max {} ms",
+                stageTimer("create", "balance_lock", PAIR, "success").max(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A rejected order is tagged as rejected at the failing stage")
+    void testRejectedStage() throws Exception {
+        int status = mockMvc.perform(post("/v1/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order(new BigDecimal("1000")))))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(400, status);
+        assertNotNull(stageTimer("create", "balance_lock", PAIR, "rejected"));
+        log.info("✓ Insufficient balance recorded as a rejected balance lock");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Cancellation records its stages")
+    void testCancelStages() throws Exception {
+        int status = mockMvc.perform(delete("/v1/orders/" + orderId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(204, status);
+        for (String stage : new String[]{"balance_unlock", "order_update", "event_insert", "cache", "commit"}) {
+            assertNotNull(stageTimer("cancel", stage, PAIR, "success"), "missing stage " + stage);
+        }
+        log.info("✓ Cancel stages recorded");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: The Prometheus scrape endpoint is admin-only")
+    void testPrometheusRequiresAdmin() throws Exception {
+        int status = mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(403, status);
+        log.info("✓ Prometheus endpoint refused a user token");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Pairs that are not configured are tagged as other")
+    void testUnlistedPairTaggedOther() throws Exception {
+        CreateOrderRequest request = order(new BigDecimal("1"));
+        request.setBaseCurrency("DOGE");
+        int status = mockMvc.perform(post("/v1/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(201, status);
+        assertNotNull(stageTimer("create", "order_insert", "other", "success"));
+        assertNull(stageTimer("create", "order_insert", "DOGE/USD", "success"));
+        log.info("✓ Unlisted pair DOGE/USD tagged as other");
+    }
+
+    private Timer stageTimer(String operation, String stage, String pair, String outcome) {
+        return meterRegistry.find("cex.order.stage")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .tag("pair", pair)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private static CreateOrderRequest order(BigDecimal amount) {
+        return CreateOrderRequest.builder()
+                .orderType("BUY")
+                .baseCurrency("ETH")
+                .quoteCurrency("USD")
+                .amount(amount)
+                .price(new BigDecimal("2450"))
+                .build();
+    }
+
+    private String register(String email) throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(email)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository walletRepository,
+                         @Autowired OrderRepository orderRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                orderRepository.deleteAll(orderRepository.findByUserId(user.getId(),
+                        org.springframework.data.domain.Pageable.unpaged()));
+                walletRepository.deleteAll(walletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
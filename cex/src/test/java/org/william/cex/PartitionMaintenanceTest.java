@@ -0,0 +1,169 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.CreateOrderRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.order.repository.OrderRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.partition.PartitionMaintenanceJob;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Test suite for the monthly partitions of order_events and trades and their maintenance job
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class PartitionMaintenanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PartitionMaintenanceJob partitionMaintenanceJob;
+
+    @Value("${partition.premake-months}")
+    private int premakeMonths;
+
+    @Value("${partition.retention-months}")
+    private int retentionMonths;
+
+    @Value("${order-archive.directory}")
+    private Path archiveDirectory;
+
+    private static final String TEST_EMAIL = "partitions@example.com";
+    private static long orderId;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Partitions exist from the current month through the premake window")
+    void testFuturePartitionsCreated() {
+        for (String table : List.of("order_events", "trades")) {
+            List<String> partitions = partitionsOf(table);
+            for (int month = 0; month <= premakeMonths; month++) {
+                String expected = table + "_p" + jdbcTemplate.queryForObject(
+                        "SELECT to_char(CURRENT_DATE + make_interval(months => ?), 'YYYYMM')", String.class, month);
+                assertTrue(partitions.contains(expected), "Missing partition " + expected);
+            }
+            assertTrue(partitions.contains(table + "_default"));
+        }
+        log.info("✓ Partitions created {} months ahead", premakeMonths);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: New order events land in the current month's partition")
+    void testOrderEventsRoutedToCurrentMonth() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        String token = objectMapper.readTree(registered.getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"USDT\",\"amount\":100000}"));
+
+        MvcResult created = mockMvc.perform(post("/v1/orders")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateOrderRequest.builder()
+                                .orderType("BUY")
+                                .baseCurrency("BTC")
+                                .quoteCurrency("USDT")
+                                .amount(new BigDecimal("0.01"))
+                                .price(new BigDecimal("43000"))
+                                .build())))
+                .andReturn();
+        assertEquals(201, created.getResponse().getStatus());
+        orderId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM order_events WHERE order_id = ?", String.class, orderId);
+        String currentMonth = "order_events_p" + jdbcTemplate.queryForObject(
+                "SELECT to_char(CURRENT_DATE, 'YYYYMM')", String.class);
+        assertEquals(List.of(currentMonth), partitions);
+        log.info("✓ Order {} events stored in {}", orderId, currentMonth);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Partitions older than the retention window are exported and dropped")
+    void testExpiredPartitionArchived() {
+        String expired = "order_events_p" + jdbcTemplate.queryForObject(
+                "SELECT to_char(CURRENT_DATE - make_interval(months => ?), 'YYYYMM')", String.class, retentionMonths + 1);
+        try {
+            jdbcTemplate.queryForObject(
+                    "SELECT create_monthly_partition('order_events', (CURRENT_DATE - make_interval(months => ?))::DATE)",
+                    Boolean.class, retentionMonths + 1);
+            jdbcTemplate.update("INSERT INTO order_events (order_id, event_type, details, created_at) " +
+                    "VALUES (?, 'CREATED', '\"expired\"'::JSONB, CURRENT_DATE - make_interval(months => ?))",
+                    orderId, retentionMonths + 1);
+            assertTrue(partitionsOf("order_events").contains(expired));
+
+            partitionMaintenanceJob.maintain();
+
+            assertFalse(partitionsOf("order_events").contains(expired));
+            assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, expired),
+                    "Detached partition should be dropped once exported");
+            Path export = archiveDirectory.resolve("partitions").resolve(expired + "-00000.cxs");
+            assertTrue(Files.isRegularFile(export), "Missing export " + export);
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events WHERE order_id = ?",
+                    Integer.class, orderId), "Only the current month's event should remain");
+            log.info("✓ {} exported to {} and dropped", expired, export);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + expired);
+        }
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                String.class, table);
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository walletRepository,
+                         @Autowired OrderRepository orderRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                orderRepository.deleteAll(orderRepository.findByUserId(user.getId(),
+                        org.springframework.data.domain.Pageable.unpaged()));
+                walletRepository.deleteAll(walletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Test suite for the per-user weighted rate limiter
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final String NOISY_EMAIL = "ratelimit-noisy@example.com";
+    private static final String QUIET_EMAIL = "ratelimit-quiet@example.com";
+    private static String noisyToken;
+    private static String quietToken;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Order creation bursts are rejected with 429 and Retry-After")
+    void testOrderBurstLimited() throws Exception {
+        noisyToken = register(NOISY_EMAIL);
+        quietToken = register(QUIET_EMAIL);
+        double rejectionsBefore = rejections("POST /v1/orders");
+
+        MockHttpServletResponse limited = null;
+        int admitted = 0;
+        for (int i = 0; i < 30 && limited == null; i++) {
+            MockHttpServletResponse response = mockMvc.perform(post("/v1/orders")
+                            .header("Authorization", "Bearer " + noisyToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andReturn().getResponse();
+            if (response.getStatus() == 429) {
+                limited = response;
+            } else {
+                admitted++;
+            }
+        }
+
+        assertNotNull(limited, "order burst was never rate limited");
+        // Orders cost 10 of 100 tokens, so about ten pass before the bucket is empty
+        assertTrue(admitted >= 10 && admitted < 30, "admitted " + admitted);
+        assertNotNull(limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(Long.parseLong(limited.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertEquals(429, objectMapper.readTree(limited.getContentAsString()).get("status").asInt());
+        assertTrue(rejections("POST /v1/orders") > rejectionsBefore);
+        log.info("✓ Order burst limited after {} requests", admitted);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Other users are not affected")
+    void testOtherUserUnaffected() throws Exception {
+        int status = mockMvc.perform(get("/v1/balance/BTC")
+                        .header("Authorization", "Bearer " + quietToken))
+                .andReturn().getResponse().getStatus();
+
+        assertNotEquals(429, status);
+        log.info("✓ Second user served with status {}", status);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Cheap reads are admitted once the bucket refills")
+    void testBucketRefills() throws Exception {
+        Thread.sleep(1000);
+
+        int status = mockMvc.perform(get("/v1/balance/BTC")
+                        .header("Authorization", "Bearer " + noisyToken))
+                .andReturn().getResponse().getStatus();
+
+        assertNotEquals(429, status);
+        log.info("✓ Read admitted after refill with status {}", status);
+    }
+
+    private String register(String email) throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(email)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private double rejections(String endpoint) {
+        return meterRegistry.get("cex.ratelimit.rejections")
+                .tag("endpoint", endpoint)
+                .tag("scope", "local")
+                .counter().count();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(NOISY_EMAIL).ifPresent(userRepository::delete);
+            userRepository.findByEmail(QUIET_EMAIL).ifPresent(userRepository::delete);
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Test suite for the non-blocking read endpoints under /v1/read
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class ReactiveReadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String TEST_EMAIL = "reactive-read@example.com";
+    private static String token;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Balance is served asynchronously and matches the blocking endpoint")
+    void testBalance() throws Exception {
+        token = register(TEST_EMAIL);
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"BTC\",\"amount\":2.5}"));
+
+        MockHttpServletResponse response = performAsync(get("/v1/read/balance/BTC")
+                .header("Authorization", "Bearer " + token));
+
+        assertEquals(200, response.getStatus());
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals(0, new BigDecimal("2.5").compareTo(body.get("balance").decimalValue()));
+        assertEquals("BTC", body.get("currency").asText());
+        log.info("✓ Reactive balance read: {}", body);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Missing wallet falls back to the database and returns 404")
+    void testMissingWallet() throws Exception {
+        MockHttpServletResponse response = performAsync(get("/v1/read/balance/DOGE")
+                .header("Authorization", "Bearer " + token));
+
+        assertEquals(404, response.getStatus());
+        log.info("✓ Missing wallet returned 404");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Unknown order returns 404")
+    void testUnknownOrder() throws Exception {
+        MockHttpServletResponse response = performAsync(get("/v1/read/orders/" + Long.MAX_VALUE)
+                .header("Authorization", "Bearer " + token));
+
+        assertEquals(404, response.getStatus());
+        log.info("✓ Unknown order returned 404");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Fee rate and market price are served")
+    void testFeeRateAndPrice() throws Exception {
+        MockHttpServletResponse fee = performAsync(get("/v1/read/fees/BTC-USD")
+                .header("Authorization", "Bearer " + token));
+        assertEquals(200, fee.getStatus());
+        assertEquals("BTC-USD", objectMapper.readTree(fee.getContentAsString()).get("currencyPair").asText());
+
+        MockHttpServletResponse price = performAsync(get("/v1/read/market/price/BTC/USD")
+                .header("Authorization", "Bearer " + token));
+        assertEquals(200, price.getStatus());
+        assertEquals("BTC/USD", objectMapper.readTree(price.getContentAsString()).get("pair").asText());
+        log.info("✓ Fee rate and market price served");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Reads require authentication")
+    void testUnauthenticated() throws Exception {
+        int status = mockMvc.perform(get("/v1/read/balance/BTC")).andReturn().getResponse().getStatus();
+
+        assertEquals(401, status);
+        log.info("✓ Unauthenticated read rejected");
+    }
+
+    private MockHttpServletResponse performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+    }
+
+    private String register(String email) throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(email)
+                                .password("TestPass123!")
+                                .build())))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository userWalletRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
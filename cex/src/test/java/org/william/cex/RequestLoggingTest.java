@@ -0,0 +1,66 @@
+package org.william.cex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.william.cex.infrastructure.logging.RequestLogFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Test suite for request correlation ids and the sampled access log
+ */
+@SpringBootTest(properties = "logging.request.sample-rate=1.0")
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class RequestLoggingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A request id is generated and returned")
+    void testRequestIdGenerated() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/actuator/health")).andReturn().getResponse();
+
+        String requestId = response.getHeader("X-Request-Id");
+        assertNotNull(requestId);
+        assertFalse(requestId.isBlank());
+        log.info("✓ Generated request id {}", requestId);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A well-formed caller request id is propagated, a malformed one replaced")
+    void testRequestIdPropagated() throws Exception {
+        MockHttpServletResponse propagated = mockMvc.perform(get("/actuator/health")
+                        .header("X-Request-Id", "client-123.abc"))
+                .andReturn().getResponse();
+        assertEquals("client-123.abc", propagated.getHeader("X-Request-Id"));
+
+        MockHttpServletResponse replaced = mockMvc.perform(get("/actuator/health")
+                        .header("X-Request-Id", "bad id\r\ninjected"))
+                .andReturn().getResponse();
+        assertNotEquals("bad id\r\ninjected", replaced.getHeader("X-Request-Id"));
+        log.info("✓ Caller request id propagated, malformed id replaced");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: MDC is cleared after the request")
+    void testMdcCleared() throws Exception {
+        mockMvc.perform(get("/v1/balance/BTC")).andReturn();
+
+        assertNull(MDC.get(RequestLogFilter.REQUEST_ID_KEY));
+        assertNull(MDC.get(RequestLogFilter.USER_ID_KEY));
+        log.info("✓ MDC cleared");
+    }
+}
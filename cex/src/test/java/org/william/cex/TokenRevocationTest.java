@@ -0,0 +1,157 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AddBalanceRequest;
+import org.william.cex.api.dto.request.LoginRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+import org.william.cex.infrastructure.security.JwtPrincipal;
+import org.william.cex.infrastructure.security.JwtTokenProvider;
+import org.william.cex.infrastructure.security.TokenRevocationService;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for JWT revocation via logout and the bloom-filtered revocation check
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class TokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    private static final String TEST_EMAIL = "revocation-test@example.com";
+    private static final String TEST_PASSWORD = "TestPass123!";
+    private static String userToken;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Tokens carry distinct ids")
+    void testTokensCarryIds() throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterUserRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password(TEST_PASSWORD)
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        userToken = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(post("/v1/balance/add")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AddBalanceRequest.builder()
+                                .currency("BTC")
+                                .amount(BigDecimal.ONE)
+                                .build())))
+                .andExpect(status().isOk());
+
+        JwtPrincipal principal = jwtTokenProvider.parseToken(userToken);
+        JwtPrincipal other = jwtTokenProvider.parseToken(
+                jwtTokenProvider.generateToken(principal.userId(), TEST_EMAIL, "USER"));
+
+        assertNotNull(principal.tokenId());
+        assertNotEquals(principal.tokenId(), other.tokenId());
+        assertFalse(tokenRevocationService.isRevoked(principal.tokenId()));
+        log.info("✓ Token id {} is not revoked", principal.tokenId());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Logout revokes the token used")
+    void testLogoutRevokesToken() throws Exception {
+        mockMvc.perform(get("/v1/balance/BTC")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/v1/auth/logout")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNoContent());
+
+        assertTrue(tokenRevocationService.isRevoked(jwtTokenProvider.parseToken(userToken).tokenId()));
+        mockMvc.perform(get("/v1/balance/BTC")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+        log.info("✓ Revoked token rejected after logout");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A new login is not affected by the earlier logout")
+    void testNewLoginUnaffected() throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoginRequest.builder()
+                                .email(TEST_EMAIL)
+                                .password(TEST_PASSWORD)
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        String freshToken = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                        .header("Authorization", "Bearer " + freshToken))
+                .andExpect(status().isOk());
+        log.info("✓ Fresh token accepted");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Revocations survive a filter rebuild")
+    void testRevocationSurvivesRebuild() {
+        String tokenId = jwtTokenProvider.parseToken(userToken).tokenId();
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+        log.info("✓ Token {} still revoked after rebuild", tokenId);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Logout requires a token")
+    void testLogoutRequiresToken() throws Exception {
+        mockMvc.perform(post("/v1/auth/logout"))
+                .andExpect(status().isUnauthorized());
+        log.info("✓ Anonymous logout rejected");
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired UserWalletRepository userWalletRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(TEST_EMAIL).ifPresent(user -> {
+                userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
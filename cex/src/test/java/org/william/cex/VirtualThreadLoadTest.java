@@ -0,0 +1,216 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.domain.user.repository.UserWalletRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test comparing the platform-thread and virtual-thread request modes. Starts the application
+ * once per mode, the virtual run with the {@code virtual} profile as deployed, and drives more
+ * concurrent clients than Tomcat has platform threads against a balance read that goes to Redis on
+ * every request (near cache disabled). Logs throughput and latency percentiles side by side and
+ * fails if virtual threads fall more than {@link #TOLERANCE} behind platform threads on either.
+ * <p>
+ * Tagged {@code perf} and excluded from the default build; run with {@code mvn test -Pperf}, which
+ * activates the {@code embedded} profile so both contexts share the embedded Postgres and Redis.
+ */
+@Tag("perf")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+    private static final double TOLERANCE = 0.10;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static LoadResult platform;
+    private static LoadResult virtual;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Platform-thread mode under load")
+    void testPlatformThreads() throws Exception {
+        platform = runLoad(false);
+        log.info("✓ Platform threads: {}", platform);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Virtual-thread mode under load")
+    void testVirtualThreads() throws Exception {
+        virtual = runLoad(true);
+        log.info("✓ Virtual threads: {}", virtual);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Compare modes")
+    void testCompare() {
+        assertNotNull(platform);
+        assertNotNull(virtual);
+        log.info("=== Virtual vs platform threads, {} clients, {}s ===", CLIENTS, MEASURE.toSeconds());
+        log.info(String.format("%-10s %12s %10s %10s %10s %8s", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        for (LoadResult result : List.of(platform, virtual)) {
+            log.info(String.format("%-10s %12.0f %10.1f %10.1f %10.1f %8d", result.mode(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors()));
+        }
+        assertTrue(virtual.throughput() >= platform.throughput() * (1 - TOLERANCE),
+                String.format("virtual threads served %.0f req/s, platform threads %.0f", virtual.throughput(), platform.throughput()));
+        assertTrue(virtual.p99Millis() <= platform.p99Millis() * (1 + TOLERANCE),
+                String.format("virtual threads p99 %.1f ms, platform threads %.1f ms", virtual.p99Millis(), platform.p99Millis()));
+        log.info("✓ Throughput ratio virtual/platform: {}", String.format("%.2f", virtual.throughput() / platform.throughput()));
+    }
+
+    private static LoadResult runLoad(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String email = "load-" + mode + "-" + UUID.randomUUID() + "@example.com";
+        // profiles() adds to the active ones, so the perf run's embedded profile stays on
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CexApplication.class)
+                .profiles(virtualThreads ? new String[]{"virtual"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "rate-limit.enabled=false",
+                        "cache.near.balance.max-size=0",
+                        "logging.level.org.william.cex=INFO",
+                        "logging.level.org.springframework=WARN")
+                .run();
+        try {
+            assertEquals(virtualThreads, context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String token = prepareUser(client, baseUrl, email);
+            HttpRequest read = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/balance/BTC"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            drive(client, read, WARMUP);
+            return summarize(mode, drive(client, read, MEASURE), MEASURE);
+        } finally {
+            cleanUp(context, email);
+            context.close();
+        }
+    }
+
+    private static String prepareUser(HttpClient client, String baseUrl, String email) throws Exception {
+        HttpResponse<String> registered = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email + "\",\"password\":\"LoadTest123!\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, registered.statusCode());
+        String token = objectMapper.readTree(registered.body()).get("token").asText();
+
+        HttpResponse<String> funded = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/balance/add"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"currency\":\"BTC\",\"amount\":1}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, funded.statusCode());
+        return token;
+    }
+
+    /**
+     * Run {@link #CLIENTS} closed-loop clients for the duration
+     * @return per-request latencies in nanoseconds, with failed requests as negative values
+     */
+    private static long[] drive(HttpClient client, HttpRequest request, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = ok ? elapsed : -elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            return all;
+        }
+    }
+
+    private static LoadResult summarize(String mode, long[] samples, Duration duration) {
+        long errors = Arrays.stream(samples).filter(sample -> sample < 0).count();
+        long[] latencies = Arrays.stream(samples).map(Math::abs).sorted().toArray();
+        assertTrue(latencies.length > 0, "no requests completed");
+        assertTrue(errors <= latencies.length / 100, mode + " mode failed " + errors + " of " + latencies.length);
+
+        return new LoadResult(mode,
+                latencies.length / (double) duration.toSeconds(),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                latencies[latencies.length - 1] / 1_000_000.0,
+                errors);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void cleanUp(ConfigurableApplicationContext context, String email) {
+        try {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            UserWalletRepository userWalletRepository = context.getBean(UserWalletRepository.class);
+            userRepository.findByEmail(email).ifPresent(user -> {
+                userWalletRepository.deleteAll(userWalletRepository.findByUserId(user.getId()));
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+
+    private record LoadResult(String mode, double throughput, double p50Millis, double p99Millis,
+                              double maxMillis, long errors) {
+    }
+}
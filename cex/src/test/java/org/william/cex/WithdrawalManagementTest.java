@@ -0,0 +1,299 @@
+package org.william.cex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.william.cex.api.dto.request.AddBalanceRequest;
+import org.william.cex.api.dto.request.AdminRegisterRequest;
+import org.william.cex.api.dto.request.CreateWithdrawalRequest;
+import org.william.cex.api.dto.request.RegisterUserRequest;
+import org.william.cex.domain.admin.repository.AdministratorRepository;
+import org.william.cex.domain.user.repository.UserRepository;
+import org.william.cex.infrastructure.chain.ChainBroadcaster;
+import org.william.cex.infrastructure.chain.PayoutInstruction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for the withdrawal request, approval and batched processing flow
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Slf4j
+class WithdrawalManagementTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${admin.registration.key}")
+    private String adminKey;
+
+    private static final String testUserEmail = "withdrawal-test@example.com";
+    private static final String testAdminEmail = "withdrawal-admin@example.com";
+    private static String userToken;
+    private static String adminToken;
+    private static Long withdrawalId;
+
+    @BeforeAll
+    static void setup(@Autowired MockMvc mockMvc, @Autowired ObjectMapper objectMapper) throws Exception {
+        log.info("=== Setting up test user for Withdrawal tests ===");
+
+        RegisterUserRequest request = RegisterUserRequest.builder()
+                .email(testUserEmail)
+                .password("WithdrawalTest123!")
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        userToken = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+
+        AddBalanceRequest addBalanceRequest = AddBalanceRequest.builder()
+                .currency("BTC")
+                .amount(new BigDecimal("1.0"))
+                .build();
+
+        mockMvc.perform(post("/v1/balance/add")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addBalanceRequest)))
+                .andExpect(status().isOk());
+        log.info("Test user created and funded");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Request Withdrawal - Funds Locked")
+    void testRequestWithdrawal() throws Exception {
+        log.info("=== TEST 1: Request Withdrawal ===");
+
+        CreateWithdrawalRequest request = CreateWithdrawalRequest.builder()
+                .currency("BTC")
+                .amount(new BigDecimal("0.5"))
+                .destinationAddress("bc1qtestdestination")
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/v1/withdrawals")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.fee").value(0.00025))
+                .andReturn();
+
+        withdrawalId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lockedAmount").value(0.50025));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Request Withdrawal - Insufficient Balance")
+    void testRequestWithdrawalInsufficientBalance() throws Exception {
+        log.info("=== TEST 2: Request Withdrawal with Insufficient Balance ===");
+
+        CreateWithdrawalRequest request = CreateWithdrawalRequest.builder()
+                .currency("BTC")
+                .amount(new BigDecimal("5.0"))
+                .destinationAddress("bc1qtestdestination")
+                .build();
+
+        mockMvc.perform(post("/v1/withdrawals")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Approve Withdrawal - Requires Admin")
+    void testApproveWithdrawalRequiresAdmin() throws Exception {
+        log.info("=== TEST 3: Approve Withdrawal as Regular User ===");
+
+        mockMvc.perform(post("/v1/admin/withdrawals/" + withdrawalId + "/approve")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Approve Withdrawal - Processed in Batch")
+    void testApproveAndProcessWithdrawal() throws Exception {
+        log.info("=== TEST 4: Approve and Process Withdrawal ===");
+
+        AdminRegisterRequest adminRequest = AdminRegisterRequest.builder()
+                .email(testAdminEmail)
+                .password("WithdrawalAdmin123!")
+                .adminKey(adminKey)
+                .build();
+
+        MvcResult adminResult = mockMvc.perform(post("/v1/admin/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(adminRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        adminToken = objectMapper.readTree(adminResult.getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(post("/v1/admin/withdrawals/" + withdrawalId + "/approve")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+
+        // The processor runs on a fixed delay; wait for it to pick up the batch
+        JsonNode withdrawal = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            MvcResult result = mockMvc.perform(get("/v1/withdrawals/" + withdrawalId)
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            withdrawal = objectMapper.readTree(result.getResponse().getContentAsString());
+            if ("COMPLETED".equals(withdrawal.get("status").asText())) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+
+        assertEquals("COMPLETED", withdrawal.get("status").asText());
+        log.info("Withdrawal processed in tx {}", withdrawal.get("txHash").asText());
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0.49975))
+                .andExpect(jsonPath("$.lockedAmount").value(0));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Cancel Pending Withdrawal - Funds Released")
+    void testCancelPendingWithdrawal() throws Exception {
+        log.info("=== TEST 5: Cancel Pending Withdrawal ===");
+
+        Long cancelledId = requestWithdrawal("0.1");
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.lockedAmount").value(0.10005));
+
+        mockMvc.perform(delete("/v1/withdrawals/" + cancelledId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/withdrawals/" + cancelledId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.balance").value(0.49975))
+                .andExpect(jsonPath("$.lockedAmount").value(0));
+        log.info("✓ Cancelled withdrawal {} released its funds", cancelledId);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Reject Withdrawal - Funds Released, Only Once")
+    void testRejectWithdrawal() throws Exception {
+        log.info("=== TEST 6: Reject Withdrawal ===");
+
+        Long rejectedId = requestWithdrawal("0.1");
+
+        mockMvc.perform(post("/v1/admin/withdrawals/" + rejectedId + "/reject")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/v1/admin/withdrawals/" + rejectedId + "/reject")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+        mockMvc.perform(post("/v1/admin/withdrawals/" + rejectedId + "/reject")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/balance/BTC")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.balance").value(0.49975))
+                .andExpect(jsonPath("$.lockedAmount").value(0));
+        log.info("✓ Rejected withdrawal {} released its funds once", rejectedId);
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test 7: Completed Withdrawal - Cannot Be Cancelled")
+    void testCancelCompletedWithdrawal() throws Exception {
+        log.info("=== TEST 7: Cancel Completed Withdrawal ===");
+
+        mockMvc.perform(delete("/v1/withdrawals/" + withdrawalId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/withdrawals/" + withdrawalId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test 8: Broadcast - Retried Batch Is Not Paid Out Twice")
+    void testBroadcastIdempotent(@Autowired ChainBroadcaster chainBroadcaster) {
+        log.info("=== TEST 8: Broadcast Idempotency ===");
+
+        List<PayoutInstruction> payouts = List.of(
+                new PayoutInstruction(1L, "bc1qtestdestination", new BigDecimal("0.1")));
+        String key = "test-batch-" + System.nanoTime();
+
+        assertEquals(chainBroadcaster.broadcast("BTC", key, payouts), chainBroadcaster.broadcast("BTC", key, payouts));
+        log.info("✓ Same idempotency key returned the original transaction");
+    }
+
+    private Long requestWithdrawal(String amount) throws Exception {
+        CreateWithdrawalRequest request = CreateWithdrawalRequest.builder()
+                .currency("BTC")
+                .amount(new BigDecimal(amount))
+                .destinationAddress("bc1qtestdestination")
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/v1/withdrawals")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired UserRepository userRepository,
+                         @Autowired AdministratorRepository administratorRepository) {
+        log.info("=== Cleaning up test data ===");
+        try {
+            userRepository.findByEmail(testUserEmail).ifPresent(userRepository::delete);
+            userRepository.findByEmail(testAdminEmail).ifPresent(user -> {
+                administratorRepository.findByUserId(user.getId()).ifPresent(administratorRepository::delete);
+                userRepository.delete(user);
+            });
+        } catch (Exception e) {
+            log.warn("Error during cleanup: {}", e.getMessage());
+        }
+    }
+}
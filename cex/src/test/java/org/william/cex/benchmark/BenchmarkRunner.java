@@ -0,0 +1,138 @@
+package org.william.cex.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs every benchmark in this package, writes the results as JMH JSON and, given a baseline from
+ * an earlier run, fails when a benchmark got slower. Run through the {@code benchmark} Maven profile,
+ * which compares against the committed {@code benchmarks/baseline.json}:
+ * <pre>
+ * mvn -Pbenchmark verify -DskipTests
+ * </pre>
+ * System properties:
+ * <ul>
+ *   <li>{@code jmh.include}: regex of benchmarks to run, default all of this package</li>
+ *   <li>{@code jmh.result}: results file, default {@code target/jmh/results.json}</li>
+ *   <li>{@code jmh.baseline}: results of an earlier run to compare with; no gate when empty</li>
+ *   <li>{@code jmh.max-regression}: allowed slowdown as a fraction, default 0.10</li>
+ * </ul>
+ * A benchmark regresses when it is slower than the baseline by more than the allowed fraction and
+ * by more than the two runs' error margins combined, so noise alone does not fail the build. A gated
+ * run also fails when the baseline is missing or holds none of the benchmarks run; benchmarks added
+ * since it was recorded are reported as new until it is recorded again.
+ */
+public class BenchmarkRunner {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("jmh.include", BenchmarkRunner.class.getPackageName() + ".*Benchmark");
+        Path result = Path.of(System.getProperty("jmh.result", "target/jmh/results.json"));
+        String baseline = System.getProperty("jmh.baseline", "");
+        double maxRegression = Double.parseDouble(System.getProperty("jmh.max-regression", "0.10"));
+
+        if (!baseline.isBlank() && !Files.isRegularFile(Path.of(baseline))) {
+            // Fail before spending minutes on a run there is nothing to compare with
+            System.err.printf("Baseline %s not found. Record one on the machine that runs the gate:%n" +
+                    "  mvn -Pbenchmark verify -DskipTests -Djmh.baseline=%n" +
+                    "  cp target/jmh/results.json benchmarks/baseline.json%n" +
+                    "or pass -Djmh.baseline= to run without the gate%n", baseline);
+            System.exit(1);
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .addProfiler("gc")
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()).run();
+        System.out.printf("%nResults written to %s%n", result.toAbsolutePath());
+
+        if (baseline.isBlank()) {
+            return;
+        }
+        Map<String, JsonNode> baselineResults = read(Path.of(baseline));
+        Map<String, JsonNode> currentResults = read(result);
+        if (currentResults.keySet().stream().noneMatch(baselineResults::containsKey)) {
+            // A gate that compares nothing would pass every run
+            System.err.printf("None of the benchmarks run has a score in %s; record the baseline again%n", baseline);
+            System.exit(1);
+        }
+        int regressions = compare(baselineResults, currentResults, maxRegression);
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, maxRegression * 100, baseline);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return the number of benchmarks slower than their baseline beyond the allowed regression
+     */
+    private static int compare(Map<String, JsonNode> baseline, Map<String, JsonNode> current, double maxRegression) {
+        int regressions = 0;
+        int unrecorded = 0;
+        System.out.printf("%n%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                unrecorded++;
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            // Throughput modes score higher-is-better, time modes lower-is-better
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = (score(after) - score(before)) / score(before);
+            double slowdown = higherIsBetter ? -change : change;
+            double noise = error(before) + error(after);
+            boolean regressed = slowdown > maxRegression && Math.abs(score(after) - score(before)) > noise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), score(before), score(after),
+                    change * 100, regressed ? "  REGRESSED" : "");
+        }
+        if (unrecorded > 0) {
+            System.out.printf("%n%d benchmark(s) have no baseline score and are not gated%n", unrecorded);
+        }
+        return regressions;
+    }
+
+    /**
+     * Results by benchmark name, mode and parameters
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText())
+                    .append(" (").append(node.path("mode").asText()).append(')');
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        // A single measured iteration reports NaN as its error
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,126 @@
+package org.william.cex.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.william.cex.config.RedisConfig;
+import org.william.cex.domain.order.entity.Order;
+import org.william.cex.domain.user.entity.UserWallet;
+import org.william.cex.infrastructure.cache.serialization.CompactRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compact binary cache serializer with the default-typed JSON serializer on the
+ * cached wallet and order entities, both built by {@link RedisConfig}. Run with {@code main} from
+ * the test classpath, or with the other benchmarks through {@link BenchmarkRunner}; payload sizes
+ * are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactRedisSerializer compact;
+
+    private UserWallet wallet;
+    private Order order;
+    private byte[] walletJson;
+    private byte[] walletBinary;
+    private byte[] orderJson;
+    private byte[] orderBinary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisConfig redisConfig = new RedisConfig();
+        json = redisConfig.jsonRedisSerializer();
+        compact = redisConfig.compactRedisSerializer(json);
+
+        LocalDateTime now = LocalDateTime.now();
+        wallet = UserWallet.builder()
+                .id(184_223L)
+                .userId(90_112L)
+                .currency("USDT")
+                .balance(new BigDecimal("15234.56780000"))
+                .lockedAmount(new BigDecimal("1200.00000000"))
+                .version(57L)
+                .createdAt(now.minusDays(30))
+                .updatedAt(now)
+                .build();
+        order = Order.builder()
+                .id(5_512_874L)
+                .userId(90_112L)
+                .orderType(Order.OrderType.SELL)
+                .baseCurrency("BTC")
+                .quoteCurrency("USDT")
+                .amount(new BigDecimal("0.25000000"))
+                .price(new BigDecimal("43250.50000000"))
+                .filledAmount(new BigDecimal("0.10000000"))
+                .status(Order.OrderStatus.PARTIALLY_FILLED)
+                .createdAt(now.minusMinutes(5))
+                .updatedAt(now)
+                .build();
+
+        walletJson = json.serialize(wallet);
+        walletBinary = compact.serialize(wallet);
+        orderJson = json.serialize(order);
+        orderBinary = compact.serialize(order);
+        System.out.printf("%nPayload bytes - wallet: json=%d binary=%d, order: json=%d binary=%d%n",
+                walletJson.length, walletBinary.length, orderJson.length, orderBinary.length);
+    }
+
+    @Benchmark
+    public byte[] walletSerializeJson() {
+        return json.serialize(wallet);
+    }
+
+    @Benchmark
+    public byte[] walletSerializeBinary() {
+        return compact.serialize(wallet);
+    }
+
+    @Benchmark
+    public Object walletDeserializeJson() {
+        return json.deserialize(walletJson);
+    }
+
+    @Benchmark
+    public Object walletDeserializeBinary() {
+        return compact.deserialize(walletBinary);
+    }
+
+    @Benchmark
+    public byte[] orderSerializeJson() {
+        return json.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] orderSerializeBinary() {
+        return compact.serialize(order);
+    }
+
+    @Benchmark
+    public Object orderDeserializeJson() {
+        return json.deserialize(orderJson);
+    }
+
+    @Benchmark
+    public Object orderDeserializeBinary() {
+        return compact.deserialize(orderBinary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package org.william.cex.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.william.cex.domain.order.entity.Order;
+import org.william.cex.domain.user.entity.UserWallet;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal arithmetic on the order and wallet entities as the order flow performs it: the
+ * available-balance check and lock/unlock around order creation and cancellation, the order
+ * value locked for a buy, and a partial fill. Amounts have the scale of the DECIMAL(20,8) columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DomainArithmeticBenchmark {
+
+    private UserWallet wallet;
+    private Order order;
+    private BigDecimal lockAmount;
+    private BigDecimal fillAmount;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        wallet = UserWallet.builder()
+                .userId(90_112L)
+                .currency("USDT")
+                .balance(new BigDecimal("15234.56780000"))
+                .lockedAmount(new BigDecimal("1200.00000000"))
+                .build();
+        order = Order.builder()
+                .userId(90_112L)
+                .orderType(Order.OrderType.BUY)
+                .baseCurrency("BTC")
+                .quoteCurrency("USDT")
+                .amount(new BigDecimal("0.25000000"))
+                .price(new BigDecimal("43250.50000000"))
+                .filledAmount(BigDecimal.ZERO)
+                .build();
+        lockAmount = new BigDecimal("10812.62500000");
+        fillAmount = new BigDecimal("0.01000000");
+    }
+
+    @Benchmark
+    public BigDecimal walletAvailableBalance() {
+        return wallet.getAvailableBalance();
+    }
+
+    @Benchmark
+    public BigDecimal walletLockUnlock() {
+        wallet.lock(lockAmount);
+        wallet.unlock(lockAmount);
+        return wallet.getLockedAmount();
+    }
+
+    @Benchmark
+    public BigDecimal orderTotalValue() {
+        return order.getTotalValue();
+    }
+
+    @Benchmark
+    public boolean orderPartialFill() {
+        BigDecimal filled = order.getFilledAmount().add(fillAmount);
+        // Wrap around before the order fills, so every invocation takes the partial-fill path
+        order.setFilledAmount(filled.compareTo(order.getAmount()) < 0 ? filled : BigDecimal.ZERO);
+        return order.isFullyFilled() || order.getRemainingAmount().signum() == 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DomainArithmeticBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package org.william.cex.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.william.cex.infrastructure.security.JwtPrincipal;
+import org.william.cex.infrastructure.security.JwtTokenProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification in {@link JwtTokenProvider}: signing a new token, verifying a
+ * token the provider has not seen (HMAC check and claim parsing), and the verified-token cache hit
+ * every later request with the same token takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider verifyingProvider;
+    private String cachedToken;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachingProvider = provider(10_000);
+        // A zero-size cache evicts each entry as it is written, so every parse verifies the signature
+        verifyingProvider = provider(0);
+
+        cachedToken = cachingProvider.generateToken(90_112L, "bench@example.com", "USER");
+        cachingProvider.parseToken(cachedToken);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = verifyingProvider.generateToken((long) i, "bench-" + i + "@example.com", "USER");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(90_112L, "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public JwtPrincipal parseTokenVerify(Cursor cursor) {
+        String token = tokens[cursor.next++ & (DISTINCT_TOKENS - 1)];
+        return verifyingProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parseTokenCached() {
+        return cachingProvider.parseToken(cachedToken);
+    }
+
+    private static JwtTokenProvider provider(long cacheMaxSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
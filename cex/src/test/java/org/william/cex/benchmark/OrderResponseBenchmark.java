@@ -0,0 +1,90 @@
+package org.william.cex.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.william.cex.api.controller.OrderController;
+import org.william.cex.api.dto.response.OrderResponse;
+import org.william.cex.domain.order.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response path of the order endpoints: {@link OrderController#mapToResponse} and JSON encoding
+ * of the result with the same Jackson defaults Spring MVC writes responses with, for one order
+ * and for a batch of {@link #BATCH_SIZE}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderResponseBenchmark {
+
+    private static final int BATCH_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private List<Order> batch;
+    private OrderResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(Order.builder()
+                    .id(5_512_874L + i)
+                    .userId(90_112L)
+                    .orderType(i % 2 == 0 ? Order.OrderType.BUY : Order.OrderType.SELL)
+                    .baseCurrency("BTC")
+                    .quoteCurrency("USDT")
+                    .amount(new BigDecimal("0.25000000"))
+                    .price(new BigDecimal("43250.50000000"))
+                    .filledAmount(new BigDecimal("0.10000000"))
+                    .status(Order.OrderStatus.PARTIALLY_FILLED)
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        order = batch.get(0);
+        response = OrderController.mapToResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return OrderController.mapToResponse(order);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndEncodeBatch() throws JsonProcessingException {
+        List<OrderResponse> responses = new ArrayList<>(batch.size());
+        for (Order batchOrder : batch) {
+            responses.add(OrderController.mapToResponse(batchOrder));
+        }
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderResponseBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
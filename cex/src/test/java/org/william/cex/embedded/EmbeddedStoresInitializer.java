@@ -0,0 +1,84 @@
+package org.william.cex.embedded;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * Points the application at an in-process Postgres and a local Redis server, both started on free
+ * ports the first time a context is initialized and shared by every context in the JVM. Each run
+ * starts from an empty database that Flyway migrates, so runs are repeatable on any Linux box
+ * without Docker or local services.
+ * <p>
+ * Registered by the {@code embedded} profile through {@code context.initializer.classes}.
+ * Durability is traded for stable timings: Postgres runs without fsync and Redis without persistence.
+ */
+@Slf4j
+public class EmbeddedStoresInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static EmbeddedPostgres postgres;
+    private static RedisServer redis;
+    private static int redisPort;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        start();
+        TestPropertyValues.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=",
+                "spring.data.redis.host=127.0.0.1",
+                "spring.data.redis.port=" + redisPort
+        ).applyTo(context);
+    }
+
+    private static synchronized void start() {
+        if (postgres != null) {
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("fsync", "off")
+                    .setServerConfig("synchronous_commit", "off")
+                    .setServerConfig("full_page_writes", "off")
+                    .setServerConfig("max_connections", "200")
+                    .start();
+
+            redisPort = freePort();
+            redis = RedisServer.newRedisServer()
+                    .port(redisPort)
+                    .bind("127.0.0.1")
+                    .setting("save \"\"")
+                    .setting("appendonly no")
+                    .build();
+            redis.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded Postgres and Redis", e);
+        }
+        log.info("Embedded Postgres on port {}, Redis on port {}", postgres.getPort(), redisPort);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedStoresInitializer::stop, "embedded-stores-shutdown"));
+    }
+
+    private static void stop() {
+        try {
+            redis.stop();
+            postgres.close();
+        } catch (IOException e) {
+            log.warn("Error stopping embedded stores: {}", e.getMessage());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}